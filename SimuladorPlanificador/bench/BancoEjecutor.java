@@ -0,0 +1,115 @@
+import java.util.concurrent.TimeUnit;
+
+import ejecucion.EjecutorPlanificado;
+import ejecucion.PoliticaTareas;
+
+/**
+ * Compara las políticas de EjecutorPlanificado con trabajo real en lugar de
+ * ticks simulados.
+ * <p>
+ * Dos inquilinos comparten las CPUs: "pesado" envía muchas tareas largas y
+ * "liviano" pocas cortas, con más prioridad y más boletos. Cada tarea hace
+ * cálculo puro en porciones de ~10 us y llama a puntoDeControl() entre
+ * porciones. Por cada política se muestra el informe del ejecutor: tareas por
+ * segundo, latencia p50/p99 y respuesta p99 por inquilino (en microsegundos).
+ * </p>
+ *
+ * <pre>
+ * java -cp out BancoEjecutor [--cpus N] [--quantum-us Q] [--pesadas N] [--livianas N]
+ *      [--politicas ROUND_ROBIN,PRIORIDADES,...]
+ * </pre>
+ */
+public class BancoEjecutor {
+
+    /** Porciones de trabajo de cada tarea pesada y liviana. */
+    private static final int PORCIONES_PESADA = 200;
+    private static final int PORCIONES_LIVIANA = 10;
+
+    /** Iteraciones de una porción (~10 us en una máquina actual). */
+    private static final int ITERACIONES_PORCION = 4_000;
+
+    /** Evita que el JIT elimine el cálculo. */
+    private static volatile long sumidero;
+
+    public static void main(String[] args) throws InterruptedException {
+        int cpus = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        long quantumUs = 200;
+        int pesadas = 400;
+        int livianas = 100;
+        PoliticaTareas[] politicas = PoliticaTareas.values();
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String valor = args[i + 1];
+            switch (args[i]) {
+                case "--cpus":
+                    cpus = Integer.parseInt(valor);
+                    break;
+                case "--quantum-us":
+                    quantumUs = Long.parseLong(valor);
+                    break;
+                case "--pesadas":
+                    pesadas = Integer.parseInt(valor);
+                    break;
+                case "--livianas":
+                    livianas = Integer.parseInt(valor);
+                    break;
+                case "--politicas":
+                    String[] nombres = valor.split(",");
+                    politicas = new PoliticaTareas[nombres.length];
+                    for (int j = 0; j < nombres.length; j++) {
+                        politicas[j] = PoliticaTareas.valueOf(nombres[j].trim());
+                    }
+                    break;
+                default:
+                    System.err.println("Opción desconocida: " + args[i]);
+                    return;
+            }
+        }
+
+        // Calentamiento del JIT con el trabajo, fuera de toda medición
+        for (int i = 0; i < 2_000; i++) {
+            porcion();
+        }
+
+        for (PoliticaTareas politica : politicas) {
+            EjecutorPlanificado ejecutor = new EjecutorPlanificado(cpus, politica, quantumUs * 1000);
+            // Las livianas se reparten entre las pesadas para que lleguen mezcladas
+            int cadaCuanto = livianas == 0 ? Integer.MAX_VALUE : Math.max(1, pesadas / livianas);
+            int enviadasLivianas = 0;
+            for (int i = 0; i < pesadas; i++) {
+                ejecutor.ejecutar(() -> trabajar(PORCIONES_PESADA), "pesado", 1, 1);
+                if (i % cadaCuanto == 0 && enviadasLivianas < livianas) {
+                    ejecutor.ejecutar(() -> trabajar(PORCIONES_LIVIANA), "liviano", 5, 10);
+                    enviadasLivianas++;
+                }
+            }
+            for (; enviadasLivianas < livianas; enviadasLivianas++) {
+                ejecutor.ejecutar(() -> trabajar(PORCIONES_LIVIANA), "liviano", 5, 10);
+            }
+            ejecutor.shutdown();
+            if (!ejecutor.awaitTermination(10, TimeUnit.MINUTES)) {
+                System.err.println("El ejecutor no terminó a tiempo: " + politica);
+                return;
+            }
+            System.out.println(ejecutor.formatearResumen());
+            System.out.println();
+        }
+    }
+
+    private static void trabajar(int porciones) {
+        for (int i = 0; i < porciones; i++) {
+            porcion();
+            EjecutorPlanificado.puntoDeControl();
+        }
+    }
+
+    private static void porcion() {
+        long x = sumidero | 1;
+        for (int i = 0; i < ITERACIONES_PORCION; i++) {
+            x ^= x << 13;
+            x ^= x >>> 7;
+            x ^= x << 17;
+        }
+        sumidero = x;
+    }
+}
@@ -0,0 +1,166 @@
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import algoritmos.AlgoritmosPlanificacion;
+import clases.FuenteAleatoria;
+import clases.GestorInterrupciones;
+import clases.GestorProcesos;
+import clases.Simulacion;
+import eventos.ContadorEventos;
+import eventos.TipoEvento;
+
+/**
+ * Banco de pruebas de rendimiento de los 14 algoritmos de planificación.
+ * <p>
+ * Corre cada algoritmo sin consola sobre cargas fijas generadas con semilla
+ * (por defecto 10, 1.000, 100.000 y 1.000.000 de procesos) y reporta ticks
+ * simulados por segundo, decisiones de despacho por segundo y bytes asignados
+ * en el heap por despacho. Cada combinación hace unas corridas de
+ * calentamiento (para que el JIT compile) que no se miden, y luego varias
+ * mediciones de las que se muestra la media y la desviación.
+ * </p>
+ * <p>
+ * No usa JMH ni ninguna biblioteca externa: se compila junto con src/ con el
+ * mismo javac y se lanza con scripts/bench.sh (o bench.bat), sin red.
+ * </p>
+ *
+ * <pre>
+ * java -cp out BancoRendimiento [--algoritmos 1,2,...] [--procesos 10,1000,...]
+ *      [--ticks N] [--quantum Q] [--calentamiento N] [--mediciones N] [--semilla S]
+ * </pre>
+ */
+public class BancoRendimiento {
+
+    private static final String[] NOMBRES = {
+            "", "RR Aprop", "RR NoAprop", "Prior Aprop", "Prior NoAprop", "Mult Colas",
+            "Mas Corto", "Garantizada", "Loteria Aprop", "Loteria NoAprop", "Part Equit", "CFS", "EDF", "RM", "Zancadas"
+    };
+
+    public static void main(String[] args) {
+        int[] algoritmos = { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14 };
+        int[] procesos = { 10, 1_000, 100_000, 1_000_000 };
+        int ticks = 20_000;
+        int quantum = 3;
+        int calentamiento = 2;
+        int mediciones = 5;
+        long semilla = 42;
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String valor = args[i + 1];
+            switch (args[i]) {
+                case "--algoritmos":
+                    algoritmos = lista(valor);
+                    break;
+                case "--procesos":
+                    procesos = lista(valor);
+                    break;
+                case "--ticks":
+                    ticks = Integer.parseInt(valor);
+                    break;
+                case "--quantum":
+                    quantum = Integer.parseInt(valor);
+                    break;
+                case "--calentamiento":
+                    calentamiento = Integer.parseInt(valor);
+                    break;
+                case "--mediciones":
+                    mediciones = Integer.parseInt(valor);
+                    break;
+                case "--semilla":
+                    semilla = Long.parseLong(valor);
+                    break;
+                default:
+                    System.err.println("Opción desconocida: " + args[i]);
+                    return;
+            }
+        }
+
+        System.out.printf("Ticks por corrida: %d | Quantum: %d | Calentamiento: %d | Mediciones: %d | Semilla: %d%n",
+                ticks, quantum, calentamiento, mediciones, semilla);
+        System.out.printf("%-16s %10s %16s %16s %14s%n",
+                "Algoritmo", "Procesos", "Ticks/s", "Decisiones/s", "Bytes/desp");
+
+        for (int algoritmo : algoritmos) {
+            for (int n : procesos) {
+                for (int i = 0; i < calentamiento; i++) {
+                    medir(algoritmo, n, ticks, quantum, semilla);
+                }
+                List<double[]> resultados = new ArrayList<>();
+                for (int i = 0; i < mediciones; i++) {
+                    resultados.add(medir(algoritmo, n, ticks, quantum, semilla));
+                }
+                System.out.printf("%-16s %10d %16s %16s %14s%n",
+                        NOMBRES[algoritmo], n,
+                        resumen(resultados, 0), resumen(resultados, 1), resumen(resultados, 2));
+            }
+        }
+    }
+
+    /**
+     * Una corrida completa sobre una carga recién generada (la generación no
+     * entra en la medición).
+     *
+     * @return ticks/s, decisiones/s y bytes por despacho.
+     */
+    private static double[] medir(int opcion, int numProcesos, int ticks, int quantum, long semilla) {
+        AlgoritmosPlanificacion algoritmo = Main.crearAlgoritmo(opcion);
+        ContadorEventos contador = new ContadorEventos();
+        FuenteAleatoria aleatorio = new FuenteAleatoria(semilla);
+        Simulacion sim = new Simulacion(ticks, quantum, contador, aleatorio);
+        GestorProcesos gestorP = new GestorProcesos(contador, aleatorio);
+        GestorInterrupciones gestorI = new GestorInterrupciones(sim);
+        gestorP.inicializarProcesos(sim.tiempoActual, numProcesos);
+        contador.reiniciar();
+
+        long bytesAntes = bytesAsignados();
+        long inicio = System.nanoTime();
+        algoritmo.ejecutar(sim, gestorP, gestorI);
+        long nanos = System.nanoTime() - inicio;
+        long bytes = bytesAsignados() - bytesAntes;
+
+        double segundos = Math.max(nanos, 1) / 1e9;
+        long despachos = contador.conteo(TipoEvento.DESPACHO);
+        return new double[] {
+                sim.tiempoActual / segundos,
+                despachos / segundos,
+                despachos == 0 ? 0 : (double) bytes / despachos
+        };
+    }
+
+    /** @return Bytes asignados por el hilo actual (0 si la JVM no lo soporta). */
+    private static long bytesAsignados() {
+        java.lang.management.ThreadMXBean mx = ManagementFactory.getThreadMXBean();
+        if (mx instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hs = (com.sun.management.ThreadMXBean) mx;
+            if (hs.isThreadAllocatedMemorySupported()) {
+                return hs.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return 0;
+    }
+
+    /** Media +- desviación estándar de una columna de resultados. */
+    private static String resumen(List<double[]> resultados, int columna) {
+        double suma = 0;
+        for (double[] r : resultados) {
+            suma += r[columna];
+        }
+        double media = suma / resultados.size();
+        double var = 0;
+        for (double[] r : resultados) {
+            var += (r[columna] - media) * (r[columna] - media);
+        }
+        double desv = resultados.size() > 1 ? Math.sqrt(var / (resultados.size() - 1)) : 0;
+        return String.format("%.3g +-%.0f%%", media, media == 0 ? 0 : 100 * desv / media);
+    }
+
+    private static int[] lista(String valor) {
+        String[] partes = valor.split(",");
+        int[] numeros = new int[partes.length];
+        for (int i = 0; i < partes.length; i++) {
+            numeros[i] = Integer.parseInt(partes[i].trim());
+        }
+        return numeros;
+    }
+}
@@ -0,0 +1,17 @@
+@echo off
+:: Compila src y bench y ejecuta el banco de rendimiento de los algoritmos en Windows.
+:: Los argumentos se pasan tal cual (ej. --algoritmos 1,2 --procesos 1000).
+
+if not exist ".\jdk\" (
+    echo JDK no encontrado. Ejecuta scripts\setup.bat primero.
+    exit /b 1
+)
+
+if not exist "out" mkdir out
+echo Compilando archivos fuente y de rendimiento...
+dir /s /b src\*.java bench\*.java > sources.txt
+.\jdk\bin\javac.exe -d out @sources.txt
+del sources.txt
+
+echo Ejecutando banco de rendimiento...
+.\jdk\bin\java.exe -Xmx4g -cp out BancoRendimiento %*
@@ -0,0 +1,20 @@
+#!/bin/bash
+# Compila src/ y bench/ y ejecuta el banco de rendimiento de los algoritmos.
+# Los argumentos se pasan tal cual (ej. --algoritmos 1,2 --procesos 1000).
+
+if [ ! -d "./jdk" ]; then
+    echo "JDK no encontrado. Ejecuta scripts/setup.sh primero."
+    exit 1
+fi
+
+export JAVA_HOME="$(pwd)/jdk"
+export PATH="$JAVA_HOME/bin:$PATH"
+
+mkdir -p out
+echo "Compilando archivos fuente y de rendimiento..."
+find src bench -name "*.java" > sources.txt
+./jdk/bin/javac -d out @sources.txt
+rm sources.txt
+
+echo "Ejecutando banco de rendimiento..."
+./jdk/bin/java -Xmx4g -cp out BancoRendimiento "$@"
@@ -0,0 +1,128 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import algoritmos.AlgoritmosPlanificacion;
+import clases.EstadisticaLote;
+import clases.FuenteAleatoria;
+import clases.GestorInterrupciones;
+import clases.GestorProcesos;
+import clases.MetricasCorrida;
+import clases.ResumenCorrida;
+import clases.Simulacion;
+import eventos.ReceptorNulo;
+
+/**
+ * Corre muchas simulaciones independientes de un mismo algoritmo en todos los
+ * núcleos (Monte Carlo) y combina sus resultados en medias con intervalo de
+ * confianza.
+ * <p>
+ * Cada corrida arma su propia Simulacion, GestorProcesos, GestorInterrupciones
+ * y algoritmo, y devuelve un ResumenCorrida inmutable: los hilos no comparten
+ * estado mutable. Sólo el hilo que llama acumula los resúmenes
+ * (EstadisticaLote). Las corridas se lanzan por tandas; si se pide un ancho
+ * de intervalo, se siguen lanzando tandas hasta alcanzarlo o llegar al máximo
+ * de corridas.
+ * </p>
+ */
+public class EjecutorLotes {
+
+    /** Máximo de corridas cuando se pide un ancho de intervalo. */
+    public static final int MAX_CORRIDAS = 1_000_000;
+
+    private final int opcionAlgoritmo;
+    private final int numProcesos;
+    private final int ticks;
+    private final int quantum;
+    private final long semillaBase;
+
+    /**
+     * @param opcionAlgoritmo Algoritmo a simular (1-14, como en el menú).
+     * @param numProcesos     Procesos de cada corrida.
+     * @param ticks           Límite de ticks de cada corrida.
+     * @param quantum         Quantum para los algoritmos apropiativos.
+     * @param semillaBase     La corrida i usa la semilla semillaBase + i.
+     */
+    public EjecutorLotes(int opcionAlgoritmo, int numProcesos, int ticks, int quantum, long semillaBase) {
+        if (Main.crearAlgoritmo(opcionAlgoritmo) == null) {
+            throw new IllegalArgumentException("Algoritmo no disponible: " + opcionAlgoritmo);
+        }
+        this.opcionAlgoritmo = opcionAlgoritmo;
+        this.numProcesos = numProcesos;
+        this.ticks = ticks;
+        this.quantum = quantum;
+        this.semillaBase = semillaBase;
+    }
+
+    /**
+     * Ejecuta el lote.
+     *
+     * @param tanda         Corridas por tanda (y mínimo total).
+     * @param anchoRelativo Semiancho buscado como fracción de la media; 0 o
+     *                      negativo = correr sólo una tanda.
+     * @return Estadísticas combinadas de todas las corridas.
+     */
+    public EstadisticaLote ejecutar(int tanda, double anchoRelativo) {
+        int hilos = Runtime.getRuntime().availableProcessors();
+        ExecutorService pool = Executors.newFixedThreadPool(hilos);
+        EstadisticaLote estadistica = new EstadisticaLote();
+        long siguiente = 0;
+        try {
+            do {
+                List<Future<ResumenCorrida>> pendientes = new ArrayList<>(tanda);
+                for (int i = 0; i < tanda; i++) {
+                    long semilla = semillaBase + siguiente++;
+                    pendientes.add(pool.submit(() -> correr(semilla)));
+                }
+                for (Future<ResumenCorrida> f : pendientes) {
+                    estadistica.agregar(f.get());
+                }
+            } while (anchoRelativo > 0
+                    && !estadistica.alcanzoAncho(anchoRelativo)
+                    && siguiente < MAX_CORRIDAS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falló una corrida del lote", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return estadistica;
+    }
+
+    /** Una corrida completa y aislada. */
+    private ResumenCorrida correr(long semilla) {
+        AlgoritmosPlanificacion algoritmo = Main.crearAlgoritmo(opcionAlgoritmo);
+        FuenteAleatoria aleatorio = new FuenteAleatoria(semilla);
+        Simulacion sim = new Simulacion(ticks, quantum, ReceptorNulo.INSTANCIA, aleatorio);
+        GestorProcesos gestorP = new GestorProcesos(ReceptorNulo.INSTANCIA, aleatorio);
+        GestorInterrupciones gestorI = new GestorInterrupciones(sim);
+        gestorP.inicializarProcesos(sim.tiempoActual, numProcesos);
+        MetricasCorrida metricas = new MetricasCorrida(sim, gestorP.getPcb());
+        algoritmo.ejecutar(sim, gestorP, gestorI);
+        return ResumenCorrida.de(gestorP.getPcb().obtenerProcesos(), sim.cambiosProceso).conMetricas(metricas);
+    }
+
+    /**
+     * Imprime las estadísticas de un lote.
+     *
+     * @param e           Estadísticas a mostrar.
+     * @param semillaBase Semilla base del lote (para repetirlo).
+     */
+    public static void imprimir(EstadisticaLote e, long semillaBase) {
+        System.out.println("\n=======================================================");
+        System.out.println("          REPORTE DE LOTE (" + e.getCorridas() + " corridas)");
+        System.out.println("=======================================================");
+        System.out.println("Semilla base: " + semillaBase + " (la corrida i usa semilla base + i)");
+        System.out.printf("%-22s %12s %12s %14s%n", "Metrica", "Media", "Desv.", "IC 95%");
+        for (int i = 0; i < ResumenCorrida.METRICAS.length; i++) {
+            System.out.printf("%-22s %12.3f %12.3f %14s%n",
+                    ResumenCorrida.METRICAS[i], e.media(i), e.desviacion(i),
+                    String.format("+-%.3f", e.semiancho(i)));
+        }
+        System.out.println("=======================================================\n");
+    }
+}
@@ -1,10 +1,120 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.function.IntFunction;
 import algoritmos.*;
 import clases.*;
+import eventos.BitacoraBinaria;
+import eventos.ConsolaAsincrona;
+import eventos.LectorBitacora;
+import eventos.PoliticaDesborde;
+import eventos.ReceptorEventos;
+import eventos.ReceptorNulo;
+import eventos.TipoEvento;
+import eventos.VistaEnVivo;
 
 public class Main {
     public static void main(String[] args) {
 
+        List<String> opciones = new ArrayList<>(Arrays.asList(args));
+
+        // Bitacora binaria opcional para --sin-consola y --traza: ... --bitacora <archivo>
+        String archivoBitacora = extraerOpcion(opciones, "--bitacora");
+        Path bitacora = archivoBitacora == null ? null : Paths.get(archivoBitacora);
+
+        // Consola del modo interactivo: [--pausa ms] [--politica bloquear|descartar|muestrear] [--capacidad lineas]
+        String pausa = extraerOpcion(opciones, "--pausa");
+        String politica = extraerOpcion(opciones, "--politica");
+        String capacidad = extraerOpcion(opciones, "--capacidad");
+
+        // Tabla del PCB: [--fps cuadros/s] [--filas por pagina]; con --en-vivo las
+        // corridas --sin-consola y --traza se miran en una tabla que se redibuja sola
+        String fps = extraerOpcion(opciones, "--fps");
+        String filas = extraerOpcion(opciones, "--filas");
+        boolean enVivo = opciones.remove("--en-vivo");
+        // Varias CPUs para --sin-consola y --traza (algoritmos 1-4, 8, 9):
+        // [--cpus n] [--sin-robo] [--balanceo ticks, 0 = nunca]
+        String cpus = extraerOpcion(opciones, "--cpus");
+        String balanceo = extraerOpcion(opciones, "--balanceo");
+        boolean robo = !opciones.remove("--sin-robo");
+        int numCpus = cpus == null ? 1 : Integer.parseInt(cpus);
+        int periodoBalanceo = balanceo == null ? Multiprocesador.PERIODO_BALANCEO_POR_DEFECTO
+                : Integer.parseInt(balanceo);
+        // CFS (algoritmo 11): [--latencia ticks] [--granularidad ticks]
+        String latencia = extraerOpcion(opciones, "--latencia");
+        String granularidad = extraerOpcion(opciones, "--granularidad");
+        int latenciaObjetivo = latencia == null ? CompletamenteJusto.LATENCIA_OBJETIVO_POR_DEFECTO
+                : Integer.parseInt(latencia);
+        int granularidadMinima = granularidad == null ? CompletamenteJusto.GRANULARIDAD_MINIMA_POR_DEFECTO
+                : Integer.parseInt(granularidad);
+        // Multiples Colas (algoritmo 5): [--niveles n, 1 a ColasMultinivel.MAX_NIVELES]
+        String niveles = extraerOpcion(opciones, "--niveles");
+        int numNiveles = niveles == null ? MultiplesColas.NIVELES_POR_DEFECTO : Integer.parseInt(niveles);
+        // Participacion Equitativa (algoritmo 10): [--pesos <archivo .csv | usuario=peso,...>]
+        String especificacionPesos = extraerOpcion(opciones, "--pesos");
+        Map<String, Integer> pesos;
+        try {
+            pesos = especificacionPesos == null ? Collections.emptyMap()
+                    : ColaUsuarios.leerPesos(especificacionPesos);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("No se pudieron leer los pesos: " + e.getMessage());
+            return;
+        }
+        IntFunction<AlgoritmosPlanificacion> fabrica = opcion -> opcion == 11 && numCpus <= 1
+                ? new CompletamenteJusto(latenciaObjetivo, granularidadMinima)
+                : opcion == 10 && numCpus <= 1 ? new ParticipacionEquitativa(pesos)
+                : opcion == 5 && numCpus <= 1 ? new MultiplesColas(numNiveles)
+                : crearAlgoritmo(opcion, numCpus, robo, periodoBalanceo);
+
+        VistaEnVivo vista = enVivo
+                ? new VistaEnVivo(fps == null ? 10 : Double.parseDouble(fps),
+                        filas == null ? RenderizadorTabla.FILAS_POR_DEFECTO : Integer.parseInt(filas))
+                : null;
+        args = opciones.toArray(new String[0]);
+
+        // Modo sin consola: java Main --sin-consola <algoritmo 1-14> <procesos> <ticks> [quantum] [semilla]
+        if (args.length > 0 && args[0].equals("--sin-consola")) {
+            ejecutarSinConsola(args, fabrica, bitacora, vista);
+            return;
+        }
+
+        // Traza de carga: java Main --traza <archivo .csv|.jsonl> <algoritmo 1-14> <ticks> [quantum] [semilla]
+        if (args.length > 0 && args[0].equals("--traza")) {
+            ejecutarTraza(args, fabrica, bitacora, vista);
+            return;
+        }
+
+        // Tareas periodicas: java Main --periodicas <archivo .csv> <algoritmo 1-14> [hiperperiodos] [quantum]
+        if (args.length > 0 && args[0].equals("--periodicas")) {
+            ejecutarPeriodicas(args, fabrica);
+            return;
+        }
+
+        // Reparto proporcional: java Main --reparto <procesos> <ticks> [quantum] [semilla]
+        if (args.length > 0 && args[0].equals("--reparto")) {
+            ejecutarReparto(args);
+            return;
+        }
+
+        // Lectura de una bitacora: java Main --leer-bitacora <archivo> [registros a listar]
+        if (args.length > 0 && args[0].equals("--leer-bitacora")) {
+            leerBitacora(args);
+            return;
+        }
+
+        // Lote Monte Carlo: java Main --lote <algoritmo 1-14> <procesos> <ticks> <corridas> [ancho IC] [quantum] [semilla]
+        if (args.length > 0 && args[0].equals("--lote")) {
+            ejecutarLote(args);
+            return;
+        }
+
         Scanner scanner = new Scanner(System.in);
 
         System.out.println("==================================================================");
@@ -13,8 +123,18 @@ public class Main {
 
         // 1. Instanciaci�n de variables de entorno globales.
         Simulacion sim = new Simulacion();
-        GestorProcesos gestorP = new GestorProcesos();
-        GestorInterrupciones gestorI = new GestorInterrupciones();
+        // Los eventos se formatean en este hilo y otro hilo los imprime
+        ConsolaAsincrona consola = new ConsolaAsincrona(
+                pausa == null ? 1000 : Long.parseLong(pausa),
+                capacidad == null ? ConsolaAsincrona.CAPACIDAD_POR_DEFECTO : Integer.parseInt(capacidad),
+                politica == null ? PoliticaDesborde.BLOQUEAR : PoliticaDesborde.valueOf(politica.toUpperCase()));
+        if (fps != null || filas != null) {
+            consola.setRenderizador(new RenderizadorTabla(fps == null ? 0 : Double.parseDouble(fps),
+                    filas == null ? RenderizadorTabla.FILAS_POR_DEFECTO : Integer.parseInt(filas), false));
+        }
+        sim.setEventos(consola);
+        GestorProcesos gestorP = new GestorProcesos(sim.getAleatorio());
+        GestorInterrupciones gestorI = new GestorInterrupciones(sim);
         Planificador planif = new Planificador();
         ReporteFinal reporte = new ReporteFinal();
 
@@ -23,7 +143,7 @@ public class Main {
 
         // 3. Men�
         int opcion = -1;
-        while (opcion < 1 || opcion > 10) {
+        while (opcion < 1 || opcion > 14) {
             System.out.println("\nSelecciona el algoritmo de planificaci�n a simular:");
             System.out.println(" 1. Round Robin Apropiativo");
             System.out.println(" 2. Round Robin No Apropiativo (FCFS)");
@@ -35,14 +155,18 @@ public class Main {
             System.out.println(" 8. Loter�a Apropiativo");
             System.out.println(" 9. Loter�a No Apropiativo");
             System.out.println("10. Participaci�n Equitativa");
+            System.out.println("11. Completely Fair Scheduler (CFS)");
+            System.out.println("12. Plazo Más Cercano (EDF)");
+            System.out.println("13. Monótona en Frecuencia (RM)");
+            System.out.println("14. Planificación por Zancadas (Stride)");
             System.out.print("\nTu elecci�n -> ");
 
             try {
                 String inputStr = scanner.nextLine();
                 opcion = Integer.parseInt(inputStr);
 
-                if (opcion < 1 || opcion > 10) {
-                    System.out.println("\n>>> [WARN] Opci�n no disponible. Elige un n�mero entre 1 y 10.\n");
+                if (opcion < 1 || opcion > 14) {
+                    System.out.println("\n>>> [WARN] Opción no disponible. Elige un número entre 1 y 14.\n");
                     opcion = -1;
                 }
             } catch (NumberFormatException e) {
@@ -51,51 +175,429 @@ public class Main {
         }
 
         // 4. Asignamos algoritmo seg�n opci�n
+        AlgoritmosPlanificacion algoritmo = crearAlgoritmo(opcion);
+        if (algoritmo == null) {
+            System.out.println("Algoritmo a�n no implementado.");
+            return;
+        }
+        planif.setAlgoritmo(algoritmo);
+
+        // 5. Arranque
+        System.out.println("\nPresiona [ENTER] para comenzar...");
+        scanner.nextLine();
+
+        MetricasCorrida metricas = new MetricasCorrida(sim, gestorP.getPcb());
+        long inicio = System.nanoTime();
+        planif.iniciar(sim, gestorP, gestorI);
+        long ms = (System.nanoTime() - inicio) / 1_000_000;
+        // Que termine de imprimir los eventos antes del reporte
+        consola.close();
+        System.out.println("Simulacion: " + ms + " ms (lineas descartadas: " + consola.getDescartados() + ")");
+
+        // 6. Reporte final
+        reporte.generarReporte(gestorP.getPcb().obtenerProcesos(), sim.cambiosProceso, metricas);
+
+        scanner.close();
+    }
+
+    /**
+     * Saca de la lista una opcion con valor ("--nombre valor") si esta presente.
+     *
+     * @param opciones Argumentos de la linea de comandos (se modifica).
+     * @param nombre   Nombre de la opcion, con los guiones.
+     * @return El valor, o null si la opcion no esta.
+     */
+    private static String extraerOpcion(List<String> opciones, String nombre) {
+        int pos = opciones.indexOf(nombre);
+        if (pos < 0 || pos + 1 >= opciones.size()) {
+            return null;
+        }
+        String valor = opciones.remove(pos + 1);
+        opciones.remove(pos);
+        return valor;
+    }
+
+    /**
+     * Traduce la opción del menú (1-14) a la estrategia correspondiente.
+     *
+     * @param opcion Número elegido por el usuario.
+     * @return El algoritmo, o null si la opción no existe.
+     */
+    static AlgoritmosPlanificacion crearAlgoritmo(int opcion) {
         switch (opcion) {
             case 1:
-                planif.setAlgoritmo(new RoundRobinAprop());
-                break;
+                return new RoundRobinAprop();
             case 2:
-                planif.setAlgoritmo(new RoundRobinNoAprop());
-                break;
+                return new RoundRobinNoAprop();
             case 3:
-                planif.setAlgoritmo(new PrioridadesAprop());
-                break;
+                return new PrioridadesAprop();
             case 4:
-                planif.setAlgoritmo(new PrioridadesNoAprop());
-                break;
+                return new PrioridadesNoAprop();
             case 5:
-                planif.setAlgoritmo(new MultiplesColas());
-                break;
+                return new MultiplesColas();
             case 6:
-                planif.setAlgoritmo(new ProcesoMasCorto());
-                break;
+                return new ProcesoMasCorto();
             case 7:
-                planif.setAlgoritmo(new PlanificacionGarantizada());
-                break;
+                return new PlanificacionGarantizada();
             case 8:
-                planif.setAlgoritmo(new LoteriaAprop());
-                break;
+                return new LoteriaAprop();
             case 9:
-                planif.setAlgoritmo(new LoteriaNoAprop());
-                break;
+                return new LoteriaNoAprop();
             case 10:
-                planif.setAlgoritmo(new ParticipacionEquitativa());
-                break;
+                return new ParticipacionEquitativa();
+            case 11:
+                return new CompletamenteJusto();
+            case 12:
+                return new PlazoMasCercano();
+            case 13:
+                return new MonotonaFrecuencia();
+            case 14:
+                return new Zancadas();
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Con más de una CPU, traduce la opción del menú a un Multiprocesador con
+     * la política equivalente (sólo Round Robin, Prioridades y Lotería tienen
+     * versión con una cola por CPU).
+     *
+     * @param opcion   Número del menú.
+     * @param cpus     Cantidad de CPUs (1 = el algoritmo de siempre).
+     * @param robo     Si las CPUs ociosas roban trabajo.
+     * @param balanceo Ticks entre balanceos (0 = nunca).
+     * @return El algoritmo, o null si la opción no existe o no tiene versión
+     *         multiprocesador.
+     */
+    static AlgoritmosPlanificacion crearAlgoritmo(int opcion, int cpus, boolean robo, int balanceo) {
+        if (cpus <= 1) {
+            return crearAlgoritmo(opcion);
+        }
+        switch (opcion) {
+            case 1:
+                return new Multiprocesador(cpus, PoliticaCpu.ROUND_ROBIN, true, robo, balanceo);
+            case 2:
+                return new Multiprocesador(cpus, PoliticaCpu.ROUND_ROBIN, false, robo, balanceo);
+            case 3:
+                return new Multiprocesador(cpus, PoliticaCpu.PRIORIDADES, true, robo, balanceo);
+            case 4:
+                return new Multiprocesador(cpus, PoliticaCpu.PRIORIDADES, false, robo, balanceo);
+            case 8:
+                return new Multiprocesador(cpus, PoliticaCpu.LOTERIA, true, robo, balanceo);
+            case 9:
+                return new Multiprocesador(cpus, PoliticaCpu.LOTERIA, false, robo, balanceo);
             default:
-                System.out.println("Algoritmo a�n no implementado.");
+                return null;
+        }
+    }
+
+    /**
+     * Corrida masiva sin salida por consola ni pausas: los eventos se descartan
+     * con ReceptorNulo (o se graban en la bitacora) y sólo se imprime el reporte
+     * final y el tiempo real usado.
+     *
+     * @param args     --sin-consola, algoritmo (1-14), procesos, ticks, quantum
+     *                 opcional y semilla opcional (misma semilla = misma corrida).
+     * @param fabrica  Crea el algoritmo a partir de la opcion del menu.
+     * @param bitacora Archivo de bitacora binaria, o null para no grabar.
+     * @param vista    Tabla en vivo, o null para no mostrar nada durante la corrida.
+     */
+    private static void ejecutarSinConsola(String[] args, IntFunction<AlgoritmosPlanificacion> fabrica,
+            Path bitacora, VistaEnVivo vista) {
+        if (args.length < 4) {
+            System.err.println("Uso: Main --sin-consola <algoritmo 1-14> <procesos> <ticks> [quantum] [semilla]");
+            return;
+        }
+        AlgoritmosPlanificacion algoritmo = fabrica.apply(Integer.parseInt(args[1]));
+        if (algoritmo == null) {
+            System.err.println("Algoritmo no disponible: " + args[1]);
+            return;
+        }
+        int numProcesos = Integer.parseInt(args[2]);
+        int ticks = Integer.parseInt(args[3]);
+        int quantum = args.length > 4 ? Integer.parseInt(args[4]) : 3;
+        FuenteAleatoria aleatorio = args.length > 5
+                ? new FuenteAleatoria(Long.parseLong(args[5]))
+                : FuenteAleatoria.nueva();
+
+        ReceptorEventos pantalla = vista == null ? ReceptorNulo.INSTANCIA : vista;
+        try (BitacoraBinaria registro = bitacora == null ? null
+                : new BitacoraBinaria(bitacora, BitacoraBinaria.DECISIONES, pantalla)) {
+            ReceptorEventos receptor = registro == null ? pantalla : registro;
+            Simulacion sim = new Simulacion(ticks, quantum, receptor, aleatorio);
+            GestorProcesos gestorP = new GestorProcesos(ReceptorNulo.INSTANCIA, aleatorio);
+            GestorInterrupciones gestorI = new GestorInterrupciones(sim);
+            gestorP.inicializarProcesos(sim.tiempoActual, numProcesos);
+            MetricasCorrida metricas = new MetricasCorrida(sim, gestorP.getPcb());
+
+            if (vista != null) {
+                vista.mirar(gestorP.getPcb());
+            }
+            long inicio = System.nanoTime();
+            algoritmo.ejecutar(sim, gestorP, gestorI);
+            long ms = (System.nanoTime() - inicio) / 1_000_000;
+            if (vista != null) {
+                vista.terminar();
+            }
+
+            new ReporteFinal().generarReporte(gestorP.getPcb().obtenerProcesos(), sim.cambiosProceso, metricas);
+            imprimirCpus(algoritmo);
+            System.out.println("Ticks simulados: " + sim.tiempoActual + " | Tiempo real: " + ms + " ms"
+                    + " | Semilla: " + aleatorio.getSemilla());
+            if (registro != null) {
+                System.out.println("Bitacora: " + registro.getRegistros() + " eventos en " + bitacora);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("No se pudo escribir la bitacora: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reproduce una traza de carga sin consola: los procesos entran al PCB al
+     * llegar su tiempo y salen al terminar, asi que la traza puede tener
+     * millones de llegadas. El reporte muestra conteos en lugar de IDs.
+     *
+     * @param args     --traza, archivo, algoritmo (1-14), ticks, quantum opcional
+     *                 y semilla opcional.
+     * @param fabrica  Crea el algoritmo a partir de la opcion del menu.
+     * @param bitacora Archivo de bitacora binaria, o null para no grabar.
+     * @param vista    Tabla en vivo, o null para no mostrar nada durante la corrida.
+     */
+    private static void ejecutarTraza(String[] args, IntFunction<AlgoritmosPlanificacion> fabrica,
+            Path bitacora, VistaEnVivo vista) {
+        if (args.length < 4) {
+            System.err.println("Uso: Main --traza <archivo .csv|.jsonl> <algoritmo 1-14> <ticks> [quantum] [semilla]");
+            return;
+        }
+        AlgoritmosPlanificacion algoritmo = fabrica.apply(Integer.parseInt(args[2]));
+        if (algoritmo == null) {
+            System.err.println("Algoritmo no disponible: " + args[2]);
+            return;
+        }
+        int ticks = Integer.parseInt(args[3]);
+        int quantum = args.length > 4 ? Integer.parseInt(args[4]) : 3;
+        FuenteAleatoria aleatorio = args.length > 5
+                ? new FuenteAleatoria(Long.parseLong(args[5]))
+                : FuenteAleatoria.nueva();
+
+        try (LectorTraza lector = new LectorTraza(Paths.get(args[1]));
+                BitacoraBinaria registro = bitacora == null ? null
+                        : new BitacoraBinaria(bitacora, BitacoraBinaria.DECISIONES,
+                                vista == null ? ReceptorNulo.INSTANCIA : vista)) {
+            ReceptorEventos receptor = registro != null ? registro
+                    : vista != null ? vista : ReceptorNulo.INSTANCIA;
+            Simulacion sim = new Simulacion(ticks, quantum, receptor, aleatorio);
+            GestorProcesos gestorP = new GestorProcesos(ReceptorNulo.INSTANCIA, aleatorio);
+            GestorInterrupciones gestorI = new GestorInterrupciones(sim);
+            LlegadasTraza llegadas = gestorP.cargarTraza(lector, sim);
+            MetricasCorrida metricas = new MetricasCorrida(sim, gestorP.getPcb());
+
+            if (vista != null) {
+                vista.mirar(gestorP.getPcb());
+            }
+            long inicio = System.nanoTime();
+            algoritmo.ejecutar(sim, gestorP, gestorI);
+            long ms = (System.nanoTime() - inicio) / 1_000_000;
+            if (vista != null) {
+                vista.terminar();
+            }
+
+            new ReporteFinal().generarReporte(llegadas.resumen(sim.cambiosProceso), metricas);
+            imprimirCpus(algoritmo);
+            System.out.println("Procesos admitidos: " + llegadas.getAdmitidos()
+                    + " | Ticks simulados: " + sim.tiempoActual + " | Tiempo real: " + ms + " ms");
+            if (registro != null) {
+                System.out.println("Bitacora: " + registro.getRegistros() + " eventos en " + bitacora);
+            }
+        } catch (IOException e) {
+            System.err.println("No se pudo leer la traza o escribir la bitacora: " + e.getMessage());
+        } catch (IllegalArgumentException | UncheckedIOException e) {
+            System.err.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Corre un conjunto de tareas periodicas sin consola: antes de empezar
+     * imprime el analisis de tiempo de respuesta con prioridades Rate
+     * Monotonic; la corrida dura el desfase maximo mas los hiperperiodos
+     * pedidos, y al final contrasta el peor tiempo de respuesta observado de
+     * cada tarea con el analitico.
+     *
+     * @param args    --periodicas, archivo, algoritmo (1-14), hiperperiodos
+     *                (1 por defecto), quantum opcional y semilla opcional.
+     * @param fabrica Crea el algoritmo a partir de la opcion del menu.
+     */
+    private static void ejecutarPeriodicas(String[] args, IntFunction<AlgoritmosPlanificacion> fabrica) {
+        if (args.length < 3) {
+            System.err.println("Uso: Main --periodicas <archivo .csv> <algoritmo 1-14> [hiperperiodos] [quantum] [semilla]");
+            return;
+        }
+        int opcion = Integer.parseInt(args[2]);
+        AlgoritmosPlanificacion algoritmo = fabrica.apply(opcion);
+        if (algoritmo == null) {
+            System.err.println("Algoritmo no disponible: " + args[2]);
+            return;
+        }
+        int hiperperiodos = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+        int quantum = args.length > 4 ? Integer.parseInt(args[4]) : 3;
+        FuenteAleatoria aleatorio = args.length > 5
+                ? new FuenteAleatoria(Long.parseLong(args[5]))
+                : FuenteAleatoria.nueva();
+
+        try {
+            List<TareaPeriodica> tareas = TareaPeriodica.leer(Paths.get(args[1]));
+            AnalisisTiempoRespuesta analisis = new AnalisisTiempoRespuesta(tareas);
+            ReporteFinal reporte = new ReporteFinal();
+            reporte.imprimirAnalisis(analisis);
+
+            long desfase = tareas.stream().mapToLong(TareaPeriodica::getDesfase).max().orElse(0);
+            long hiperperiodo = TareaPeriodica.hiperperiodo(tareas);
+            if (hiperperiodos < 1 || hiperperiodo > (Integer.MAX_VALUE - desfase) / hiperperiodos) {
+                System.err.println("La corrida no cabe en el reloj: " + hiperperiodos + " hiperperiodos de "
+                        + hiperperiodo + " ticks");
                 return;
+            }
+            int ticks = (int) (desfase + hiperperiodo * hiperperiodos);
+
+            Simulacion sim = new Simulacion(ticks, quantum, ReceptorNulo.INSTANCIA, aleatorio);
+            GestorProcesos gestorP = new GestorProcesos(ReceptorNulo.INSTANCIA, aleatorio);
+            GestorInterrupciones gestorI = new GestorInterrupciones(sim);
+            LiberacionesPeriodicas liberaciones = gestorP.cargarPeriodicas(tareas, sim);
+            MetricasCorrida metricas = new MetricasCorrida(sim, gestorP.getPcb());
+
+            long inicio = System.nanoTime();
+            algoritmo.ejecutar(sim, gestorP, gestorI);
+            long ms = (System.nanoTime() - inicio) / 1_000_000;
+
+            reporte.generarReporte(liberaciones.resumen(sim.cambiosProceso), metricas);
+            reporte.imprimirTareas(analisis, liberaciones, algoritmo instanceof MonotonaFrecuencia);
+            imprimirCpus(algoritmo);
+            System.out.println("Trabajos liberados: " + liberaciones.getAdmitidos()
+                    + " | Ticks simulados: " + sim.tiempoActual + " | Tiempo real: " + ms + " ms");
+        } catch (IOException e) {
+            System.err.println("No se pudo leer el archivo de tareas: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
         }
+    }
 
-        // 5. Arranque
-        System.out.println("\nPresiona [ENTER] para comenzar...");
-        scanner.nextLine();
+    /**
+     * Corre la misma carga (misma semilla) con Loteria Apropiativo, Loteria No
+     * Apropiativo y Zancadas, sin consola, y compara cuanto se aparto cada uno
+     * del reparto proporcional a los boletos (ver ErrorReparto).
+     *
+     * @param args --reparto, procesos, ticks, quantum opcional y semilla
+     *             opcional.
+     */
+    private static void ejecutarReparto(String[] args) {
+        if (args.length < 3) {
+            System.err.println("Uso: Main --reparto <procesos> <ticks> [quantum] [semilla]");
+            return;
+        }
+        int numProcesos = Integer.parseInt(args[1]);
+        int ticks = Integer.parseInt(args[2]);
+        int quantum = args.length > 3 ? Integer.parseInt(args[3]) : 3;
+        long semilla = args.length > 4 ? Long.parseLong(args[4]) : FuenteAleatoria.nueva().getSemilla();
 
-        planif.iniciar(sim, gestorP, gestorI);
+        int[] opciones = { 8, 9, 14 };
+        String[] nombres = { "Loteria Aprop", "Loteria No Aprop", "Zancadas" };
+        List<String> corridas = new ArrayList<>();
+        List<double[]> errores = new ArrayList<>();
+        for (int i = 0; i < opciones.length; i++) {
+            FuenteAleatoria aleatorio = new FuenteAleatoria(semilla);
+            Simulacion sim = new Simulacion(ticks, quantum, ReceptorNulo.INSTANCIA, aleatorio);
+            GestorProcesos gestorP = new GestorProcesos(ReceptorNulo.INSTANCIA, aleatorio);
+            GestorInterrupciones gestorI = new GestorInterrupciones(sim);
+            gestorP.inicializarProcesos(sim.tiempoActual, numProcesos);
+            ErrorReparto reparto = new ErrorReparto(sim, gestorP.getPcb());
 
-        // 6. Reporte final
-        reporte.generarReporte(gestorP.getPcb().obtenerProcesos(), sim.cambiosProceso);
+            crearAlgoritmo(opciones[i]).ejecutar(sim, gestorP, gestorI);
 
-        scanner.close();
+            corridas.add(nombres[i]);
+            errores.add(reparto.errores());
+        }
+        new ReporteFinal().imprimirReparto(corridas, errores);
+        System.out.println("Procesos: " + numProcesos + " | Ticks: " + ticks + " | Semilla: " + semilla);
+    }
+
+    /** Informe por CPU si la corrida fue multiprocesador. */
+    private static void imprimirCpus(AlgoritmosPlanificacion algoritmo) {
+        if (algoritmo instanceof Multiprocesador) {
+            System.out.println(((Multiprocesador) algoritmo).formatearResumen());
+        }
+    }
+
+    /**
+     * Lista los primeros registros de una bitacora binaria y cuenta los eventos
+     * por tipo (recorre el archivo completo sin cargarlo en memoria).
+     *
+     * @param args --leer-bitacora, archivo y cantidad opcional de registros a
+     *             listar (20 por defecto).
+     */
+    private static void leerBitacora(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Uso: Main --leer-bitacora <archivo> [registros a listar]");
+            return;
+        }
+        long listar = args.length > 2 ? Long.parseLong(args[2]) : 20;
+        long[] conteos = new long[TipoEvento.values().length];
+        int ultimoTick = 0;
+        try (LectorBitacora lector = new LectorBitacora(Paths.get(args[1]))) {
+            System.out.println("Registros: " + lector.getRegistros());
+            for (long i = 0; lector.siguiente(); i++) {
+                if (i < listar) {
+                    System.out.printf("[t=%d] %-12s %s%n", lector.getTick(), lector.getTipo(),
+                            lector.getIdProceso() < 0 ? "-" : "P" + lector.getIdProceso());
+                }
+                conteos[lector.getTipo().ordinal()]++;
+                ultimoTick = lector.getTick();
+            }
+        } catch (IOException e) {
+            System.err.println("No se pudo leer la bitacora: " + e.getMessage());
+            return;
+        }
+        System.out.println("-------------------------------------------------------");
+        for (TipoEvento tipo : TipoEvento.values()) {
+            if (conteos[tipo.ordinal()] > 0) {
+                System.out.printf("%-14s: %d%n", tipo, conteos[tipo.ordinal()]);
+            }
+        }
+        System.out.println("Ultimo tick    : " + ultimoTick);
+    }
+
+    /**
+     * Lote de corridas independientes en todos los nucleos (ver EjecutorLotes).
+     * Si se da un ancho de intervalo (fraccion de la media, ej. 0.01), se siguen
+     * lanzando tandas de <corridas> hasta alcanzarlo.
+     *
+     * @param args --lote, algoritmo (1-14), procesos, ticks, corridas, ancho
+     *             opcional, quantum opcional y semilla base opcional (misma
+     *             semilla = mismo lote).
+     */
+    private static void ejecutarLote(String[] args) {
+        if (args.length < 5) {
+            System.err.println("Uso: Main --lote <algoritmo 1-14> <procesos> <ticks> <corridas> [ancho IC] [quantum] [semilla]");
+            return;
+        }
+        int opcion = Integer.parseInt(args[1]);
+        if (crearAlgoritmo(opcion) == null) {
+            System.err.println("Algoritmo no disponible: " + args[1]);
+            return;
+        }
+        int numProcesos = Integer.parseInt(args[2]);
+        int ticks = Integer.parseInt(args[3]);
+        int corridas = Integer.parseInt(args[4]);
+        double ancho = args.length > 5 ? Double.parseDouble(args[5]) : 0.0;
+        int quantum = args.length > 6 ? Integer.parseInt(args[6]) : 3;
+        long semilla = args.length > 7 ? Long.parseLong(args[7]) : FuenteAleatoria.nueva().getSemilla();
+
+        long inicio = System.nanoTime();
+        EstadisticaLote estadistica = new EjecutorLotes(opcion, numProcesos, ticks, quantum, semilla)
+                .ejecutar(corridas, ancho);
+        long ms = (System.nanoTime() - inicio) / 1_000_000;
+
+        EjecutorLotes.imprimir(estadistica, semilla);
+        System.out.println("Corridas: " + estadistica.getCorridas() + " | Tiempo real: " + ms + " ms");
     }
 }
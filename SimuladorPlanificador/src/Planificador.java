@@ -48,7 +48,7 @@ public class Planificador {
             throw new IllegalStateException("Algoritmo no ha sido asignado.");
         }
 
-        System.out.println("Iniciando despacho desde Planificador. Delegando control a Estrategia...");
+        sim.getEventos().mensaje("Iniciando despacho desde Planificador. Delegando control a Estrategia...");
         algoritmoActual.ejecutar(sim, gp, gi);
     }
 }
@@ -0,0 +1,193 @@
+package algoritmos;
+
+import clases.*;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+/**
+ * Completely Fair Scheduler (CFS), el planificador por tiempo virtual de Linux.
+ *
+ * Cada proceso acumula un "tiempo virtual" (vruntime): los ticks que corrió,
+ * divididos por su peso. El peso sale de la prioridad, traducida a un nivel
+ * nice con la tabla de pesos de Linux (cada nivel es ~1.25x de CPU).
+ * En cada iteración:
+ * 1. Los LISTOS esperan en un árbol rojo-negro (TreeSet) ordenado por tiempo
+ * virtual: insertar y sacar al de más a la izquierda cuestan O(log n).
+ * 2. Se despacha al de menor tiempo virtual (el que menos CPU recibió en
+ * proporción a su peso).
+ * 3. Su turno es su parte de la latencia objetivo, proporcional a su peso
+ * entre todos los que compiten, y nunca menor que la granularidad mínima (con
+ * muchos procesos, el período se estira a n * granularidad).
+ * 4. Es apropiativo: al agotar el turno vuelve al árbol con su tiempo virtual
+ * actualizado.
+ *
+ * Los que llegan arrancan en el mínimo tiempo virtual del árbol, y los que
+ * despiertan de I/O, como mucho media latencia por detrás de él: así no
+ * acaparan la CPU por el tiempo que no estuvieron.
+ */
+public class CompletamenteJusto implements PoliticaPlanificacion {
+
+    /** Latencia objetivo por defecto: período en el que todos deberían correr. */
+    public static final int LATENCIA_OBJETIVO_POR_DEFECTO = 24;
+
+    /** Granularidad mínima por defecto: turno más corto que se concede. */
+    public static final int GRANULARIDAD_MINIMA_POR_DEFECTO = 3;
+
+    /** Prioridad que equivale a nice 0; cada punto más de prioridad son 2 niveles de nice menos. */
+    private static final int PRIORIDAD_NEUTRA = 5;
+
+    /** Peso de nice 0 (los tiempos virtuales se miden en ticks de un proceso nice 0). */
+    private static final int PESO_NICE_0 = 1024;
+
+    /** Fracciones de tick del tiempo virtual (para no perder precisión con pesos grandes). */
+    private static final int ESCALA = 1024;
+
+    /** Pesos de Linux para nice -20 .. 19 (sched_prio_to_weight). */
+    private static final int[] PESOS = {
+            88761, 71755, 56483, 46273, 36291,
+            29154, 23254, 18705, 14949, 11916,
+            9548, 7620, 6100, 4904, 3906,
+            3121, 2501, 1991, 1586, 1277,
+            1024, 820, 655, 526, 423,
+            335, 272, 215, 172, 137,
+            110, 87, 70, 56, 45,
+            36, 29, 23, 18, 15,
+    };
+
+    private final int latenciaObjetivo;
+    private final int granularidadMinima;
+
+    private Simulacion sim;
+    private SplittableRandom random;
+
+    /** Tiempo virtual de cada proceso (por id), en 1/ESCALA de tick de un proceso nice 0. */
+    private long[] tiempoVirtual;
+
+    /** Mínimo tiempo virtual visto: nunca retrocede. */
+    private long minimoVirtual;
+
+    /** LISTOS ordenados por tiempo virtual (y por id, para desempatar). */
+    private TreeSet<Proceso> arbol;
+
+    /** Suma de los pesos de los procesos del árbol. */
+    private long pesoEnArbol;
+
+    /** CFS con la latencia objetivo y la granularidad mínima por defecto. */
+    public CompletamenteJusto() {
+        this(LATENCIA_OBJETIVO_POR_DEFECTO, GRANULARIDAD_MINIMA_POR_DEFECTO);
+    }
+
+    /**
+     * @param latenciaObjetivo   Ticks en los que cada LISTO debería correr al
+     *                           menos una vez (mientras no sean demasiados).
+     * @param granularidadMinima Turno mínimo en ticks, por más que compitan
+     *                           muchos procesos.
+     */
+    public CompletamenteJusto(int latenciaObjetivo, int granularidadMinima) {
+        if (granularidadMinima < 1 || latenciaObjetivo < granularidadMinima) {
+            throw new IllegalArgumentException("Se requiere 1 <= granularidad <= latencia (granularidad "
+                    + granularidadMinima + ", latencia " + latenciaObjetivo + ")");
+        }
+        this.latenciaObjetivo = latenciaObjetivo;
+        this.granularidadMinima = granularidadMinima;
+    }
+
+    @Override
+    public void iniciar(Simulacion sim, PCB pcb) {
+        this.sim = sim;
+        this.random = sim.flujo("CompletamenteJusto");
+        sim.getEventos().mensaje("\n--- [INICIO] Completely Fair Scheduler (CFS) ---");
+        sim.getEventos().mensaje("    Latencia objetivo: " + latenciaObjetivo + " ticks, granularidad mínima: "
+                + granularidadMinima + " ticks");
+
+        tiempoVirtual = new long[Math.max(16, pcb.obtenerProcesos().size() + 1)];
+        minimoVirtual = 0;
+        pesoEnArbol = 0;
+        arbol = new TreeSet<>(this::comparar);
+        for (Proceso p : pcb.procesosEn(EstadoProceso.LISTO)) {
+            insertar(p);
+        }
+    }
+
+    @Override
+    public Proceso elegir() {
+        Proceso p = arbol.pollFirst();
+        if (p != null) {
+            pesoEnArbol -= peso(p);
+        }
+        return p;
+    }
+
+    @Override
+    public int turno(Proceso p) {
+        int peso = peso(p);
+        int compiten = arbol.size() + 1;
+        long periodo = compiten > latenciaObjetivo / granularidadMinima
+                ? (long) compiten * granularidadMinima
+                : latenciaObjetivo;
+        long parte = periodo * peso / (pesoEnArbol + peso);
+        return (int) Math.max(granularidadMinima, Math.min(parte, Integer.MAX_VALUE));
+    }
+
+    @Override
+    public void alListo(Proceso p, EstadoProceso anterior) {
+        asegurarLugar(p.getId());
+        if (anterior == null) {
+            // Llegada: arranca a la par del más atrasado (un ID reciclado no hereda nada)
+            tiempoVirtual[p.getId()] = minimoVirtual;
+        } else if (anterior == EstadoProceso.BLOQUEADO) {
+            // Despertar: a lo sumo media latencia de ventaja sobre el mínimo
+            long credito = (long) latenciaObjetivo * ESCALA / 2;
+            tiempoVirtual[p.getId()] = Math.max(tiempoVirtual[p.getId()], minimoVirtual - credito);
+        }
+        insertar(p);
+    }
+
+    @Override
+    public int tickDeBloqueo(Proceso p, int turno) {
+        // Mismo modelo de I/O que las apropiativas: 30 % de bloquearse al despacharse
+        return p.getTiempoRestante() > 1 && random.nextDouble() < 0.3 ? 0 : SIN_BLOQUEO;
+    }
+
+    @Override
+    public void despuesDeCorrer(Proceso p, int ticks, Simulacion sim) {
+        long actual = tiempoVirtual[p.getId()] + (long) ticks * PESO_NICE_0 * ESCALA / peso(p);
+        tiempoVirtual[p.getId()] = actual;
+        // El mínimo avanza con el que corrió y el primero del árbol, sin retroceder
+        long minimo = arbol.isEmpty() ? actual : Math.min(actual, tiempoVirtual[arbol.first().getId()]);
+        minimoVirtual = Math.max(minimoVirtual, minimo);
+    }
+
+    /** Mete un LISTO al árbol (su tiempo virtual ya no cambia mientras esté ahí). */
+    private void insertar(Proceso p) {
+        asegurarLugar(p.getId());
+        if (arbol.add(p)) {
+            pesoEnArbol += peso(p);
+        }
+    }
+
+    /** Por tiempo virtual; a igualdad, el de menor etiqueta (y menor ID si se repite). */
+    private int comparar(Proceso a, Proceso b) {
+        int c = Long.compare(tiempoVirtual[a.getId()], tiempoVirtual[b.getId()]);
+        if (c == 0) {
+            c = Integer.compare(a.getEtiqueta(), b.getEtiqueta());
+        }
+        return c != 0 ? c : Integer.compare(a.getId(), b.getId());
+    }
+
+    /**
+     * Peso del proceso según su prioridad: la PRIORIDAD_NEUTRA es nice 0 y
+     * cada punto de prioridad mueve 2 niveles de nice (acotado a -20..19).
+     */
+    private static int peso(Proceso p) {
+        int nice = 2 * (PRIORIDAD_NEUTRA - p.getPrioridad());
+        return PESOS[Math.max(-20, Math.min(19, nice)) + 20];
+    }
+
+    private void asegurarLugar(int id) {
+        if (id >= tiempoVirtual.length) {
+            tiempoVirtual = Arrays.copyOf(tiempoVirtual, Math.max(id + 1, tiempoVirtual.length * 2));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package algoritmos;
+
+import clases.*;
+
+/**
+ * Planificación Monótona en Frecuencia (Rate Monotonic): prioridades fijas y
+ * expropiación inmediata.
+ * <p>
+ * La prioridad de cada trabajo la fija su tarea periódica según el período
+ * (ver TareaPeriodica.asignarMonotonas); esta política sólo la respeta con la
+ * misma ColaPrioridad de Prioridades Apropiativo. A diferencia de aquélla no
+ * hay quantum: el elegido corre hasta terminar su ráfaga, y en cada evento
+ * agendado (la liberación de otro trabajo) cede la CPU si quedó uno de mayor
+ * prioridad LISTO. Los trabajos no piden I/O, que es lo que supone el
+ * AnalisisTiempoRespuesta, así que la línea de tiempo simulada se puede
+ * contrastar con él.
+ * </p>
+ * <p>
+ * Con procesos sueltos (sin tareas periódicas) se comporta como Prioridades
+ * Apropiativo sin quantum y sin I/O.
+ * </p>
+ */
+public class MonotonaFrecuencia implements PoliticaPlanificacion {
+
+    private ColaPrioridad listos;
+
+    @Override
+    public void iniciar(Simulacion sim, PCB pcb) {
+        sim.getEventos().mensaje("\n--- [INICIO] Monótona en Frecuencia (Rate Monotonic) ---");
+
+        // Cola de LISTOS por prioridad; el PCB le avisa de cada cambio de estado
+        listos = new ColaPrioridad(pcb);
+    }
+
+    @Override
+    public void terminar(PCB pcb) {
+        pcb.desuscribir(listos);
+    }
+
+    @Override
+    public Proceso elegir() {
+        return listos.verMaximo();
+    }
+
+    @Override
+    public int turno(Proceso p) {
+        return p.getTiempoRestante();
+    }
+
+    @Override
+    public boolean expropia(Proceso p) {
+        Proceso cima = listos.verMaximo();
+        return cima != null && cima.getPrioridad() > p.getPrioridad();
+    }
+
+    @Override
+    public boolean cortaEnEventos() {
+        return true;
+    }
+}
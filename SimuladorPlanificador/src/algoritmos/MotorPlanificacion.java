@@ -0,0 +1,214 @@
+package algoritmos;
+
+import clases.*;
+import eventos.ReceptorEventos;
+import eventos.TipoEvento;
+
+/**
+ * Ciclo de planificación de un solo procesador, común a todas las
+ * PoliticaPlanificacion: despierta bloqueados, despacha lo que la política
+ * elige, corre el turno de un salto de reloj (hasta el fin del turno, de la
+ * ráfaga, del pedido de I/O o del siguiente evento agendado), emite los
+ * eventos y decide terminación, bloqueo o expropiación. Con la CPU inactiva
+ * salta al siguiente evento agendado o fin de I/O.
+ * <p>
+ * Cada vuelta:
+ * </p>
+ * <ol>
+ * <li>Despertar a los bloqueados cuya I/O venció (si la política lo hace).</li>
+ * <li>Con la CPU libre, despachar (salvo las que redespachan al soltar).</li>
+ * <li>Correr un tramo del proceso en CPU y cerrar su turno si corresponde.</li>
+ * <li>Redespachar en el mismo instante (si la política lo hace).</li>
+ * <li>Sin nadie a quién despachar: INACTIVO y salto al siguiente evento o
+ * fin de I/O.</li>
+ * <li>Si nada movió el reloj, avanzarlo un tick.</li>
+ * </ol>
+ */
+public class MotorPlanificacion implements AlgoritmosPlanificacion {
+
+    private final PoliticaPlanificacion politica;
+
+    // --- Estado de la corrida en curso ---
+    private Simulacion sim;
+    private ReceptorEventos ev;
+    private PCB pcb;
+    private GestorInterrupciones gi;
+
+    /** Forma del ciclo, leída de la política una vez por corrida. */
+    private boolean cortaEnEventos;
+    private boolean continuaSiRepite;
+
+    /** Proceso en CPU (null = libre) y su turno. */
+    private Proceso enCpu;
+    private int turno;
+    private int gastado;
+    private int tickBloqueo;
+
+    /** Último proceso que recibió la CPU (para continuaSiRepite()). */
+    private Proceso ultimo;
+
+    /**
+     * @param politica Política que decide a quién y cuánto despachar.
+     */
+    public MotorPlanificacion(PoliticaPlanificacion politica) {
+        this.politica = politica;
+    }
+
+    @Override
+    public void ejecutar(Simulacion sim, GestorProcesos gp, GestorInterrupciones gi) {
+        this.sim = sim;
+        this.ev = sim.getEventos();
+        this.pcb = gp.getPcb();
+        this.gi = gi;
+        enCpu = null;
+        ultimo = null;
+
+        boolean despierta = politica.despiertaBloqueados();
+        boolean redespacha = politica.redespachaAlSoltar();
+        cortaEnEventos = politica.cortaEnEventos();
+        continuaSiRepite = politica.continuaSiRepite();
+
+        politica.iniciar(sim, pcb);
+        ObservadorPCB avisos = (p, anterior, nuevo) -> {
+            if (nuevo == EstadoProceso.LISTO) {
+                politica.alListo(p, anterior);
+            } else if (nuevo == EstadoProceso.BLOQUEADO) {
+                politica.alBloquearse(p);
+                if (despierta) {
+                    gi.alBloquearse(p);
+                }
+            }
+        };
+        pcb.suscribir(avisos);
+        if (despierta) {
+            gi.vigilar(pcb);
+        }
+        ev.pausa();
+
+        while (sim.iteracionValida()) {
+            // 1. Despertar a los bloqueados cuya I/O ya venció
+            if (despierta) {
+                gi.atenderFinesDeIO();
+            }
+
+            boolean relojAvanzado = false;
+            boolean ocioso = false;
+
+            // 2. CPU libre: elegir al principio de la vuelta
+            if (enCpu == null && !redespacha) {
+                ocioso = !despachar();
+            }
+
+            // 3. Correr al que está en CPU
+            if (enCpu != null) {
+                relojAvanzado = correr();
+            }
+
+            // 4. La CPU que se acaba de soltar se entrega en el mismo instante
+            if (enCpu == null && redespacha) {
+                ocioso = !despachar();
+            }
+
+            // 5. CPU ociosa: saltar al siguiente evento o fin de I/O
+            if (ocioso) {
+                ev.emitir(TipoEvento.INACTIVO, sim.tiempoActual, null);
+                int antes = sim.tiempoActual;
+                if (despierta) {
+                    sim.avanzarHasta(Math.min(sim.proximoEvento(), gi.proximoFinDeIO()));
+                } else {
+                    sim.saltarAlSiguienteEvento();
+                }
+                relojAvanzado = sim.tiempoActual > antes;
+                ev.pausa();
+            }
+
+            // 6. Avanzar reloj (si no lo hizo ya la ráfaga o el salto de inactividad)
+            if (!relojAvanzado) {
+                sim.incrementarTiempo();
+            }
+        }
+
+        if (despierta) {
+            gi.dejarDeVigilar();
+        }
+        pcb.desuscribir(avisos);
+        politica.terminar(pcb);
+        ev.mensaje("\n--- [FIN] Simulación Finalizada ---");
+    }
+
+    /**
+     * Despacha al que elija la política, que debe estar LISTO.
+     *
+     * @return false si no había a quién.
+     * @throws IllegalStateException Si la política eligió a un proceso que no
+     *                               está LISTO.
+     */
+    private boolean despachar() {
+        Proceso p = politica.elegir();
+        if (p == null) {
+            return false;
+        }
+        if (p.getEstado() != EstadoProceso.LISTO) {
+            throw new IllegalStateException("La política eligió a P" + p.getEtiqueta()
+                    + ", que está " + p.getEstado() + " y no LISTO");
+        }
+        int largo = politica.turno(p);
+        p.setEstado(EstadoProceso.EN_EJECUCION);
+        if (p != ultimo || !continuaSiRepite) {
+            politica.alDespachar(p, sim);
+            ev.emitir(TipoEvento.DESPACHO, sim.tiempoActual, p);
+        }
+        enCpu = p;
+        ultimo = p;
+        turno = largo;
+        gastado = 0;
+        tickBloqueo = politica.tickDeBloqueo(p, largo);
+        return true;
+    }
+
+    /**
+     * Corre un tramo del proceso en CPU y, si su turno terminó, lo saca.
+     *
+     * @return true si el reloj avanzó.
+     */
+    private boolean correr() {
+        Proceso p = enCpu;
+        int tramo = Math.min(turno, tickBloqueo) - gastado;
+        if (cortaEnEventos) {
+            tramo = sim.ticksHastaEvento(tramo);
+        }
+        int ticks = sim.ejecutarRafaga(p, tramo);
+        gastado += ticks;
+        if (ticks > 0) {
+            ev.emitir(TipoEvento.EJECUCION, sim.tiempoActual, p);
+        }
+        politica.despuesDeCorrer(p, ticks, sim);
+
+        if (p.getTiempoRestante() <= 0) {
+            p.setEstado(EstadoProceso.TERMINADO);
+            ev.emitir(TipoEvento.FIN, sim.tiempoActual, p);
+        } else if (gastado >= tickBloqueo) {
+            p.setEstado(EstadoProceso.BLOQUEADO);
+            ev.emitir(TipoEvento.BLOQUEO, sim.tiempoActual, p);
+        } else if (gastado >= turno) {
+            politica.finDeQuantum(p, sim);
+            p.setEstado(EstadoProceso.LISTO);
+            if (!continuaSiRepite) {
+                ev.emitir(TipoEvento.EXPROPIACION, sim.tiempoActual, p);
+            }
+        } else if (!cortaEnEventos || politica.expropia(p)) {
+            // El turno de un salto sólo queda corto si se acabó la simulación;
+            // el cortado en un evento, si la política expropia ahí
+            p.setEstado(EstadoProceso.LISTO);
+            ev.emitir(TipoEvento.EXPROPIACION, sim.tiempoActual, p);
+        } else {
+            // Sigue en CPU: el tramo sólo llegó hasta el siguiente evento
+            return ticks > 0;
+        }
+
+        enCpu = null;
+        ev.tabla(pcb);
+        ev.pausa();
+        return ticks > 0;
+    }
+}
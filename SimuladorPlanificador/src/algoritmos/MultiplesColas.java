@@ -1,8 +1,7 @@
 package algoritmos;
 
 import clases.*;
-import java.util.List;
-import java.util.ArrayList;
+import java.util.SplittableRandom;
 
 /**
  * Algoritmo de Múltiples Colas de Prioridad (Multi-level Feedback Queue).
@@ -17,192 +16,146 @@ import java.util.ArrayList;
  * - Cada vez que un proceso usa todo su tiempo asignado y no termina, es
  * penalizado
  * y "baja" al siguiente nivel de cola inferior (ej. Nivel 0 pasa a Nivel 1).
- * - Se incorporaron validaciones robustas para manejar dinámicamente cuántas
- * colas
- * se desean a través de la constante NUM_NIVELES.
+ * - La cantidad de colas es configurable (por defecto 4, hasta
+ * ColasMultinivel.MAX_NIVELES). La prioridad inicial ubica al proceso en los
+ * primeros 4 niveles; los niveles extra sólo se alcanzan por penalización.
+ * - Las colas viven en ColasMultinivel: despachar es O(1) y los BLOQUEADOS no
+ * ocupan cola; vuelven al final de su nivel en cuanto se desbloquean.
  * </p>
  */
-public class MultiplesColas implements AlgoritmosPlanificacion {
+public class MultiplesColas implements PoliticaPlanificacion {
 
     /**
-     * Cantidad predefinida de colas (niveles).
+     * Cantidad de colas (niveles) por defecto.
      * Nivel 0 es la mayor prioridad, Nivel 3 es la menor prioridad.
      */
-    private final int NUM_NIVELES = 4;
+    public static final int NIVELES_POR_DEFECTO = 4;
+
+    /** Cantidad de colas (niveles) de esta instancia. */
+    private final int numNiveles;
+
+    // --- Estado de la corrida en curso ---
+    private Simulacion sim;
+    private SplittableRandom random;
+    private ColasMultinivel colas;
+
+    /** Crea el algoritmo con NIVELES_POR_DEFECTO colas. */
+    public MultiplesColas() {
+        this(NIVELES_POR_DEFECTO);
+    }
 
     /**
-     * Ciclo principal de ejecución del algoritmo.
-     * 
-     * @param sim Objeto global de tiempo y métricas.
-     * @param gp  Fábrica central de Procesos.
-     * @param gi  Módulo para resolución de operaciones I/O bloqueantes.
+     * @param numNiveles Cantidad de colas (1 a ColasMultinivel.MAX_NIVELES).
      */
+    public MultiplesColas(int numNiveles) {
+        if (numNiveles < 1 || numNiveles > ColasMultinivel.MAX_NIVELES) {
+            throw new IllegalArgumentException("Número de niveles fuera de rango (1-"
+                    + ColasMultinivel.MAX_NIVELES + "): " + numNiveles);
+        }
+        this.numNiveles = numNiveles;
+    }
+
     @Override
-    public void ejecutar(Simulacion sim, GestorProcesos gp, GestorInterrupciones gi) {
+    public void iniciar(Simulacion sim, PCB pcb) {
+        this.sim = sim;
+        this.random = sim.flujo("MultiplesColas");
 
-        List<Proceso> procesos = gp.getPcb().obtenerProcesos();
+        // Inicializar las colas (una por nivel) y meter cada LISTO en la suya según
+        // prioridad. Los BLOQUEADOS entran a su cola al desbloquearse (el PCB avisa
+        // a las colas de cada cambio de estado) y vuelven al final de su nivel.
+        colas = new ColasMultinivel(pcb, numNiveles, p -> calcularNivelPorPrioridad(p.getPrioridad()));
 
-        // 1. Inicializar las 4 colas (una por nivel de prioridad)
-        List<List<Proceso>> colas = new ArrayList<>();
-        for (int i = 0; i < NUM_NIVELES; i++) {
-            colas.add(new ArrayList<>());
-        }
+        sim.getEventos().mensaje("\n--- Iniciando algoritmo: Multiples Colas de Prioridad ---");
+        sim.getEventos().mensaje("    " + numNiveles + " niveles de cola | Cola 0 = mayor prioridad\n");
+    }
 
-        // 2. Meter cada proceso en su cola según prioridad.
-        // Se incluyen LISTO y BLOQUEADO para que el GestorInterrupciones
-        // pueda intentar desbloquearlos cuando les llegue su turno.
-        for (Proceso p : procesos) {
-            if (p.getEstado() == EstadoProceso.LISTO || p.getEstado() == EstadoProceso.BLOQUEADO) {
-                int nivel = calcularNivelPorPrioridad(p.getPrioridad());
-                colas.get(nivel).add(p);
-            }
+    @Override
+    public void terminar(PCB pcb) {
+        pcb.desuscribir(colas);
+    }
+
+    @Override
+    public Proceso elegir() {
+        // El primero del nivel más alto con procesos LISTOS
+        return colas.extraer();
+    }
+
+    @Override
+    public int turno(Proceso p) {
+        // Cuánto tiempo le toca según la fórmula del proyecto:
+        // tiempo = prioridad * (vecesUsoCPU + 1)
+        return p.getPrioridad() * (p.getVecesUsoCPU() + 1);
+    }
+
+    @Override
+    public void alDespachar(Proceso p, Simulacion sim) {
+        // Sólo cuenta como uso de CPU un turno en el que corrió (despuesDeCorrer)
+    }
+
+    /**
+     * En cada tick hay un 30% de probabilidad de que pida I/O y se bloquee,
+     * excepto cuando sólo le queda 1 tick de vida total (dejémoslo terminar).
+     * En vez de lanzar una moneda por tick se muestrea directamente en qué tick
+     * del turno ocurriría el primer pedido de I/O.
+     */
+    @Override
+    public int tickDeBloqueo(Proceso p, int turno) {
+        int tiempoEjecucion = Math.min(turno, p.getTiempoRestante());
+        int tickBloqueo = ticksHastaPedirIO(random);
+        if (tickBloqueo < tiempoEjecucion
+                && tickBloqueo < p.getTiempoRestante() - 1
+                && sim.tiempoActual + tickBloqueo < sim.tiempoMonitoreo) {
+            // Si se detiene voluntariamente por I/O no se le penaliza bajándolo de
+            // cola (regla clásica de Feedback Queue): vuelve a su nivel al desbloquearse
+            return tickBloqueo;
         }
+        return SIN_BLOQUEO;
+    }
 
-        System.out.println("\n--- Iniciando algoritmo: Multiples Colas de Prioridad ---");
-        System.out.println("    4 niveles de cola | Cola 0 = mayor prioridad\n");
-        pausa();
-
-        // 3. Ciclo central
-        while (sim.iteracionValida()) {
-
-            Proceso candidato = null;
-            int nivelCandidato = -1;
-
-            // Buscar de mayor a menor prioridad el primer proceso que pueda correr
-            for (int nivel = 0; nivel < NUM_NIVELES; nivel++) {
-
-                List<Proceso> listaNivel = colas.get(nivel);
-
-                for (Proceso p : listaNivel) {
-                    // Si está bloqueado, intentamos desbloquearlo ANTES de evaluar si es el
-                    // candidato
-                    if (p.getEstado() == EstadoProceso.BLOQUEADO) {
-                        gi.intentarDesbloquear(p);
-                    }
-
-                    // Ahora sí evaluamos: puede ser que ya estuviera LISTO o que se
-                    // haya desbloqueado exitosamente justo arriba ^
-                    if (p.getEstado() == EstadoProceso.LISTO) {
-                        candidato = p;
-                        nivelCandidato = nivel;
-                        break;
-                    }
-                }
-
-                if (candidato != null && candidato.getEstado() == EstadoProceso.LISTO) {
-                    break;
-                }
-            }
-
-            // Si no hay ningún proceso listo en ninguna cola: un ciclo de CPU inactiva
-            if (candidato == null) {
-                System.out.println("[t=" + sim.tiempoActual + "] CPU inactiva - no hay procesos listos.");
-                sim.incrementarTiempo();
-                pausa();
-                continue;
-            }
-
-            // 4. Calcular cuanto tiempo le toca segun la formula del proyecto
-            // tiempo = prioridad * (vecesUsoCPU + 1)
-            int tiempoAsignado = candidato.getPrioridad() * (candidato.getVecesUsoCPU() + 1);
-            int tiempoEjecucion = Math.min(tiempoAsignado, candidato.getTiempoRestante());
-
-            candidato.setEstado(EstadoProceso.EN_EJECUCION);
-
-            System.out.println("[t=" + sim.tiempoActual + "] Proceso P" + candidato.getId()
-                    + " entra al CPU (cola " + nivelCandidato
-                    + ", prioridad " + candidato.getPrioridad()
-                    + ") - se le asignan " + tiempoEjecucion + " de " + tiempoAsignado + " ticks posibles");
-
-            // 5. Ejecutar tick a tick
-            boolean fueInterrumpido = false;
-            int ticksEjecutados = 0;
-            for (int e = 0; e < tiempoEjecucion && sim.iteracionValida(); e++) {
-
-                // En cada tick, hay un 30% de probabilidad de que pida I/O y se bloquee.
-                // Excepto cuando sólo le queda 1 tick de vida total, dejémoslo terminar.
-                if (candidato.getTiempoRestante() > 1 && Math.random() < 0.3) {
-                    fueInterrumpido = true;
-                    candidato.setEstado(EstadoProceso.BLOQUEADO);
-                    System.out.println(
-                            "    -> [I/O] P" + candidato.getId() + " pidió I/O y se bloqueó sorpresivamente en el tick "
-                                    + (e + 1) + " de su turno asignado");
-                    break; // Corta su ejecución y sale de la CPU
-                }
-
-                candidato.setTiempoRestante(candidato.getTiempoRestante() - 1);
-                candidato.setTiempoUsoCPU(candidato.getTiempoUsoCPU() + 1);
-                sim.incrementarTiempo();
-                ticksEjecutados++;
-            }
-
-            if (ticksEjecutados > 0) {
-                candidato.setVecesUsoCPU(candidato.getVecesUsoCPU() + 1);
-                sim.registrarCambioContexto();
-            }
-            colas.get(nivelCandidato).remove(candidato);
-
-            // 6. Ver si terminó o si hay que bajarlo de cola
-            if (fueInterrumpido) {
-                // El proceso no agotó su tiempo asignado, se detuvo voluntariamente por I/O.
-                // Regla clásica de Feedback Queue: No se le penaliza bajándolo de cola,
-                // se queda en su mismo nivel, pero en estado BLOQUEADO.
-                colas.get(nivelCandidato).add(candidato);
-                // Si no ejecutó nada, avanzar el reloj 1 tick para evitar que el
-                // while gire indefinidamente sin progreso de tiempo
-                if (ticksEjecutados == 0) {
-                    sim.incrementarTiempo();
-                }
-            } else if (candidato.getTiempoRestante() <= 0) {
-                candidato.setEstado(EstadoProceso.TERMINADO);
-                System.out.println("    -> P" + candidato.getId() + " termino en t=" + sim.tiempoActual);
-            } else if (!sim.iteracionValida()) {
-                // El tiempo global se agotó durante su ejecución, no es penalización
-                candidato.setEstado(EstadoProceso.LISTO);
-                colas.get(nivelCandidato).add(candidato);
-            } else {
-                // Penalización: Agotó TODO su tiempo asignado en la CPU sin bloquearse y no
-                // terminó. Baja de cola.
-                candidato.setEstado(EstadoProceso.LISTO);
-                int nuevoNivel = Math.min(nivelCandidato + 1, NUM_NIVELES - 1);
-                colas.get(nuevoNivel).add(candidato);
-                System.out.println("    -> P" + candidato.getId()
-                        + " usó TODO su tiempo asignado, es penalizado y baja a cola " + nuevoNivel
-                        + " (le quedan " + candidato.getTiempoRestante() + " ticks)");
-            }
-
-            System.out.println();
-            gp.getPcb().mostrarTabla();
-            pausa();
+    @Override
+    public void despuesDeCorrer(Proceso p, int ticks, Simulacion sim) {
+        if (ticks > 0) {
+            p.setVecesUsoCPU(p.getVecesUsoCPU() + 1);
+            sim.registrarCambioContexto();
         }
     }
 
+    @Override
+    public void finDeQuantum(Proceso p, Simulacion sim) {
+        // Penalización: agotó TODO su tiempo asignado sin bloquearse y no terminó.
+        // Baja de cola (antes de volver a LISTO, para encolarse ahí).
+        colas.cambiarNivel(p, colas.nivelDe(p) + 1);
+    }
+
     /**
-     * Clasifica la prioridad (1-10) en uno de los 4 niveles de cola.
+     * Muestrea cuántos ticks completos corre un proceso antes de pedir I/O,
+     * equivalente a lanzar una moneda de 30% en cada tick (distribución
+     * geométrica).
+     *
+     * @param random Flujo aleatorio del algoritmo en esta corrida.
+     * @return Número de ticks antes del primer pedido de I/O (0 = de inmediato).
+     */
+    private int ticksHastaPedirIO(SplittableRandom random) {
+        return (int) (Math.log(1.0 - random.nextDouble()) / Math.log(0.7));
+    }
+
+    /**
+     * Clasifica la prioridad (1-10) en uno de los 4 primeros niveles de cola
+     * (o en el último, si hay menos de 4).
      * 
      * @param prioridad Valor del proceso (1 al 10).
      * @return Nivel de cola (0 al 3). 0 es la cola más alta.
      */
     private int calcularNivelPorPrioridad(int prioridad) {
+        int nivel;
         if (prioridad >= 9)
-            return 0; // prioridad muy alta
-        if (prioridad >= 7)
-            return 1; // prioridad alta
-        if (prioridad >= 4)
-            return 2; // prioridad media
-        return 3; // prioridad baja
-    }
-
-    /**
-     * Pausa de 1 segundo entre pasos para que la salida se pueda leer a tiempo.
-     * El try-catch es necesario porque Thread.sleep puede lanzar
-     * InterruptedException.
-     */
-    private void pausa() {
-        try {
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+            nivel = 0; // prioridad muy alta
+        else if (prioridad >= 7)
+            nivel = 1; // prioridad alta
+        else if (prioridad >= 4)
+            nivel = 2; // prioridad media
+        else
+            nivel = 3; // prioridad baja
+        return Math.min(nivel, numNiveles - 1);
     }
 }
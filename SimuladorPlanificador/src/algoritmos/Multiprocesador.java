@@ -0,0 +1,424 @@
+package algoritmos;
+
+import clases.*;
+import eventos.ReceptorEventos;
+import eventos.TipoEvento;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Planificación en varias CPUs, cada una con su propia cola de ejecución
+ * (ColaCpu) ordenada por la política de un solo procesador que se elija:
+ * Round Robin, Prioridades o Lotería, apropiativa (por quantum) o no.
+ * <p>
+ * Un proceso que vuelve a LISTO regresa a la cola de la CPU donde corrió por
+ * última vez (afinidad); uno nuevo va a la CPU menos cargada. Como las colas
+ * son independientes, una CPU puede quedar ociosa mientras otra tiene fila:
+ * </p>
+ * <ul>
+ * <li>Robo de trabajo: una CPU sin nada en su cola le quita un proceso a la
+ * más cargada antes de quedarse ociosa.</li>
+ * <li>Balanceo periódico: cada periodoBalanceo ticks se mudan procesos de las
+ * colas más cargadas a las menos cargadas hasta que difieran en uno.</li>
+ * </ul>
+ * <p>
+ * Las I/O siguen el modelo de las versiones de un procesador: con
+ * Prioridades y Lotería apropiativas, un proceso recién despachado pide I/O
+ * con probabilidad 0.3 (si le queda más de un tick) y se bloquea sin correr,
+ * dejando esa CPU libre hasta la siguiente vuelta; Round Robin y las no
+ * apropiativas no piden I/O. Así las corridas en N CPUs se pueden comparar
+ * con las de una.
+ * </p>
+ * <p>
+ * Todas las CPUs ocupadas avanzan juntas de un salto hasta que la primera
+ * agota su quantum o su ráfaga (o llega un evento agendado). Al terminar deja
+ * la utilización de cada CPU, las migraciones (despachos en una CPU distinta
+ * de la anterior) y el desbalance de carga en formatearResumen().
+ * </p>
+ */
+public class Multiprocesador implements AlgoritmosPlanificacion {
+
+    /** Ticks entre balanceos si no se indica otra cosa. */
+    public static final int PERIODO_BALANCEO_POR_DEFECTO = 100;
+
+    private final int numCpus;
+    private final PoliticaCpu politica;
+    private final boolean apropiativo;
+    private final boolean robo;
+    private final int periodoBalanceo;
+
+    /** Si los despachados piden I/O como en la política de un procesador. */
+    private final boolean pideIO;
+
+    // --- Estado de la corrida en curso ---
+    private ColaCpu[] colas;
+    private Proceso[] enCpu;
+
+    /** CPUs con un proceso corriendo (las primeras numActivas casillas). */
+    private int[] activas;
+    private int numActivas;
+
+    /** Procesos esperando en todas las colas juntas. */
+    private int enCola;
+
+    /** CPU donde corrió cada proceso por última vez, por ID (-1 = ninguna). */
+    private int[] ultimaCpu;
+
+    // --- Resultados de la última corrida ---
+    private long[] ocupada;
+    private long[] despachos;
+    private long migraciones;
+    private long robados;
+    private long balanceados;
+
+    /**
+     * Suma de (carga máxima - carga mínima) por tick, para el promedio. Se
+     * muestrea cada periodo de balanceo (o cada PERIODO_BALANCEO_POR_DEFECTO
+     * ticks si no hay balanceo) para no recorrer las CPUs en cada paso.
+     */
+    private long desbalanceAcumulado;
+    private int desbalanceMaximo;
+    private int ticks;
+
+    /**
+     * Multiprocesador con robo de trabajo y balanceo cada
+     * PERIODO_BALANCEO_POR_DEFECTO ticks.
+     *
+     * @param numCpus     Cantidad de CPUs simuladas.
+     * @param politica    Política de cada cola.
+     * @param apropiativo true para expropiar al agotar el quantum.
+     */
+    public Multiprocesador(int numCpus, PoliticaCpu politica, boolean apropiativo) {
+        this(numCpus, politica, apropiativo, true, PERIODO_BALANCEO_POR_DEFECTO);
+    }
+
+    /**
+     * @param numCpus         Cantidad de CPUs simuladas.
+     * @param politica        Política de cada cola.
+     * @param apropiativo     true para expropiar al agotar el quantum.
+     * @param robo            true para que una CPU sin trabajo robe de otra.
+     * @param periodoBalanceo Ticks entre balanceos (0 = nunca).
+     */
+    public Multiprocesador(int numCpus, PoliticaCpu politica, boolean apropiativo, boolean robo,
+            int periodoBalanceo) {
+        if (numCpus < 1 || periodoBalanceo < 0) {
+            throw new IllegalArgumentException("CPUs o periodo de balanceo fuera de rango");
+        }
+        this.numCpus = numCpus;
+        this.politica = politica;
+        this.apropiativo = apropiativo;
+        this.robo = robo;
+        this.periodoBalanceo = periodoBalanceo;
+        this.pideIO = apropiativo && politica != PoliticaCpu.ROUND_ROBIN;
+    }
+
+    @Override
+    public void ejecutar(Simulacion sim, GestorProcesos gp, GestorInterrupciones gi) {
+        ReceptorEventos ev = sim.getEventos();
+        SplittableRandom random = sim.flujo("Multiprocesador");
+        SplittableRandom randomIO = sim.flujo("MultiprocesadorIO");
+        PCB pcb = gp.getPcb();
+        sim.numCpus = numCpus;
+        ev.mensaje("\n--- [INICIO] Multiprocesador: " + numCpus + " CPUs, " + politica
+                + (apropiativo ? " apropiativo (quantum " + sim.quantum + ")" : " no apropiativo")
+                + (robo ? ", con robo de trabajo" : "")
+                + (periodoBalanceo > 0 ? ", balanceo cada " + periodoBalanceo + " ticks" : "") + " ---");
+
+        colas = new ColaCpu[numCpus];
+        for (int c = 0; c < numCpus; c++) {
+            colas[c] = new ColaCpu(politica);
+        }
+        enCpu = new Proceso[numCpus];
+        activas = new int[numCpus];
+        numActivas = 0;
+        enCola = 0;
+        int[] gastado = new int[numCpus];
+        ultimaCpu = new int[Math.max(16, pcb.obtenerProcesos().size() + 1)];
+        Arrays.fill(ultimaCpu, -1);
+        ocupada = new long[numCpus];
+        despachos = new long[numCpus];
+        migraciones = robados = balanceados = desbalanceAcumulado = 0;
+        desbalanceMaximo = 0;
+
+        // Los LISTOS iniciales se reparten; después cada vuelta a LISTO
+        // (desbloqueo, llegada, expropiación) pasa por el mismo reparto
+        for (Proceso p : pcb.procesosEn(EstadoProceso.LISTO)) {
+            encolar(menosCargada(), p);
+        }
+        ObservadorPCB reparto = (p, anterior, nuevo) -> {
+            if (anterior == null && p.getId() < ultimaCpu.length) {
+                // Llegada: un ID reciclado no hereda la CPU de otro proceso
+                ultimaCpu[p.getId()] = -1;
+            }
+            if (nuevo == EstadoProceso.LISTO) {
+                encolar(cpuPara(p), p);
+            } else if (nuevo == EstadoProceso.BLOQUEADO) {
+                gi.alBloquearse(p);
+            }
+        };
+        pcb.suscribir(reparto);
+        gi.vigilar(pcb);
+        int periodo = periodoBalanceo > 0 ? periodoBalanceo : PERIODO_BALANCEO_POR_DEFECTO;
+        int ultimaMuestra = sim.tiempoActual;
+        int proximaMuestra = sim.tiempoActual + periodo;
+
+        while (sim.iteracionValida()) {
+            // 1. Despertar a los bloqueados cuya I/O ya venció
+            gi.atenderFinesDeIO();
+
+            // 2. Cada CPU libre despacha de su cola o, si está vacía, roba
+            // (sin nadie en ninguna cola no hay nada que recorrer). Si el
+            // despachado pide I/O al entrar, la misma CPU vuelve a intentar
+            for (int c = 0; c < numCpus && enCola > 0 && numActivas < numCpus; c++) {
+                while (enCpu[c] == null && enCola > 0) {
+                    Proceso p = colas[c].extraer(random);
+                    if (p == null && robo) {
+                        p = robar(c, random);
+                    }
+                    if (p == null) {
+                        break;
+                    }
+                    enCola--;
+                    despachar(sim, ev, c, p);
+                    gastado[c] = 0;
+                    if (pideIO && p.getTiempoRestante() > 1 && randomIO.nextDouble() < 0.3) {
+                        // Pide I/O al entrar: se bloquea sin correr y la CPU queda libre
+                        numActivas--;
+                        enCpu[c] = null;
+                        p.setEstado(EstadoProceso.BLOQUEADO);
+                        ev.emitir(TipoEvento.BLOQUEO, sim.tiempoActual, p);
+                    }
+                }
+            }
+
+            // Todas libres sólo si ninguna cola tenía a quién despachar
+            if (numActivas == 0) {
+                ev.emitir(TipoEvento.INACTIVO, sim.tiempoActual, null);
+                // Saltar al siguiente evento agendado o fin de I/O
+                int antes = sim.tiempoActual;
+                sim.avanzarHasta(Math.min(sim.proximoEvento(), gi.proximoFinDeIO()));
+                if (sim.tiempoActual == antes) {
+                    sim.incrementarTiempo();
+                }
+                continue;
+            }
+
+            // 3. Todas las CPUs ocupadas corren juntas hasta el primer fin de
+            // quantum o de ráfaga, el siguiente evento o el próximo balanceo
+            int paso = Math.max(1, proximaMuestra - sim.tiempoActual);
+            for (int i = 0; i < numActivas; i++) {
+                int c = activas[i];
+                Proceso p = enCpu[c];
+                int tope = apropiativo ? Math.min(p.getTiempoRestante(), sim.quantum - gastado[c])
+                        : p.getTiempoRestante();
+                paso = Math.min(paso, tope);
+            }
+            paso = sim.ticksHastaEvento(paso);
+            sim.avanzarHasta(sim.tiempoActual + paso);
+
+            int siguen = 0;
+            for (int i = 0; i < numActivas; i++) {
+                int c = activas[i];
+                Proceso p = enCpu[c];
+                p.setTiempoRestante(p.getTiempoRestante() - paso);
+                p.setTiempoUsoCPU(p.getTiempoUsoCPU() + paso);
+                gastado[c] += paso;
+                ocupada[c] += paso;
+                ev.emitir(TipoEvento.EJECUCION, sim.tiempoActual, p);
+
+                if (p.getTiempoRestante() <= 0) {
+                    enCpu[c] = null;
+                    p.setEstado(EstadoProceso.TERMINADO);
+                    ev.emitir(TipoEvento.FIN, sim.tiempoActual, p);
+                } else if (apropiativo && gastado[c] >= sim.quantum) {
+                    // Al volver a LISTO el reparto lo encola en esta misma CPU
+                    enCpu[c] = null;
+                    p.setEstado(EstadoProceso.LISTO);
+                    ev.emitir(TipoEvento.EXPROPIACION, sim.tiempoActual, p);
+                    sim.registrarCambioContexto();
+                } else {
+                    activas[siguen++] = c;
+                }
+            }
+            numActivas = siguen;
+
+            // 4. Muestra de desbalance y balanceo periódico
+            if (sim.tiempoActual >= proximaMuestra) {
+                int desbalance = desbalance();
+                desbalanceAcumulado += (long) desbalance * (sim.tiempoActual - ultimaMuestra);
+                desbalanceMaximo = Math.max(desbalanceMaximo, desbalance);
+                ultimaMuestra = sim.tiempoActual;
+                if (periodoBalanceo > 0) {
+                    balancear(random);
+                }
+                proximaMuestra = sim.tiempoActual + periodo;
+            }
+        }
+
+        ticks = sim.tiempoActual;
+        gi.dejarDeVigilar();
+        pcb.desuscribir(reparto);
+        ev.mensaje("\n--- [FIN] Simulación Finalizada ---");
+    }
+
+    private void despachar(Simulacion sim, ReceptorEventos ev, int cpu, Proceso p) {
+        int id = p.getId();
+        if (id >= ultimaCpu.length) {
+            int anterior = ultimaCpu.length;
+            ultimaCpu = Arrays.copyOf(ultimaCpu, Math.max(id + 1, anterior * 2));
+            Arrays.fill(ultimaCpu, anterior, ultimaCpu.length, -1);
+        }
+        if (ultimaCpu[id] >= 0 && ultimaCpu[id] != cpu) {
+            migraciones++;
+        }
+        ultimaCpu[id] = cpu;
+        enCpu[cpu] = p;
+        activas[numActivas++] = cpu;
+        despachos[cpu]++;
+        p.setEstado(EstadoProceso.EN_EJECUCION);
+        p.setVecesUsoCPU(p.getVecesUsoCPU() + 1);
+        sim.registrarCambioContexto();
+        ev.emitir(TipoEvento.DESPACHO, sim.tiempoActual, p);
+    }
+
+    private void encolar(int cpu, Proceso p) {
+        colas[cpu].agregar(p);
+        enCola++;
+    }
+
+    /** CPU a cuya cola va un proceso que pasa a LISTO. */
+    private int cpuPara(Proceso p) {
+        int id = p.getId();
+        if (id < ultimaCpu.length && ultimaCpu[id] >= 0) {
+            return ultimaCpu[id];
+        }
+        return menosCargada();
+    }
+
+    /** Carga de una CPU: procesos en su cola más el que está corriendo. */
+    private int carga(int cpu) {
+        return colas[cpu].tamano() + (enCpu[cpu] != null ? 1 : 0);
+    }
+
+    private int menosCargada() {
+        int mejor = 0;
+        for (int c = 1; c < numCpus; c++) {
+            if (carga(c) < carga(mejor)) {
+                mejor = c;
+            }
+        }
+        return mejor;
+    }
+
+    private int masCargada() {
+        int peor = 0;
+        for (int c = 1; c < numCpus; c++) {
+            if (carga(c) > carga(peor)) {
+                peor = c;
+            }
+        }
+        return peor;
+    }
+
+    /** Le quita a la CPU con la cola más larga un proceso para 'cpu'. */
+    private Proceso robar(int cpu, SplittableRandom random) {
+        int victima = -1;
+        for (int c = 0; c < numCpus; c++) {
+            if (c != cpu && !colas[c].estaVacia()
+                    && (victima < 0 || colas[c].tamano() > colas[victima].tamano())) {
+                victima = c;
+            }
+        }
+        if (victima < 0) {
+            return null;
+        }
+        robados++;
+        return colas[victima].ceder(random);
+    }
+
+    /** Muda procesos de la CPU más cargada a la menos cargada hasta que difieran en uno. */
+    private void balancear(SplittableRandom random) {
+        while (true) {
+            int origen = masCargada();
+            int destino = menosCargada();
+            if (carga(origen) - carga(destino) <= 1 || colas[origen].estaVacia()) {
+                return;
+            }
+            colas[destino].agregar(colas[origen].ceder(random));
+            balanceados++;
+        }
+    }
+
+    private int desbalance() {
+        return carga(masCargada()) - carga(menosCargada());
+    }
+
+    // =========================================================================
+    // RESULTADOS DE LA ÚLTIMA CORRIDA
+    // =========================================================================
+
+    public int getNumCpus() {
+        return numCpus;
+    }
+
+    /**
+     * @param cpu Número de CPU.
+     * @return Fracción (0 a 1) de los ticks simulados que estuvo ocupada.
+     */
+    public double utilizacion(int cpu) {
+        return ticks == 0 ? 0 : (double) ocupada[cpu] / ticks;
+    }
+
+    /** @return Despachos en una CPU distinta de la que usó el proceso la vez anterior. */
+    public long getMigraciones() {
+        return migraciones;
+    }
+
+    /** @return Procesos que una CPU ociosa le quitó a otra. */
+    public long getRobados() {
+        return robados;
+    }
+
+    /** @return Procesos mudados por el balanceo periódico. */
+    public long getBalanceados() {
+        return balanceados;
+    }
+
+    /** @return Promedio por tick de (carga máxima - carga mínima) entre CPUs. */
+    public double desbalanceMedio() {
+        return ticks == 0 ? 0 : (double) desbalanceAcumulado / ticks;
+    }
+
+    /**
+     * Arma el informe por CPU de la última corrida.
+     *
+     * @return Texto de varias líneas, sin salto final.
+     */
+    public String formatearResumen() {
+        StringBuilder r = new StringBuilder();
+        r.append("=======================================================\n");
+        r.append(String.format("      MULTIPROCESADOR (%d CPUs, %s)%n", numCpus, politica));
+        r.append("=======================================================\n");
+        r.append(String.format("%4s %14s %12s%n", "CPU", "Utilizacion", "Despachos"));
+        double suma = 0;
+        double minimo = Double.MAX_VALUE;
+        double maximo = 0;
+        for (int c = 0; c < numCpus; c++) {
+            double u = utilizacion(c) * 100;
+            suma += u;
+            minimo = Math.min(minimo, u);
+            maximo = Math.max(maximo, u);
+            r.append(String.format("%4d %12.1f %% %12d%n", c, u, despachos[c]));
+        }
+        r.append("-------------------------------------------------------\n");
+        r.append(String.format("Utilizacion media              : %.1f %%%n", suma / numCpus));
+        r.append(String.format("Desbalance de utilizacion      : %.1f puntos (max - min)%n", maximo - minimo));
+        r.append(String.format("Desbalance de carga medio      : %.2f procesos (max %d)%n",
+                desbalanceMedio(), desbalanceMaximo));
+        r.append("Migraciones                    : ").append(migraciones).append('\n');
+        r.append("Robos de trabajo               : ").append(robados).append('\n');
+        r.append("Movidos por balanceo           : ").append(balanceados).append('\n');
+        r.append("=======================================================");
+        return r.toString();
+    }
+}
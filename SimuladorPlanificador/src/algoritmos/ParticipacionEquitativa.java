@@ -1,113 +1,81 @@
 package algoritmos;
 
 import clases.*;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.HashMap;
-import java.util.ArrayList;
 
-public class ParticipacionEquitativa implements AlgoritmosPlanificacion {
-    
+/**
+ * Participación Equitativa: la CPU rota entre usuarios, un tick por turno, y
+ * dentro de cada usuario entre sus procesos LISTOS. Si el mismo proceso vuelve
+ * a ganar enseguida, sigue en la CPU sin nuevo despacho.
+ * <p>
+ * Las colas por usuario y el anillo de usuarios con trabajo los mantiene
+ * ColaUsuarios a medida que cambian los estados, así que elegir es O(1) con
+ * cualquier cantidad de usuarios y procesos. Con pesos, cada usuario se queda
+ * tantos ticks seguidos por ronda como su peso: recibe una parte de la CPU
+ * proporcional a él mientras tenga procesos LISTOS.
+ * </p>
+ */
+public class ParticipacionEquitativa implements PoliticaPlanificacion {
+
+    /** Con más usuarios que esto, al iniciar sólo se anuncia cuántos son. */
+    private static final int USUARIOS_A_MOSTRAR = 10;
+
+    private final Map<String, Integer> pesos;
+
+    private ColaUsuarios listos;
+
+    /** Todos los usuarios con el mismo peso. */
+    public ParticipacionEquitativa() {
+        this(Collections.emptyMap());
+    }
+
+    /**
+     * @param pesos Ticks seguidos por ronda de cada usuario (ver
+     *              ColaUsuarios.leerPesos); los que no figuran pesan 1.
+     */
+    public ParticipacionEquitativa(Map<String, Integer> pesos) {
+        this.pesos = pesos;
+    }
+
+    @Override
+    public void iniciar(Simulacion sim, PCB pcb) {
+        // Agrupa a los LISTOS por usuario; el PCB le avisa de cada cambio de estado
+        listos = new ColaUsuarios(pcb, pesos);
+
+        List<String> usuarios = listos.getUsuarios();
+        sim.getEventos().mensaje("\n=== Participación Equitativa ===");
+        sim.getEventos().mensaje("Usuarios: "
+                + (usuarios.size() <= USUARIOS_A_MOSTRAR ? usuarios.toString() : usuarios.size() + " usuarios")
+                + (pesos.isEmpty() ? "" : " | Pesos: " + pesos.size() + " usuarios con peso propio") + "\n");
+    }
+
     @Override
-    public void ejecutar(Simulacion sim, GestorProcesos gp, GestorInterrupciones gi) {
-        
-        List<Proceso> procesos = gp.getPcb().obtenerProcesos();
-        Proceso procesoAnterior = null;
-        
-        // Agrupar procesos por usuario
-        Map<String, List<Proceso>> mapaUsuarios = new HashMap<>();
-        for (Proceso p : procesos) {
-            mapaUsuarios.putIfAbsent(p.getUsuario(), new ArrayList<>());
-            mapaUsuarios.get(p.getUsuario()).add(p);
-        }
-        
-        List<String> usuarios = new ArrayList<>(mapaUsuarios.keySet());
-        int indiceUsuario = 0;
-        Map<String, Integer> indiceProceso = new HashMap<>();
-        for (String u : usuarios) {
-            indiceProceso.put(u, 0);
-        }
-        
-        System.out.println("\n=== Participación Equitativa ===");
-        System.out.println("Usuarios: " + usuarios + "\n");
-        pausa();
-        
-        while (sim.tiempoActual < sim.tiempoMonitoreo) {
-            
-            // Buscar siguiente usuario con procesos activos
-            int intentos = 0;
-            while (intentos < usuarios.size()) {
-                String usuario = usuarios.get(indiceUsuario);
-                List<Proceso> activos = new ArrayList<>();
-                for (Proceso p : mapaUsuarios.get(usuario)) {
-                    if (p.getEstado() != EstadoProceso.TERMINADO) {
-                        activos.add(p);
-                    }
-                }
-                if (!activos.isEmpty()) break;
-                indiceUsuario = (indiceUsuario + 1) % usuarios.size();
-                intentos++;
-            }
-            
-            if (intentos == usuarios.size()) break;
-            
-            // Seleccionar proceso del usuario actual (round-robin)
-            String usuario = usuarios.get(indiceUsuario);
-            List<Proceso> listos = new ArrayList<>();
-            for (Proceso p : mapaUsuarios.get(usuario)) {
-                if (p.getEstado() == EstadoProceso.LISTO) {
-                    listos.add(p);
-                }
-            }
-            
-            if (listos.isEmpty()) {
-                indiceUsuario = (indiceUsuario + 1) % usuarios.size();
-                continue;
-            }
-            
-            int idx = indiceProceso.get(usuario) % listos.size();
-            Proceso proceso = listos.get(idx);
-            indiceProceso.put(usuario, idx + 1);
-            
-            if (proceso.getEstado() == EstadoProceso.BLOQUEADO) {
-                gi.intentarDesbloquear(proceso);
-                indiceUsuario = (indiceUsuario + 1) % usuarios.size();
-                continue;
-            }
-            
-            // Ejecutar 1 unidad (turno equitativo)
-            proceso.setEstado(EstadoProceso.EN_EJECUCION);
-            System.out.println("[t=" + sim.tiempoActual + "] " + usuario + " → P" + proceso.getId());
-            
-            proceso.setTiempoRestante(proceso.getTiempoRestante() - 1);
-            proceso.setTiempoUsoCPU(proceso.getTiempoUsoCPU() + 1);
-            sim.incrementarTiempo();
-            
-            if (proceso != procesoAnterior) {
-                proceso.setVecesUsoCPU(proceso.getVecesUsoCPU() + 1);
-                sim.registrarCambioContexto();
-            }
-            procesoAnterior = proceso;
-            
-            if (proceso.getTiempoRestante() == 0) {
-                proceso.setEstado(EstadoProceso.TERMINADO);
-                System.out.println("  → P" + proceso.getId() + " TERMINADO");
-            } else {
-                proceso.setEstado(EstadoProceso.LISTO);
-            }
-            
-            indiceUsuario = (indiceUsuario + 1) % usuarios.size();
-            
-            gp.getPcb().mostrarTabla();
-            pausa();
-        }
+    public void terminar(PCB pcb) {
+        pcb.desuscribir(listos);
     }
-    
-    private void pausa() {
-        try {
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+
+    @Override
+    public Proceso elegir() {
+        // null: nadie LISTO, sólo un evento agendado puede traer trabajo
+        return listos.siguiente();
+    }
+
+    @Override
+    public int turno(Proceso p) {
+        // 1 unidad por turno (turno equitativo)
+        return 1;
+    }
+
+    @Override
+    public boolean despiertaBloqueados() {
+        // Aquí nadie despierta a los bloqueados: sólo los eventos agendados
+        return false;
+    }
+
+    @Override
+    public boolean continuaSiRepite() {
+        return true;
     }
 }
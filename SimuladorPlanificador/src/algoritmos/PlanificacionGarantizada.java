@@ -1,91 +1,57 @@
 package algoritmos;
 
 import clases.*;
-import java.util.List;
+import java.util.Collection;
+import java.util.SplittableRandom;
 
-public class PlanificacionGarantizada implements AlgoritmosPlanificacion {
+public class PlanificacionGarantizada implements PoliticaPlanificacion {
 
-    @Override
-    public void ejecutar(Simulacion sim, GestorProcesos gp, GestorInterrupciones gi) {
-        System.out.println("\n--- [INICIO] Planificación Garantizada ---");
-        System.out.println("    Quantum: " + sim.quantum + " ticks");
-
-        while (sim.iteracionValida()) {
-            System.out.println("\n[Tick " + sim.tiempoActual + "]");
-
-            List<Proceso> todos = gp.getPcb().obtenerProcesos();
-
-            // 1. Intentar despertar bloqueados
-            for (Proceso p : todos) {
-                if (p.getEstado() == EstadoProceso.BLOQUEADO) {
-                    gi.intentarDesbloquear(p);
-                }
-            }
-
-            // 2. Obtener listos con obtenerProcesosListos() del PCB
-            List<Proceso> listos = gp.getPcb().obtenerProcesosListos();
-
-            if (listos.isEmpty()) {
-                System.out.println("  -> [IDLE] No hay procesos listos.");
-                sim.incrementarTiempo();
-                continue;
-            }
-
-            // 3. Calcular derecho (1/n) y proporcion de cada proceso
-            int n = listos.size();
-            double derecho = 1.0 / n;
-
-            for (Proceso p : listos) {
-                p.setCpuDerecho(derecho);
-                p.setProporcion(p.getTiempoUsoCPU() / derecho);
-            }
-
-            // 4. Elegir el de MENOR proporcion (el más desfavorecido)
-            Proceso elegido = listos.stream()
-                    .min((a, b) -> Double.compare(a.getProporcion(), b.getProporcion()))
-                    .orElse(null);
-
-            System.out.println("  -> [DESPACHO] P" + elegido.getId()
-                    + " | Proporción=" + String.format("%.2f", elegido.getProporcion())
-                    + " | Derecho=1/" + n);
-
-            // 5. Entra a CPU
-            elegido.setEstado(EstadoProceso.EN_EJECUCION);
-            elegido.setVecesUsoCPU(elegido.getVecesUsoCPU() + 1);
-            sim.registrarCambioContexto();
+    private Simulacion sim;
+    private SplittableRandom random;
+    private PCB pcb;
 
-            // 6. Validar si se bloquea (aviso profe: entra -> valida -> ejecuta)
-            if (elegido.getTiempoRestante() > 1 && Math.random() < 0.3) {
-                elegido.setEstado(EstadoProceso.BLOQUEADO);
-                System.out.println("  -> [I/O] P" + elegido.getId() + " se bloqueó.");
-                sim.incrementarTiempo();
-                continue;
-            }
+    @Override
+    public void iniciar(Simulacion sim, PCB pcb) {
+        this.sim = sim;
+        this.random = sim.flujo("PlanificacionGarantizada");
+        this.pcb = pcb;
+        sim.getEventos().mensaje("\n--- [INICIO] Planificación Garantizada ---");
+        sim.getEventos().mensaje("    Quantum: " + sim.quantum + " ticks");
+    }
 
-            // 7. Ejecutar sim.quantum ticks
-            for (int q = 0; q < sim.quantum && sim.iteracionValida()
-                    && elegido.getTiempoRestante() > 0; q++) {
+    @Override
+    public Proceso elegir() {
+        // Listos: vista del índice de LISTOS del PCB (sin copiar)
+        Collection<Proceso> listos = pcb.procesosEn(EstadoProceso.LISTO);
+        if (listos.isEmpty()) {
+            return null;
+        }
 
-                elegido.setTiempoRestante(elegido.getTiempoRestante() - 1);
-                elegido.setTiempoUsoCPU(elegido.getTiempoUsoCPU() + 1);
-                System.out.println("  -> [EJECUTANDO] P" + elegido.getId()
-                        + " | Restante=" + elegido.getTiempoRestante()
-                        + " | TiempoUsoCPU=" + elegido.getTiempoUsoCPU());
-                sim.incrementarTiempo();
-            }
+        // Calcular derecho (1/n) y proporcion de cada proceso
+        double derecho = 1.0 / listos.size();
+        for (Proceso p : listos) {
+            p.setCpuDerecho(derecho);
+            p.setProporcion(p.getTiempoUsoCPU() / derecho);
+        }
 
-            // 8. ¿Terminó?
-            if (elegido.getTiempoRestante() <= 0) {
-                elegido.forzarTerminacion();
-                System.out.println("  -> [FIN] P" + elegido.getId() + " terminó.");
-            } else {
-                elegido.setEstado(EstadoProceso.LISTO);
-                System.out.println("  -> [QUANTUM] P" + elegido.getId() + " regresa a cola.");
+        // Elegir el de MENOR proporcion (el más desfavorecido; en empate, el primero)
+        Proceso elegido = null;
+        for (Proceso p : listos) {
+            if (elegido == null || p.getProporcion() < elegido.getProporcion()) {
+                elegido = p;
             }
-
-            gp.getPcb().mostrarTabla();
         }
+        return elegido;
+    }
+
+    @Override
+    public int turno(Proceso p) {
+        return sim.quantum;
+    }
 
-        System.out.println("\n--- [FIN] Simulación Finalizada ---");
+    @Override
+    public int tickDeBloqueo(Proceso p, int turno) {
+        // Validar si se bloquea (aviso profe: entra -> valida -> ejecuta)
+        return p.getTiempoRestante() > 1 && random.nextDouble() < 0.3 ? 0 : SIN_BLOQUEO;
     }
-}
\ No newline at end of file
+}
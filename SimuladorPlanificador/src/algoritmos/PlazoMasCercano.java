@@ -0,0 +1,84 @@
+package algoritmos;
+
+import clases.*;
+import java.util.SplittableRandom;
+
+/**
+ * Planificación por Plazo Más Cercano (Earliest Deadline First), apropiativa.
+ * <p>
+ * Los LISTOS esperan en un MonticuloProcesos ordenado por vencimiento
+ * (llegada + plazo, ver Proceso.getVencimiento): en cada quantum se despacha
+ * al que vence antes. Si llega uno que vence antes (un evento agendado, como
+ * las llegadas de una traza), el turno se corta en ese instante y le cede la
+ * CPU, como en Monótona en Frecuencia; uno que despierta de su I/O espera al
+ * fin del quantum. Si el que corría sigue siendo el más urgente continúa sin
+ * un nuevo despacho. Los procesos sin plazo van detrás de todos los que
+ * tienen, por orden de llegada a LISTO (igual que los empates de
+ * vencimiento).
+ * </p>
+ * <p>
+ * No es el EDF ideal: sigue el mismo modelo de I/O que las demás
+ * apropiativas (30 % de bloquearse al tomar la CPU) y los desbloqueos se
+ * atienden al cerrar el quantum, así que aun con la demanda por debajo de la
+ * capacidad puede incumplir plazos. En sobrecarga no descarta a nadie y los
+ * atrasos se encadenan (ver la sección de plazos de ReporteFinal).
+ * </p>
+ */
+public class PlazoMasCercano implements PoliticaPlanificacion {
+
+    private Simulacion sim;
+    private SplittableRandom random;
+
+    /** LISTOS ordenados por vencimiento. */
+    private MonticuloProcesos listos;
+
+    @Override
+    public void iniciar(Simulacion sim, PCB pcb) {
+        this.sim = sim;
+        this.random = sim.flujo("PlazoMasCercano");
+        sim.getEventos().mensaje("\n--- [INICIO] Plazo Más Cercano (EDF) Apropiativo ---");
+        sim.getEventos().mensaje("    Quantum: " + sim.quantum + " ticks");
+
+        listos = new MonticuloProcesos(pcb.contarEn(EstadoProceso.LISTO));
+        for (Proceso p : pcb.procesosEn(EstadoProceso.LISTO)) {
+            listos.agregar(p, p.getVencimiento());
+        }
+    }
+
+    @Override
+    public Proceso elegir() {
+        return listos.extraerMinimo();
+    }
+
+    @Override
+    public int turno(Proceso p) {
+        return sim.quantum;
+    }
+
+    @Override
+    public void alListo(Proceso p, EstadoProceso anterior) {
+        listos.agregar(p, p.getVencimiento());
+    }
+
+    @Override
+    public boolean expropia(Proceso p) {
+        Proceso urgente = listos.verMinimo();
+        return urgente != null && urgente.getVencimiento() < p.getVencimiento();
+    }
+
+    @Override
+    public int tickDeBloqueo(Proceso p, int turno) {
+        // Con 30 % de probabilidad pide I/O apenas toma la CPU (nunca en su último tick)
+        return p.getTiempoRestante() > 1 && random.nextDouble() < 0.3 ? 0 : SIN_BLOQUEO;
+    }
+
+    @Override
+    public boolean cortaEnEventos() {
+        return true;
+    }
+
+    @Override
+    public boolean continuaSiRepite() {
+        return true;
+    }
+}
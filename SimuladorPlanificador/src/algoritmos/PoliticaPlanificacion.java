@@ -0,0 +1,197 @@
+package algoritmos;
+
+import clases.*;
+
+/**
+ * Lo que distingue a un algoritmo de un solo procesador: a quién despachar y
+ * cuánto dejarlo correr. El ciclo (despertar bloqueados, despachar, correr,
+ * expropiar, terminar, reloj y eventos) lo pone MotorPlanificacion, el mismo
+ * para todas las políticas, así que lo que se optimiza ahí lo aprovechan todas.
+ * <p>
+ * Una política sólo implementa iniciar(), elegir() y turno(); el resto de los
+ * ganchos tiene el comportamiento más común por defecto. ejecutar() ya viene
+ * resuelto: corre la política sobre el motor.
+ * </p>
+ * <p>
+ * Forma de cada turno: el motor saca de elegir() al siguiente proceso (que
+ * debe estar LISTO), lo despacha, le pregunta turno() y tickDeBloqueo() y lo
+ * deja correr hasta que termina su ráfaga, pide I/O o agota el turno. Por
+ * defecto el turno se corre de un solo salto de reloj y el proceso vuelve a
+ * LISTO (expropiación); con cortaEnEventos() el proceso conserva la CPU entre
+ * vueltas y cada tramo llega sólo hasta el siguiente evento agendado.
+ * </p>
+ */
+public interface PoliticaPlanificacion extends AlgoritmosPlanificacion {
+
+    /** Resultado de tickDeBloqueo() cuando el proceso no pide I/O en el turno. */
+    int SIN_BLOQUEO = Integer.MAX_VALUE;
+
+    @Override
+    default void ejecutar(Simulacion sim, GestorProcesos gp, GestorInterrupciones gi) {
+        new MotorPlanificacion(this).ejecutar(sim, gp, gi);
+    }
+
+    // =========================================================================
+    // CICLO DE VIDA
+    // =========================================================================
+
+    /**
+     * Arma las colas de la política sobre el PCB y anuncia el algoritmo. Se
+     * llama una vez, antes de la primera vuelta.
+     *
+     * @param sim Reloj, quantum, eventos y flujos aleatorios de la corrida.
+     * @param pcb Bloque de control de la corrida.
+     */
+    void iniciar(Simulacion sim, PCB pcb);
+
+    /**
+     * Suelta lo que iniciar() haya suscrito al PCB. Por defecto no hace nada.
+     *
+     * @param pcb Bloque de control de la corrida.
+     */
+    default void terminar(PCB pcb) {
+    }
+
+    // =========================================================================
+    // SELECCIÓN (pick-next)
+    // =========================================================================
+
+    /**
+     * Saca de las colas de la política al siguiente proceso a despachar.
+     *
+     * @return Un proceso LISTO, o null si no hay a quién despachar (la CPU
+     *         queda inactiva).
+     */
+    Proceso elegir();
+
+    /**
+     * Ticks de CPU que le tocan al proceso recién elegido (el quantum, la
+     * ráfaga completa en las no apropiativas, etc.).
+     *
+     * @param p Proceso elegido, todavía sin despachar.
+     * @return Largo del turno, al menos 1.
+     */
+    int turno(Proceso p);
+
+    /**
+     * Con cortaEnEventos(), se consulta cada vez que un tramo se corta en un
+     * evento agendado y el proceso todavía tiene turno: true para expropiarlo
+     * en ese instante (vuelve a LISTO y se elige de nuevo), por ejemplo si el
+     * evento liberó a uno más prioritario. Por defecto false: conserva la CPU
+     * hasta agotar el turno.
+     *
+     * @param p Proceso en CPU (todavía EN_EJECUCION).
+     * @return true para expropiarlo.
+     */
+    default boolean expropia(Proceso p) {
+        return false;
+    }
+
+    // =========================================================================
+    // AVISOS
+    // =========================================================================
+
+    /**
+     * on-ready: un proceso entra a LISTO (llegada, desbloqueo o expropiación).
+     * Las colas que ya observan al PCB no lo necesitan. Por defecto nada.
+     *
+     * @param p        Proceso.
+     * @param anterior Estado del que viene (null si acaba de llegar).
+     */
+    default void alListo(Proceso p, EstadoProceso anterior) {
+    }
+
+    /**
+     * on-block: un proceso pasa a BLOQUEADO. Por defecto nada.
+     *
+     * @param p Proceso.
+     */
+    default void alBloquearse(Proceso p) {
+    }
+
+    /**
+     * Contabiliza un despacho (ya en EN_EJECUCION, antes del evento). Por
+     * defecto suma un uso de CPU al proceso y un cambio de contexto.
+     *
+     * @param p   Proceso despachado.
+     * @param sim Simulación (contador de cambios de contexto).
+     */
+    default void alDespachar(Proceso p, Simulacion sim) {
+        p.setVecesUsoCPU(p.getVecesUsoCPU() + 1);
+        sim.registrarCambioContexto();
+    }
+
+    /**
+     * Se llama justo después de despachar: tick del turno en el que el proceso
+     * pide I/O y se bloquea (0 = antes de correr).
+     *
+     * @param p     Proceso despachado.
+     * @param turno Largo de su turno.
+     * @return El tick, o SIN_BLOQUEO (por defecto).
+     */
+    default int tickDeBloqueo(Proceso p, int turno) {
+        return SIN_BLOQUEO;
+    }
+
+    /**
+     * Después de cada tramo de CPU de un turno (incluso de 0 ticks, si se
+     * bloqueó al entrar). Por defecto nada.
+     *
+     * @param p     Proceso que corrió.
+     * @param ticks Ticks que corrió en el tramo.
+     * @param sim   Simulación de la corrida.
+     */
+    default void despuesDeCorrer(Proceso p, int ticks, Simulacion sim) {
+    }
+
+    /**
+     * on-quantum-end: el proceso agotó su turno sin terminar ni bloquearse y
+     * está por volver a LISTO (todavía EN_EJECUCION). Por defecto nada.
+     *
+     * @param p   Proceso expropiado.
+     * @param sim Simulación de la corrida.
+     */
+    default void finDeQuantum(Proceso p, Simulacion sim) {
+    }
+
+    // =========================================================================
+    // FORMA DEL CICLO
+    // =========================================================================
+
+    /**
+     * @return true (por defecto) si el GestorInterrupciones atiende la I/O de
+     *         los BLOQUEADOS (despiertan cuando vence); si no, sólo despiertan
+     *         por eventos agendados.
+     */
+    default boolean despiertaBloqueados() {
+        return true;
+    }
+
+    /**
+     * @return true si el turno se corta en cada evento agendado (el proceso
+     *         sigue EN_EJECUCION y continúa en la vuelta siguiente, después de
+     *         despertar bloqueados); false (por defecto) para correr el turno
+     *         de un solo salto y devolver el proceso a LISTO al terminarlo.
+     */
+    default boolean cortaEnEventos() {
+        return false;
+    }
+
+    /**
+     * @return true si la CPU que se libera se entrega en el mismo instante,
+     *         antes de la siguiente vuelta (Round Robin); false (por defecto)
+     *         para elegir al principio de la vuelta siguiente.
+     */
+    default boolean redespachaAlSoltar() {
+        return false;
+    }
+
+    /**
+     * @return true si el fin de turno es silencioso: el proceso vuelve a LISTO
+     *         sin evento de expropiación, y si se lo vuelve a elegir enseguida
+     *         sigue en la CPU sin nuevo despacho ni cambio de contexto.
+     */
+    default boolean continuaSiRepite() {
+        return false;
+    }
+}
@@ -1,9 +1,7 @@
 package algoritmos;
 
 import clases.*;
-import java.util.List;
-import java.util.Optional;
-import java.util.Comparator;
+import java.util.SplittableRandom;
 
 /**
  * Planificación Apropiativa basada en Prioridades.
@@ -14,77 +12,42 @@ import java.util.Comparator;
  * es expropiado.
  * </p>
  */
-public class PrioridadesAprop implements AlgoritmosPlanificacion {
+public class PrioridadesAprop implements PoliticaPlanificacion {
 
-    @Override
-    public void ejecutar(Simulacion sim, GestorProcesos gp, GestorInterrupciones gi) {
-        System.out.println("\n--- [INICIO] Prioridades Apropiativo ---");
-        System.out.println("    Quantum: " + sim.quantum + " ticks");
-
-        while (sim.iteracionValida()) {
-            System.out.println("\n[Tick " + sim.tiempoActual + "]");
-
-            List<Proceso> todos = gp.getPcb().obtenerProcesos();
-
-            // 1. Intentar despertar bloqueados
-            for (Proceso p : todos) {
-                if (p.getEstado() == EstadoProceso.BLOQUEADO) {
-                    gi.intentarDesbloquear(p);
-                }
-            }
-
-            // 2. Elegir LISTO con mayor prioridad usando obtenerProcesosListos() del PCB
-            Proceso elegido = gp.getPcb().obtenerProcesosListos()
-                    .stream()
-                    .max(Comparator.comparingInt(Proceso::getPrioridad))
-                    .orElse(null);
-
-            if (elegido == null) {
-                System.out.println("  -> [IDLE] No hay procesos listos.");
-                sim.incrementarTiempo();
-                continue;
-            }
-
-            System.out.println("  -> [DESPACHO] P" + elegido.getId()
-                    + " entra a CPU (Prio=" + elegido.getPrioridad() + ")");
-
-            // 3. Entra a CPU
-            elegido.setEstado(EstadoProceso.EN_EJECUCION);
-            elegido.setVecesUsoCPU(elegido.getVecesUsoCPU() + 1);
-            sim.registrarCambioContexto();
-
-            // 4. Validar si se bloquea (aviso profe: entra -> valida -> ejecuta)
-            if (elegido.getTiempoRestante() > 1 && Math.random() < 0.3) {
-                elegido.setEstado(EstadoProceso.BLOQUEADO);
-                System.out.println("  -> [I/O] P" + elegido.getId() + " se bloqueó.");
-                sim.incrementarTiempo();
-                continue;
-            }
+    private Simulacion sim;
+    private SplittableRandom random;
+    private ColaPrioridad listos;
 
-            // 5. Ejecutar sim.quantum ticks
-            for (int q = 0; q < sim.quantum && sim.iteracionValida()
-                    && elegido.getTiempoRestante() > 0; q++) {
+    @Override
+    public void iniciar(Simulacion sim, PCB pcb) {
+        this.sim = sim;
+        this.random = sim.flujo("PrioridadesAprop");
+        sim.getEventos().mensaje("\n--- [INICIO] Prioridades Apropiativo ---");
+        sim.getEventos().mensaje("    Quantum: " + sim.quantum + " ticks");
+
+        // Cola de LISTOS por prioridad; el PCB le avisa de cada cambio de estado
+        listos = new ColaPrioridad(pcb);
+    }
 
-                elegido.setTiempoRestante(elegido.getTiempoRestante() - 1);
-                elegido.setTiempoUsoCPU(elegido.getTiempoUsoCPU() + 1);
-                System.out.println("  -> [EJECUTANDO] P" + elegido.getId()
-                        + " | Prio=" + elegido.getPrioridad()
-                        + " | Restante=" + elegido.getTiempoRestante());
-                sim.incrementarTiempo();
-            }
+    @Override
+    public void terminar(PCB pcb) {
+        pcb.desuscribir(listos);
+    }
 
-            // 6. ¿Terminó?
-            if (elegido.getTiempoRestante() <= 0) {
-                elegido.forzarTerminacion();
-                System.out.println("  -> [FIN] P" + elegido.getId() + " terminó.");
-            } else {
-                elegido.setEstado(EstadoProceso.LISTO);
-                System.out.println("  -> [QUANTUM] P" + elegido.getId() + " regresa a cola.");
-            }
+    @Override
+    public Proceso elegir() {
+        // La cima de la cola (en empate gana el que lleva más tiempo LISTO)
+        return listos.verMaximo();
+    }
 
-            gp.getPcb().mostrarTabla();
-        }
+    @Override
+    public int turno(Proceso p) {
+        return sim.quantum;
+    }
 
-        System.out.println("\n--- [FIN] Simulación Finalizada ---");
+    @Override
+    public int tickDeBloqueo(Proceso p, int turno) {
+        // Validar si se bloquea (aviso profe: entra -> valida -> ejecuta)
+        return p.getTiempoRestante() > 1 && random.nextDouble() < 0.3 ? 0 : SIN_BLOQUEO;
     }
 }
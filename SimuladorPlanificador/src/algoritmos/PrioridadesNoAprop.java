@@ -1,102 +1,120 @@
 package algoritmos;
 
 import clases.*;
-import java.util.List;
-import java.util.ArrayList;
-import java.util.Map;
-import java.util.HashMap;
+import java.util.Arrays;
+
+/**
+ * Planificación por Prioridades No Apropiativa con envejecimiento (aging): en
+ * cada despacho, todo proceso LISTO gana un punto de prioridad por cada 3
+ * despachos ("ciclos") que lleva esperando.
+ * <p>
+ * El aging es perezoso: no se recorre a los LISTOS en cada ciclo. Un proceso
+ * que entra a LISTO con prioridad P en el ciclo c tiene, en el ciclo k,
+ * prioridad P + (k - c) / 3 = (3P - c + k) / 3, así que la clave 3P - c
+ * queda fija mientras espera. Dos claves con el mismo resto módulo 3 dan
+ * siempre el mismo orden de prioridades envejecidas (con claves distintas
+ * gana siempre la mayor), pero con restos distintos pueden empatar aunque las claves
+ * difieran. Por eso los LISTOS esperan en tres MonticuloProcesos, uno por
+ * resto, cada uno por clave y orden de entrada; elegir compara sólo las tres
+ * cimas y cuesta O(log n). Gana la mayor prioridad envejecida y, ante
+ * prioridades iguales, el que entró antes a LISTO (FIFO). Al elegido se le
+ * asigna la prioridad que alcanzó; las de los que siguen esperando no se
+ * actualizan hasta que los eligen.
+ * </p>
+ */
+public class PrioridadesNoAprop implements PoliticaPlanificacion {
+
+    /** Ciclos de espera por punto de prioridad. */
+    private static final int CICLOS_POR_PUNTO = 3;
+
+    /** LISTOS por resto de su clave módulo 3, por clave negada (sale la mayor). */
+    private MonticuloProcesos[] listos;
+
+    /** Clave 3P - c de cada proceso LISTO, por ID. */
+    private long[] claves;
+
+    /** Orden de entrada a LISTO de cada proceso LISTO, por ID. */
+    private long[] entradas;
+    private long secuencia;
+
+    /** Despachos hechos (ciclos de aging). */
+    private long ciclos;
 
-public class PrioridadesNoAprop implements AlgoritmosPlanificacion {
-    
     @Override
-    public void ejecutar(Simulacion sim, GestorProcesos gp, GestorInterrupciones gi) {
-        
-        List<Proceso> procesos = gp.getPcb().obtenerProcesos();
-        Map<Integer, Integer> esperaPorID = new HashMap<>();
-        
-        for (Proceso p : procesos) {
-            esperaPorID.put(p.getId(), 0);
+    public void iniciar(Simulacion sim, PCB pcb) {
+        ciclos = 0;
+        secuencia = 0;
+        claves = new long[Math.max(16, pcb.obtenerProcesos().size() + 1)];
+        entradas = new long[claves.length];
+        listos = new MonticuloProcesos[CICLOS_POR_PUNTO];
+        for (int r = 0; r < CICLOS_POR_PUNTO; r++) {
+            listos[r] = new MonticuloProcesos(pcb.contarEn(EstadoProceso.LISTO) / CICLOS_POR_PUNTO);
         }
-        
-        System.out.println("\n=== Prioridades NO APROPIATIVO | Aging cada 3 ciclos ===\n");
-        pausa();
-        
-        while (sim.tiempoActual < sim.tiempoMonitoreo) {
-            
-            // Encontrar procesos LISTOS
-            List<Proceso> candidatos = new ArrayList<>();
-            for (Proceso p : procesos) {
-                if (p.getEstado() == EstadoProceso.LISTO) {
-                    candidatos.add(p);
-                }
-            }
-            
-            if (candidatos.isEmpty()) {
-                System.out.println("[t=" + sim.tiempoActual + "] CPU inactiva.");
-                sim.incrementarTiempo();
-                pausa();
-                continue;
-            }
-            
-            // AGING: si llevan 3 ciclos esperando, aumentar su prioridad
-            for (Proceso p : candidatos) {
-                int espera = esperaPorID.get(p.getId()) + 1;
-                esperaPorID.put(p.getId(), espera);
-                
-                if (espera % 3 == 0) {
-                    p.setPrioridad(p.getPrioridad() + 1);
-                    System.out.println("  [Aging] P" + p.getId() + " prioridad=" + p.getPrioridad());
-                }
-            }
-            
-            // Seleccionar el de MAYOR prioridad (en empate, menor ID)
-            Proceso proceso = null;
-            for (Proceso p : candidatos) {
-                if (proceso == null || 
-                    p.getPrioridad() > proceso.getPrioridad() ||
-                    (p.getPrioridad() == proceso.getPrioridad() && p.getId() < proceso.getId())) {
-                    proceso = p;
-                }
-            }
-            
-            esperaPorID.put(proceso.getId(), 0);
-            
-            if (proceso.getEstado() == EstadoProceso.BLOQUEADO) {
-                gi.intentarDesbloquear(proceso);
+        for (Proceso p : pcb.procesosEn(EstadoProceso.LISTO)) {
+            encolar(p);
+        }
+
+        sim.getEventos().mensaje("\n=== Prioridades NO APROPIATIVO | Aging cada 3 ciclos ===\n");
+    }
+
+    @Override
+    public void alListo(Proceso p, EstadoProceso anterior) {
+        encolar(p);
+    }
+
+    @Override
+    public Proceso elegir() {
+        // Nuevo ciclo: todos los que esperan envejecen; la cima de cada resto
+        // es su mayor prioridad envejecida (y la primera en entrar entre iguales)
+        long ciclo = ciclos + 1;
+        int mejor = -1;
+        long mejorPrioridad = 0;
+        long mejorEntrada = 0;
+        for (int r = 0; r < CICLOS_POR_PUNTO; r++) {
+            Proceso cima = listos[r].verMinimo();
+            if (cima == null) {
                 continue;
             }
-            
-            // Ejecutar sin apropiación (completo)
-            proceso.setEstado(EstadoProceso.EN_EJECUCION);
-            System.out.println("[t=" + sim.tiempoActual + "] P" + proceso.getId() +
-                    " (prioridad=" + proceso.getPrioridad() + ") corre hasta finalizar");
-            
-            while (proceso.getTiempoRestante() > 0 && sim.tiempoActual < sim.tiempoMonitoreo) {
-                proceso.setTiempoRestante(proceso.getTiempoRestante() - 1);
-                proceso.setTiempoUsoCPU(proceso.getTiempoUsoCPU() + 1);
-                sim.incrementarTiempo();
-            }
-            
-            proceso.setVecesUsoCPU(proceso.getVecesUsoCPU() + 1);
-            sim.registrarCambioContexto();
-            
-            if (proceso.getTiempoRestante() == 0) {
-                proceso.setEstado(EstadoProceso.TERMINADO);
-                System.out.println("  → P" + proceso.getId() + " TERMINADO");
-            } else {
-                proceso.setEstado(EstadoProceso.LISTO);
+            long prioridad = Math.floorDiv(claves[cima.getId()] + ciclo, CICLOS_POR_PUNTO);
+            long entrada = entradas[cima.getId()];
+            if (mejor < 0 || prioridad > mejorPrioridad
+                    || (prioridad == mejorPrioridad && entrada < mejorEntrada)) {
+                mejor = r;
+                mejorPrioridad = prioridad;
+                mejorEntrada = entrada;
             }
-            
-            gp.getPcb().mostrarTabla();
-            pausa();
         }
+        if (mejor < 0) {
+            return null;
+        }
+        ciclos = ciclo;
+        Proceso proceso = listos[mejor].extraerMinimo();
+        proceso.setPrioridad((int) mejorPrioridad);
+        return proceso;
     }
-    
-    private void pausa() {
-        try {
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+
+    @Override
+    public int turno(Proceso p) {
+        // Ejecutar sin apropiación (completo)
+        return p.getTiempoRestante();
+    }
+
+    @Override
+    public boolean despiertaBloqueados() {
+        // Aquí nadie despierta a los bloqueados: sólo los eventos agendados
+        return false;
+    }
+
+    /** Entra a LISTO en el ciclo actual con su prioridad de ahora. */
+    private void encolar(Proceso p) {
+        int id = p.getId();
+        if (id >= claves.length) {
+            int nuevo = Math.max(id + 1, claves.length * 2);
+            claves = Arrays.copyOf(claves, nuevo);
+            entradas = Arrays.copyOf(entradas, nuevo);
         }
+        claves[id] = (long) CICLOS_POR_PUNTO * p.getPrioridad() - ciclos;
+        entradas[id] = secuencia++;
+        listos[Math.floorMod(claves[id], CICLOS_POR_PUNTO)].agregar(p, -claves[id]);
     }
 }
@@ -0,0 +1,175 @@
+package algoritmos;
+
+import clases.*;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Planificación por Zancadas (Stride Scheduling), la versión determinista de
+ * la Lotería.
+ *
+ * Cada proceso tiene una "zancada" inversamente proporcional a sus boletos
+ * (ZANCADA_BASE / boletos) y un "pase" que avanza una zancada por cada tick
+ * que corre. En cada iteración:
+ * 1. Los LISTOS esperan en un montículo de mínimos ordenado por pase
+ * (MonticuloProcesos): elegir cuesta O(log n).
+ * 2. Se despacha al de menor pase, por un quantum.
+ * 3. Al correr, su pase avanza zancada x ticks: el que tiene el doble de
+ * boletos avanza la mitad y vuelve a ser elegido el doble de veces.
+ * 4. Es apropiativo: al agotar el quantum vuelve al montículo.
+ *
+ * A diferencia de la Lotería, el reparto no es sólo proporcional en promedio:
+ * el error de cada proceso frente a su parte justa queda acotado en vez de
+ * crecer con la raíz de los turnos (ver ErrorReparto).
+ *
+ * Entradas y salidas a mitad de corrida siguen a Waldspurger: un pase global
+ * avanza como el de un proceso con todos los boletos que compiten (LISTOS y
+ * el que está en CPU). Al bloquearse o terminar, el proceso guarda cuánto le
+ * faltaba respecto del pase global, y al volver retoma desde el pase global
+ * más ese resto; el que llega por primera vez arranca una zancada adelante.
+ * Así nadie acumula crédito mientras no compite. Los boletos se leen al
+ * entrar a competir: un cambio mientras compite rige desde que vuelva a
+ * entrar.
+ *
+ * Los pases son de 64 bits: con ZANCADA_BASE = 2^30 avanzan a lo sumo 2^30
+ * por tick, así que aun en 2^31 ticks no pasan de 2^61 y no desbordan. El
+ * pase global avanza ZANCADA_BASE / boletos compitiendo, que con millones de
+ * boletos es menos de mil por tick: para que no se trabe ni derive, la parte
+ * entera de cada avance se suma y el resto de la división se arrastra al
+ * siguiente (reescalado si cambian los boletos que compiten).
+ */
+public class Zancadas implements PoliticaPlanificacion {
+
+    /** Zancada de un proceso con 1 boleto (y pase global por tick con 1 boleto compitiendo). */
+    private static final long ZANCADA_BASE = 1L << 30;
+
+    /** Resto de un proceso que nunca compitió. */
+    private static final long SIN_RESTO = Long.MIN_VALUE;
+
+    private Simulacion sim;
+    private SplittableRandom random;
+
+    /** LISTOS ordenados por pase. */
+    private MonticuloProcesos listos;
+
+    /** Pase de cada proceso (por id). */
+    private long[] pases;
+
+    /** Pase que le faltaba respecto del global al dejar de competir (por id). */
+    private long[] restos;
+
+    /** Boletos con los que entró a competir (por id), para descontar los mismos al salir. */
+    private int[] boletos;
+
+    /** Pase global: avanza ZANCADA_BASE / boletosCompitiendo por tick corrido. */
+    private long paseGlobal;
+
+    /** Resto de la división del último avance del pase global (en 1/boletosCompitiendo). */
+    private long restoGlobal;
+
+    /** Boletos de los que compiten: LISTOS más el que está en CPU. */
+    private long boletosCompitiendo;
+
+    @Override
+    public void iniciar(Simulacion sim, PCB pcb) {
+        this.sim = sim;
+        this.random = sim.flujo("Zancadas");
+        sim.getEventos().mensaje("\n--- [INICIO] Planificación por Zancadas (Stride) ---");
+        sim.getEventos().mensaje("    Quantum: " + sim.quantum + " ticks");
+
+        int ids = Math.max(16, pcb.obtenerProcesos().size() + 1);
+        pases = new long[ids];
+        restos = new long[ids];
+        boletos = new int[ids];
+        Arrays.fill(restos, SIN_RESTO);
+        paseGlobal = 0;
+        restoGlobal = 0;
+        boletosCompitiendo = 0;
+        listos = new MonticuloProcesos(pcb.contarEn(EstadoProceso.LISTO));
+        for (Proceso p : pcb.procesosEn(EstadoProceso.LISTO)) {
+            entrar(p);
+        }
+    }
+
+    @Override
+    public Proceso elegir() {
+        // Sigue compitiendo mientras corre: sus boletos no se descuentan
+        return listos.extraerMinimo();
+    }
+
+    @Override
+    public int turno(Proceso p) {
+        return sim.quantum;
+    }
+
+    @Override
+    public void alListo(Proceso p, EstadoProceso anterior) {
+        if (anterior == EstadoProceso.EN_EJECUCION) {
+            // Fin de quantum: no dejó de competir, vuelve con su pase
+            listos.agregar(p, pases[p.getId()]);
+        } else {
+            if (anterior == null) {
+                // Llegada: un ID reciclado no hereda el resto de otro proceso
+                asegurarLugar(p.getId());
+                restos[p.getId()] = SIN_RESTO;
+            }
+            entrar(p);
+        }
+    }
+
+    @Override
+    public void alBloquearse(Proceso p) {
+        salir(p);
+    }
+
+    @Override
+    public int tickDeBloqueo(Proceso p, int turno) {
+        // I/O al entrar a la CPU con probabilidad 0.3; el bloqueo le cobra 0 ticks de pase
+        return p.getTiempoRestante() > 1 && random.nextDouble() < 0.3 ? 0 : SIN_BLOQUEO;
+    }
+
+    @Override
+    public void despuesDeCorrer(Proceso p, int ticks, Simulacion sim) {
+        long avance = restoGlobal + ticks * ZANCADA_BASE;
+        paseGlobal += avance / boletosCompitiendo;
+        restoGlobal = avance % boletosCompitiendo;
+        pases[p.getId()] += ticks * (ZANCADA_BASE / boletos[p.getId()]);
+        if (p.getTiempoRestante() <= 0) {
+            salir(p);
+        }
+    }
+
+    /** Empieza a competir: retoma su resto respecto del pase global. */
+    private void entrar(Proceso p) {
+        int id = p.getId();
+        asegurarLugar(id);
+        boletos[id] = p.getBoletos();
+        long resto = restos[id] == SIN_RESTO ? ZANCADA_BASE / boletos[id] : restos[id];
+        pases[id] = paseGlobal + resto;
+        cambiarBoletosCompitiendo(boletosCompitiendo + boletos[id]);
+        listos.agregar(p, pases[id]);
+    }
+
+    /** Deja de competir (se bloqueó o terminó): guarda lo que le faltaba. */
+    private void salir(Proceso p) {
+        restos[p.getId()] = pases[p.getId()] - paseGlobal;
+        cambiarBoletosCompitiendo(boletosCompitiendo - boletos[p.getId()]);
+    }
+
+    /** Lleva el resto del pase global a la escala de los nuevos boletos compitiendo. */
+    private void cambiarBoletosCompitiendo(long nuevos) {
+        restoGlobal = boletosCompitiendo > 0 ? restoGlobal * nuevos / boletosCompitiendo : 0;
+        boletosCompitiendo = nuevos;
+    }
+
+    private void asegurarLugar(int id) {
+        if (id >= pases.length) {
+            int nuevo = Math.max(id + 1, pases.length * 2);
+            int anterior = restos.length;
+            pases = Arrays.copyOf(pases, nuevo);
+            restos = Arrays.copyOf(restos, nuevo);
+            boletos = Arrays.copyOf(boletos, nuevo);
+            Arrays.fill(restos, anterior, nuevo, SIN_RESTO);
+        }
+    }
+}
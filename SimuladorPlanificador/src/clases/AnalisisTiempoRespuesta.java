@@ -0,0 +1,126 @@
+package clases;
+
+import java.util.List;
+
+/**
+ * Prueba de planificabilidad de un conjunto de tareas periódicas con
+ * prioridades fijas, hecha antes de simular.
+ * <p>
+ * Para cada tarea i calcula su peor tiempo de respuesta con la iteración
+ * clásica (análisis de tiempo de respuesta):
+ * </p>
+ *
+ * <pre>
+ * R = C_i + suma, sobre las tareas j de prioridad mayor o igual, de techo(R / T_j) * C_j
+ * </pre>
+ * <p>
+ * partiendo de R = C_i hasta que R no cambia (converge) o supera el plazo
+ * (el período). La tarea es planificable si R &lt;= T_i; el conjunto, si lo son
+ * todas. Las tareas de igual prioridad se cuentan como interferencia mutua
+ * (los empates se resuelven por orden de llegada y el análisis asume lo
+ * peor).
+ * </p>
+ * <p>
+ * El análisis supone liberación simultánea (el instante crítico), así que con
+ * desfases es una cota: el peor tiempo observado en la simulación nunca puede
+ * superarla, y sin desfases la alcanza en el primer trabajo. También informa
+ * la utilización y la cota de Liu y Layland, n(2^(1/n) - 1), por debajo de la
+ * cual Rate Monotonic siempre es planificable.
+ * </p>
+ */
+public class AnalisisTiempoRespuesta {
+
+    private final List<TareaPeriodica> tareas;
+
+    /** Peor tiempo de respuesta de cada tarea (el primer valor que superó el plazo si no converge). */
+    private final long[] respuestas;
+
+    private final double utilizacion;
+
+    /**
+     * Analiza el conjunto con las prioridades ya asignadas a sus tareas.
+     *
+     * @param tareas Conjunto de tareas.
+     */
+    public AnalisisTiempoRespuesta(List<TareaPeriodica> tareas) {
+        this.tareas = tareas;
+        this.respuestas = new long[tareas.size()];
+        double u = 0;
+        for (int i = 0; i < tareas.size(); i++) {
+            respuestas[i] = peorRespuesta(i);
+            u += tareas.get(i).utilizacion();
+        }
+        this.utilizacion = u;
+    }
+
+    private long peorRespuesta(int i) {
+        TareaPeriodica tarea = tareas.get(i);
+        long r = tarea.getComputo();
+        while (true) {
+            long siguiente = tarea.getComputo();
+            for (int j = 0; j < tareas.size(); j++) {
+                TareaPeriodica otra = tareas.get(j);
+                if (j != i && otra.getPrioridad() >= tarea.getPrioridad()) {
+                    siguiente += (r + otra.getPeriodo() - 1) / otra.getPeriodo() * otra.getComputo();
+                }
+            }
+            if (siguiente == r || siguiente > tarea.getPeriodo()) {
+                return siguiente;
+            }
+            r = siguiente;
+        }
+    }
+
+    public List<TareaPeriodica> getTareas() {
+        return tareas;
+    }
+
+    /**
+     * @param i Índice de la tarea (orden de getTareas()).
+     * @return Su peor tiempo de respuesta; si supera el período, la tarea no es
+     *         planificable (y el valor es sólo el punto donde se cortó la
+     *         iteración).
+     */
+    public long getRespuesta(int i) {
+        return respuestas[i];
+    }
+
+    /**
+     * @param i Índice de la tarea.
+     * @return true si su peor respuesta cabe en su período.
+     */
+    public boolean esPlanificable(int i) {
+        return respuestas[i] <= tareas.get(i).getPeriodo();
+    }
+
+    /** @return true si todas las tareas son planificables. */
+    public boolean esPlanificable() {
+        for (int i = 0; i < respuestas.length; i++) {
+            if (!esPlanificable(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** @return Suma de wcet / periodo de todas las tareas. */
+    public double getUtilizacion() {
+        return utilizacion;
+    }
+
+    /** @return Cota de Liu y Layland para la cantidad de tareas. */
+    public double cotaLiuLayland() {
+        int n = tareas.size();
+        return n * (Math.pow(2, 1.0 / n) - 1);
+    }
+
+    /** @return true si alguna tarea tiene desfase (el análisis es sólo una cota). */
+    public boolean hayDesfases() {
+        for (TareaPeriodica t : tareas) {
+            if (t.getDesfase() > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,107 @@
+package clases;
+
+import java.util.ArrayDeque;
+import java.util.random.RandomGenerator;
+
+/**
+ * Cola de ejecución propia de una CPU simulada.
+ * <p>
+ * A diferencia de ColaListos, ColaPrioridad o IndiceBoletos no observa al PCB:
+ * con varias CPUs cada proceso LISTO pertenece a una sola cola, así que el
+ * algoritmo decide en cuál entra (agregar) y lo saca al despacharlo (extraer)
+ * o al mudarlo a otra CPU (ceder). Por dentro usa la estructura de la política
+ * de un solo procesador equivalente.
+ * </p>
+ */
+public class ColaCpu {
+
+    private final PoliticaCpu politica;
+
+    private final ArrayDeque<Proceso> fifo;
+    private final ColaPrioridad prioridades;
+    private final IndiceBoletos boletos;
+
+    private int tamano;
+
+    /**
+     * @param politica Cómo se elige al siguiente proceso.
+     */
+    public ColaCpu(PoliticaCpu politica) {
+        this.politica = politica;
+        this.fifo = politica == PoliticaCpu.ROUND_ROBIN ? new ArrayDeque<>() : null;
+        this.prioridades = politica == PoliticaCpu.PRIORIDADES ? new ColaPrioridad() : null;
+        this.boletos = politica == PoliticaCpu.LOTERIA ? new IndiceBoletos() : null;
+    }
+
+    /**
+     * Pone a un proceso LISTO en esta cola.
+     *
+     * @param p Proceso a agregar (no debe estar en otra cola).
+     */
+    public void agregar(Proceso p) {
+        switch (politica) {
+            case ROUND_ROBIN:
+                fifo.addLast(p);
+                break;
+            case PRIORIDADES:
+                prioridades.agregar(p);
+                break;
+            default:
+                boletos.agregar(p);
+                break;
+        }
+        tamano++;
+    }
+
+    /**
+     * Saca al proceso que la política despacharía ahora.
+     *
+     * @param random Generador para el sorteo (sólo LOTERIA).
+     * @return El proceso, o null si la cola está vacía.
+     */
+    public Proceso extraer(RandomGenerator random) {
+        if (tamano == 0) {
+            return null;
+        }
+        Proceso p;
+        switch (politica) {
+            case ROUND_ROBIN:
+                p = fifo.pollFirst();
+                break;
+            case PRIORIDADES:
+                p = prioridades.verMaximo();
+                prioridades.quitar(p);
+                break;
+            default:
+                p = boletos.sortear(random);
+                boletos.quitar(p);
+                break;
+        }
+        tamano--;
+        return p;
+    }
+
+    /**
+     * Saca un proceso para mudarlo a otra CPU (robo o balanceo). En FIFO se
+     * cede el último en llegar, que es el que más tendría que esperar aquí;
+     * en las otras políticas, el que se despacharía a continuación.
+     *
+     * @param random Generador para el sorteo (sólo LOTERIA).
+     * @return El proceso, o null si la cola está vacía.
+     */
+    public Proceso ceder(RandomGenerator random) {
+        if (politica != PoliticaCpu.ROUND_ROBIN || tamano == 0) {
+            return extraer(random);
+        }
+        tamano--;
+        return fifo.pollLast();
+    }
+
+    public int tamano() {
+        return tamano;
+    }
+
+    public boolean estaVacia() {
+        return tamano == 0;
+    }
+}
@@ -0,0 +1,123 @@
+package clases;
+
+import java.util.Arrays;
+
+/**
+ * Agenda de eventos futuros de la simulación (montículo binario de mínimos).
+ * <p>
+ * Ordena por tiempo y, ante empate, por orden de inserción (FIFO), de modo que
+ * dos eventos del mismo tick se atienden en el orden en que se programaron.
+ * Se guarda en arreglos paralelos para no crear un objeto por evento.
+ * </p>
+ */
+public class ColaEventos {
+
+    /** Clave compuesta: tiempo en los 32 bits altos, secuencia en los bajos. */
+    private long[] claves;
+    private TipoEventoFuturo[] tipos;
+    private Proceso[] procesos;
+    private int tamano;
+    private int secuencia;
+
+    /** Crea una agenda vacía. */
+    public ColaEventos() {
+        this.claves = new long[16];
+        this.tipos = new TipoEventoFuturo[16];
+        this.procesos = new Proceso[16];
+        this.tamano = 0;
+        this.secuencia = 0;
+    }
+
+    /**
+     * Agenda un evento.
+     *
+     * @param tiempo  Tick en el que ocurrirá.
+     * @param tipo    Qué ocurrirá.
+     * @param proceso Proceso involucrado (puede ser null).
+     */
+    public void agregar(int tiempo, TipoEventoFuturo tipo, Proceso proceso) {
+        if (tamano == claves.length) {
+            crecer();
+        }
+        long clave = ((long) tiempo << 32) | (secuencia++ & 0xFFFFFFFFL);
+        int i = tamano++;
+        // Subir (sift-up) moviendo huecos en lugar de intercambiar
+        while (i > 0) {
+            int padre = (i - 1) >>> 1;
+            if (claves[padre] <= clave) {
+                break;
+            }
+            mover(padre, i);
+            i = padre;
+        }
+        claves[i] = clave;
+        tipos[i] = tipo;
+        procesos[i] = proceso;
+    }
+
+    public boolean estaVacia() {
+        return tamano == 0;
+    }
+
+    public int tamano() {
+        return tamano;
+    }
+
+    /** @return Tick del próximo evento (la agenda no debe estar vacía). */
+    public int tiempoMinimo() {
+        return (int) (claves[0] >> 32);
+    }
+
+    /** @return Tipo del próximo evento (la agenda no debe estar vacía). */
+    public TipoEventoFuturo tipoMinimo() {
+        return tipos[0];
+    }
+
+    /** @return Proceso del próximo evento (la agenda no debe estar vacía). */
+    public Proceso procesoMinimo() {
+        return procesos[0];
+    }
+
+    /** Descarta el próximo evento (consultarlo antes con los métodos *Minimo). */
+    public void extraerMinimo() {
+        int ultimo = --tamano;
+        long clave = claves[ultimo];
+        TipoEventoFuturo tipo = tipos[ultimo];
+        Proceso proceso = procesos[ultimo];
+        tipos[ultimo] = null;
+        procesos[ultimo] = null;
+        if (ultimo == 0) {
+            return;
+        }
+        // Bajar (sift-down) el último elemento desde la raíz
+        int i = 0;
+        int mitad = ultimo >>> 1;
+        while (i < mitad) {
+            int hijo = 2 * i + 1;
+            if (hijo + 1 < ultimo && claves[hijo + 1] < claves[hijo]) {
+                hijo++;
+            }
+            if (clave <= claves[hijo]) {
+                break;
+            }
+            mover(hijo, i);
+            i = hijo;
+        }
+        claves[i] = clave;
+        tipos[i] = tipo;
+        procesos[i] = proceso;
+    }
+
+    private void mover(int desde, int hacia) {
+        claves[hacia] = claves[desde];
+        tipos[hacia] = tipos[desde];
+        procesos[hacia] = procesos[desde];
+    }
+
+    private void crecer() {
+        int nueva = claves.length * 2;
+        claves = Arrays.copyOf(claves, nueva);
+        tipos = Arrays.copyOf(tipos, nueva);
+        procesos = Arrays.copyOf(procesos, nueva);
+    }
+}
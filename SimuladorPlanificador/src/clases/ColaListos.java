@@ -0,0 +1,91 @@
+package clases;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * Cola FIFO de procesos LISTOS para la familia Round Robin.
+ * <p>
+ * Se suscribe al PCB y encola a cada proceso al final en el momento en que
+ * pasa a LISTO, así que el orden es exactamente el de llegada a LISTO sin
+ * recorrer la lista de procesos en cada tick. Una marca por ID dice qué
+ * proceso tiene entrada con ese ID, de modo que encolar, desencolar y
+ * consultar pertenencia son O(1), y la entrada vieja de un proceso retirado
+ * no tapa a otro que reciba su ID. Como en ColasMultinivel, un proceso que deja LISTO sin
+ * pasar por extraer() se descarta al llegar a la cabeza (borrado perezoso).
+ * </p>
+ */
+public class ColaListos implements ObservadorPCB {
+
+    private final ArrayDeque<Proceso> cola;
+
+    /** Proceso con una entrada en la cola, por ID (null = ninguno). */
+    private Proceso[] encolado;
+
+    /**
+     * Encola a los procesos que ya están LISTOS (en el orden en que entraron a
+     * LISTO) y se suscribe al PCB.
+     *
+     * @param pcb Bloque de control de la corrida.
+     */
+    public ColaListos(PCB pcb) {
+        this.cola = new ArrayDeque<>(Math.max(16, pcb.contarEn(EstadoProceso.LISTO)));
+        this.encolado = new Proceso[Math.max(16, pcb.obtenerProcesos().size() + 1)];
+        for (Proceso p : pcb.procesosEn(EstadoProceso.LISTO)) {
+            encolar(p);
+        }
+        pcb.suscribir(this);
+    }
+
+    @Override
+    public void cambioEstado(Proceso p, EstadoProceso anterior, EstadoProceso nuevo) {
+        if (nuevo == EstadoProceso.LISTO) {
+            encolar(p);
+        }
+    }
+
+    /**
+     * Saca al primer proceso LISTO de la fila.
+     *
+     * @return El proceso a despachar, o null si no hay ninguno LISTO.
+     */
+    public Proceso extraer() {
+        Proceso p;
+        while ((p = cola.pollFirst()) != null) {
+            if (encolado[p.getId()] == p) {
+                encolado[p.getId()] = null;
+            }
+            if (p.getEstado() == EstadoProceso.LISTO) {
+                return p;
+            }
+            // Entrada vieja: dejó LISTO sin pasar por extraer()
+        }
+        return null;
+    }
+
+    /**
+     * @param p Proceso a consultar.
+     * @return true si el proceso tiene entrada en la fila.
+     */
+    public boolean contiene(Proceso p) {
+        return p.getId() < encolado.length && encolado[p.getId()] == p;
+    }
+
+    /** @return true si no queda ninguna entrada (ni siquiera vieja). */
+    public boolean estaVacia() {
+        return cola.isEmpty();
+    }
+
+    private void encolar(Proceso p) {
+        int id = p.getId();
+        if (id >= encolado.length) {
+            encolado = Arrays.copyOf(encolado, Math.max(id + 1, encolado.length * 2));
+        }
+        if (encolado[id] == p) {
+            // Su entrada vieja sigue en la fila y vuelve a ser válida
+            return;
+        }
+        encolado[id] = p;
+        cola.addLast(p);
+    }
+}
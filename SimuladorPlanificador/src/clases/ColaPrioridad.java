@@ -0,0 +1,213 @@
+package clases;
+
+import java.util.Arrays;
+
+/**
+ * Cola de procesos LISTOS ordenada por prioridad (montículo binario indexado).
+ * <p>
+ * La cima es el proceso de mayor prioridad; ante empate, el que entró antes a
+ * LISTO (FIFO). Se suscribe al PCB, así que cada proceso entra al pasar a LISTO
+ * y sale al abandonarlo, y un cambio de prioridad lo reacomoda en su lugar sin
+ * reconstruir la cola: todo en O(log n). Como ColaEventos, guarda claves y
+ * procesos en arreglos paralelos; la posición de cada proceso se indexa por
+ * su ID (los IDs son enteros pequeños y consecutivos).
+ * </p>
+ * <p>
+ * Creada sin PCB no se suscribe a nada y se llena a mano con agregar() y
+ * quitar() (por ejemplo, la cola de una CPU en ColaCpu).
+ * </p>
+ */
+public class ColaPrioridad implements ObservadorPCB {
+
+    /** Clave compuesta: prioridad negada en los 32 bits altos, secuencia en los bajos. */
+    private long[] claves;
+    private Proceso[] procesos;
+    private int tamano;
+    private int secuencia;
+
+    /** Posición en el montículo + 1 de cada proceso, por ID (0 = no está). */
+    private int[] posiciones;
+
+    /**
+     * Crea la cola con los procesos que ya están LISTOS (en el orden en que
+     * entraron) y la suscribe al PCB.
+     *
+     * @param pcb Bloque de control de la corrida.
+     */
+    public ColaPrioridad(PCB pcb) {
+        int capacidad = Math.max(16, pcb.contarEn(EstadoProceso.LISTO));
+        this.claves = new long[capacidad];
+        this.procesos = new Proceso[capacidad];
+        this.posiciones = new int[Math.max(16, pcb.obtenerProcesos().size() + 1)];
+        for (Proceso p : pcb.procesosEn(EstadoProceso.LISTO)) {
+            insertar(p);
+        }
+        pcb.suscribir(this);
+    }
+
+    /**
+     * Crea una cola vacía que no observa a ningún PCB.
+     */
+    public ColaPrioridad() {
+        this.claves = new long[16];
+        this.procesos = new Proceso[16];
+        this.posiciones = new int[16];
+    }
+
+    @Override
+    public void cambioEstado(Proceso p, EstadoProceso anterior, EstadoProceso nuevo) {
+        if (anterior == EstadoProceso.LISTO) {
+            quitar(p);
+        } else if (nuevo == EstadoProceso.LISTO) {
+            insertar(p);
+        }
+    }
+
+    @Override
+    public void cambioPrioridad(Proceso p, int anterior) {
+        int i = posicion(p);
+        if (i < 0) {
+            return;
+        }
+        // Conserva su turno de llegada, sólo cambia la prioridad
+        claves[i] = clave(p.getPrioridad(), (int) claves[i]);
+        if (p.getPrioridad() > anterior) {
+            subir(i);
+        } else {
+            bajar(i);
+        }
+    }
+
+    public boolean estaVacia() {
+        return tamano == 0;
+    }
+
+    public int tamano() {
+        return tamano;
+    }
+
+    /** @return Proceso LISTO de mayor prioridad, o null si no hay ninguno. */
+    public Proceso verMaximo() {
+        return tamano == 0 ? null : procesos[0];
+    }
+
+    /**
+     * @param p Proceso a consultar.
+     * @return true si el proceso está en la cola (es decir, está LISTO).
+     */
+    public boolean contiene(Proceso p) {
+        return posicion(p) >= 0;
+    }
+
+    /**
+     * Agrega un proceso (si no estaba) detrás de los de su misma prioridad.
+     *
+     * @param p Proceso a agregar.
+     */
+    public void agregar(Proceso p) {
+        if (!contiene(p)) {
+            insertar(p);
+        }
+    }
+
+    private void insertar(Proceso p) {
+        if (tamano == claves.length) {
+            claves = Arrays.copyOf(claves, tamano * 2);
+            procesos = Arrays.copyOf(procesos, tamano * 2);
+        }
+        int i = tamano++;
+        claves[i] = clave(p.getPrioridad(), secuencia++);
+        procesos[i] = p;
+        registrar(p, i);
+        subir(i);
+    }
+
+    /**
+     * Saca a un proceso de la cola (no hace nada si no estaba).
+     *
+     * @param p Proceso a quitar.
+     */
+    public void quitar(Proceso p) {
+        int i = posicion(p);
+        if (i < 0) {
+            return;
+        }
+        posiciones[p.getId()] = 0;
+        int ultimo = --tamano;
+        Proceso movido = procesos[ultimo];
+        procesos[ultimo] = null;
+        if (i != ultimo) {
+            // El último ocupa el hueco y puede tener que subir o bajar
+            claves[i] = claves[ultimo];
+            procesos[i] = movido;
+            subir(i);
+            bajar(posicion(movido));
+        }
+    }
+
+    /** Sube (sift-up) el elemento de la posición i moviendo huecos. */
+    private void subir(int i) {
+        long clave = claves[i];
+        Proceso proceso = procesos[i];
+        while (i > 0) {
+            int padre = (i - 1) >>> 1;
+            if (claves[padre] <= clave) {
+                break;
+            }
+            mover(padre, i);
+            i = padre;
+        }
+        claves[i] = clave;
+        procesos[i] = proceso;
+        registrar(proceso, i);
+    }
+
+    /** Baja (sift-down) el elemento de la posición i moviendo huecos. */
+    private void bajar(int i) {
+        long clave = claves[i];
+        Proceso proceso = procesos[i];
+        int mitad = tamano >>> 1;
+        while (i < mitad) {
+            int hijo = 2 * i + 1;
+            if (hijo + 1 < tamano && claves[hijo + 1] < claves[hijo]) {
+                hijo++;
+            }
+            if (clave <= claves[hijo]) {
+                break;
+            }
+            mover(hijo, i);
+            i = hijo;
+        }
+        claves[i] = clave;
+        procesos[i] = proceso;
+        registrar(proceso, i);
+    }
+
+    private void mover(int desde, int hacia) {
+        claves[hacia] = claves[desde];
+        procesos[hacia] = procesos[desde];
+        registrar(procesos[hacia], hacia);
+    }
+
+    private void registrar(Proceso p, int i) {
+        int id = p.getId();
+        if (id >= posiciones.length) {
+            posiciones = Arrays.copyOf(posiciones, Math.max(id + 1, posiciones.length * 2));
+        }
+        posiciones[id] = i + 1;
+    }
+
+    private int posicion(Proceso p) {
+        int id = p.getId();
+        if (id >= posiciones.length) {
+            return -1;
+        }
+        int i = posiciones[id] - 1;
+        return (i >= 0 && procesos[i] == p) ? i : -1;
+    }
+
+    /** Menor clave = mayor prioridad; a igual prioridad, menor secuencia. */
+    private static long clave(int prioridad, int secuencia) {
+        return ((long) -prioridad << 32) | (secuencia & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,351 @@
+package clases;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Colas de LISTOS por usuario y anillo de los usuarios que tienen trabajo,
+ * para repartir la CPU entre usuarios (Participación Equitativa).
+ * <p>
+ * Cada usuario tiene una lista FIFO de sus procesos LISTOS, enlazada por ID
+ * (siguiente / anterior en arreglos, como las posiciones de ColaPrioridad),
+ * así que un proceso entra o sale de la suya en O(1). Los usuarios con algún
+ * proceso LISTO forman un anillo doblemente enlazado; el que llega al anillo
+ * se ubica al final de la ronda, justo antes del usuario en turno. Se
+ * suscribe al PCB: cada proceso entra a su lista al pasar a LISTO y sale al
+ * abandonarlo, sin recorrer a nadie.
+ * </p>
+ * <p>
+ * siguiente() saca al primero de la lista del usuario en turno, que conserva
+ * el turno tantos despachos seguidos como su peso (1 por defecto) y después
+ * lo pasa al siguiente del anillo. Un usuario que se quedó sin LISTOS sólo
+ * sigue en el anillo si es el que está en turno (su proceso puede volver a
+ * LISTO al terminar el tick); se lo quita al pasar el turno. Así cada
+ * elección cuesta O(1) sin importar cuántos usuarios o procesos haya.
+ * </p>
+ * <p>
+ * El usuario de un proceso se resuelve una sola vez, al incorporarse al PCB:
+ * un setUsuario() posterior no lo cambia de cola.
+ * </p>
+ */
+public class ColaUsuarios implements ObservadorPCB {
+
+    private static final int NINGUNO = -1;
+
+    /** Índice de cada nombre de usuario (sólo al incorporarse un proceso). */
+    private final Map<String, Integer> indices = new HashMap<>();
+
+    /** Pesos pedidos por nombre; los usuarios que no figuran pesan 1. */
+    private final Map<String, Integer> pesosPedidos;
+
+    // --- Por usuario ---
+    private String[] nombres;
+    private int[] pesos;
+    /** Primer y último ID de su lista de LISTOS (NINGUNO = vacía). */
+    private int[] primeros;
+    private int[] ultimos;
+    /** Vecinos en el anillo. */
+    private int[] siguientesUsuario;
+    private int[] anterioresUsuario;
+    private boolean[] enAnillo;
+    private int cantidadUsuarios;
+
+    // --- Por ID de proceso ---
+    private Proceso[] procesos;
+    /** Índice de usuario + 1 (0 = todavía no registrado). */
+    private int[] usuarioDe;
+    private int[] siguientes;
+    private int[] anteriores;
+    private boolean[] encolados;
+
+    /** Usuario en turno (NINGUNO si el anillo está vacío) y despachos que le quedan. */
+    private int enTurno = NINGUNO;
+    private int credito;
+
+    private int listos;
+
+    /**
+     * Arma las colas con los procesos del PCB (los LISTOS en el orden en que
+     * entraron) y las suscribe al PCB.
+     *
+     * @param pcb   Bloque de control de la corrida.
+     * @param pesos Despachos seguidos por ronda de cada usuario (ver
+     *              leerPesos); los que no figuran pesan 1.
+     */
+    public ColaUsuarios(PCB pcb, Map<String, Integer> pesos) {
+        this.pesosPedidos = pesos;
+        int ids = Math.max(16, pcb.obtenerProcesos().size() + 1);
+        nombres = new String[16];
+        this.pesos = new int[16];
+        primeros = new int[16];
+        ultimos = new int[16];
+        siguientesUsuario = new int[16];
+        anterioresUsuario = new int[16];
+        enAnillo = new boolean[16];
+        procesos = new Proceso[ids];
+        usuarioDe = new int[ids];
+        siguientes = new int[ids];
+        anteriores = new int[ids];
+        encolados = new boolean[ids];
+        for (Proceso p : pcb.obtenerProcesos()) {
+            registrar(p);
+        }
+        for (Proceso p : pcb.procesosEn(EstadoProceso.LISTO)) {
+            encolar(p);
+        }
+        pcb.suscribir(this);
+    }
+
+    @Override
+    public void cambioEstado(Proceso p, EstadoProceso anterior, EstadoProceso nuevo) {
+        if (anterior == null) {
+            registrar(p);
+        }
+        if (anterior == EstadoProceso.LISTO) {
+            quitar(p);
+        } else if (nuevo == EstadoProceso.LISTO) {
+            encolar(p);
+        }
+    }
+
+    /**
+     * Saca de su lista al proceso que le toca despachar y descuenta un
+     * despacho al turno de su usuario.
+     *
+     * @return El proceso, o null si ningún usuario tiene procesos LISTOS.
+     */
+    public Proceso siguiente() {
+        if (enTurno == NINGUNO) {
+            return null;
+        }
+        if (credito <= 0 || primeros[enTurno] == NINGUNO) {
+            pasarTurno();
+            if (enTurno == NINGUNO) {
+                return null;
+            }
+        }
+        Proceso p = procesos[primeros[enTurno]];
+        quitar(p);
+        credito--;
+        return p;
+    }
+
+    public boolean estaVacia() {
+        return listos == 0;
+    }
+
+    /** @return Procesos LISTOS en todas las colas. */
+    public int tamano() {
+        return listos;
+    }
+
+    /** @return Usuarios vistos hasta ahora, en orden de aparición. */
+    public List<String> getUsuarios() {
+        return Arrays.asList(Arrays.copyOf(nombres, cantidadUsuarios));
+    }
+
+    /**
+     * @param usuario Nombre del usuario.
+     * @return Su peso (1 si no se pidió otro).
+     */
+    public int getPeso(String usuario) {
+        Integer peso = pesosPedidos.get(usuario);
+        return peso == null ? 1 : peso;
+    }
+
+    /**
+     * Lee los pesos de los usuarios: un archivo CSV con líneas
+     * "usuario,peso" (se ignoran las vacías, las que empiezan con '#' y un
+     * encabezado), o, si no existe tal archivo, una lista en línea
+     * "usuario=peso,usuario=peso".
+     *
+     * @param especificacion Ruta del CSV o lista en línea.
+     * @return Peso por usuario, en el orden dado.
+     * @throws IOException              Si el archivo no se puede leer.
+     * @throws IllegalArgumentException Si un peso no es un entero positivo.
+     */
+    public static Map<String, Integer> leerPesos(String especificacion) throws IOException {
+        Map<String, Integer> pesos = new LinkedHashMap<>();
+        Path archivo = Paths.get(especificacion);
+        if (Files.isRegularFile(archivo)) {
+            int linea = 0;
+            try (BufferedReader entrada = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+                String texto;
+                while ((texto = entrada.readLine()) != null) {
+                    linea++;
+                    texto = texto.trim();
+                    if (texto.isEmpty() || texto.charAt(0) == '#') {
+                        continue;
+                    }
+                    String[] campos = texto.split(",", -1);
+                    if (pesos.isEmpty() && campos.length > 1 && campos[1].trim().equalsIgnoreCase("peso")) {
+                        continue;
+                    }
+                    agregarPeso(pesos, campos, "línea " + linea);
+                }
+            }
+        } else {
+            for (String par : especificacion.split(",")) {
+                agregarPeso(pesos, par.split("=", -1), par);
+            }
+        }
+        return pesos;
+    }
+
+    private static void agregarPeso(Map<String, Integer> pesos, String[] campos, String donde) {
+        String usuario = campos[0].trim();
+        int peso;
+        try {
+            peso = campos.length == 2 ? Integer.parseInt(campos[1].trim()) : 0;
+        } catch (NumberFormatException e) {
+            peso = 0;
+        }
+        if (usuario.isEmpty() || peso < 1) {
+            throw new IllegalArgumentException("Peso inválido (" + donde + "): se espera usuario y un entero >= 1");
+        }
+        pesos.put(usuario, peso);
+    }
+
+    /** Anota el usuario de un proceso recién incorporado. */
+    private void registrar(Proceso p) {
+        int id = p.getId();
+        if (id >= procesos.length) {
+            int nuevo = Math.max(id + 1, procesos.length * 2);
+            procesos = Arrays.copyOf(procesos, nuevo);
+            usuarioDe = Arrays.copyOf(usuarioDe, nuevo);
+            siguientes = Arrays.copyOf(siguientes, nuevo);
+            anteriores = Arrays.copyOf(anteriores, nuevo);
+            encolados = Arrays.copyOf(encolados, nuevo);
+        }
+        procesos[id] = p;
+        Integer u = indices.get(p.getUsuario());
+        if (u == null) {
+            u = nuevoUsuario(p.getUsuario());
+        }
+        usuarioDe[id] = u + 1;
+    }
+
+    private int nuevoUsuario(String nombre) {
+        int u = cantidadUsuarios++;
+        if (u == nombres.length) {
+            int nuevo = u * 2;
+            nombres = Arrays.copyOf(nombres, nuevo);
+            pesos = Arrays.copyOf(pesos, nuevo);
+            primeros = Arrays.copyOf(primeros, nuevo);
+            ultimos = Arrays.copyOf(ultimos, nuevo);
+            siguientesUsuario = Arrays.copyOf(siguientesUsuario, nuevo);
+            anterioresUsuario = Arrays.copyOf(anterioresUsuario, nuevo);
+            enAnillo = Arrays.copyOf(enAnillo, nuevo);
+        }
+        nombres[u] = nombre;
+        pesos[u] = getPeso(nombre);
+        primeros[u] = NINGUNO;
+        ultimos[u] = NINGUNO;
+        indices.put(nombre, u);
+        return u;
+    }
+
+    /** Pone al proceso al final de la lista de su usuario. */
+    private void encolar(Proceso p) {
+        int id = p.getId();
+        if (id >= procesos.length || usuarioDe[id] == 0) {
+            registrar(p);
+        }
+        if (encolados[id]) {
+            return;
+        }
+        int u = usuarioDe[id] - 1;
+        siguientes[id] = NINGUNO;
+        anteriores[id] = ultimos[u];
+        if (ultimos[u] == NINGUNO) {
+            primeros[u] = id;
+        } else {
+            siguientes[ultimos[u]] = id;
+        }
+        ultimos[u] = id;
+        encolados[id] = true;
+        listos++;
+        if (!enAnillo[u]) {
+            entrarAlAnillo(u);
+        }
+    }
+
+    /** Saca al proceso de la lista de su usuario (si estaba). */
+    private void quitar(Proceso p) {
+        int id = p.getId();
+        if (id >= encolados.length || !encolados[id]) {
+            return;
+        }
+        int u = usuarioDe[id] - 1;
+        if (anteriores[id] == NINGUNO) {
+            primeros[u] = siguientes[id];
+        } else {
+            siguientes[anteriores[id]] = siguientes[id];
+        }
+        if (siguientes[id] == NINGUNO) {
+            ultimos[u] = anteriores[id];
+        } else {
+            anteriores[siguientes[id]] = anteriores[id];
+        }
+        encolados[id] = false;
+        listos--;
+        // El usuario en turno se queda hasta pasar el turno: su proceso puede volver
+        if (primeros[u] == NINGUNO && u != enTurno) {
+            salirDelAnillo(u);
+        }
+    }
+
+    /** El usuario entra al final de la ronda (justo antes del que está en turno). */
+    private void entrarAlAnillo(int u) {
+        enAnillo[u] = true;
+        if (enTurno == NINGUNO) {
+            siguientesUsuario[u] = u;
+            anterioresUsuario[u] = u;
+            enTurno = u;
+            credito = pesos[u];
+            return;
+        }
+        int previo = anterioresUsuario[enTurno];
+        siguientesUsuario[previo] = u;
+        anterioresUsuario[u] = previo;
+        siguientesUsuario[u] = enTurno;
+        anterioresUsuario[enTurno] = u;
+    }
+
+    private void salirDelAnillo(int u) {
+        enAnillo[u] = false;
+        int siguiente = siguientesUsuario[u];
+        if (siguiente == u) {
+            enTurno = NINGUNO;
+            return;
+        }
+        int previo = anterioresUsuario[u];
+        siguientesUsuario[previo] = siguiente;
+        anterioresUsuario[siguiente] = previo;
+        if (enTurno == u) {
+            enTurno = siguiente;
+            credito = pesos[siguiente];
+        }
+    }
+
+    /** El turno pasa al siguiente usuario del anillo, con su peso como crédito. */
+    private void pasarTurno() {
+        int u = enTurno;
+        if (primeros[u] == NINGUNO) {
+            salirDelAnillo(u);
+            return;
+        }
+        enTurno = siguientesUsuario[u];
+        credito = pesos[enTurno];
+    }
+}
@@ -0,0 +1,160 @@
+package clases;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.function.ToIntFunction;
+
+/**
+ * Colas de LISTOS por nivel para Múltiples Colas de Prioridad (MLFQ).
+ * <p>
+ * Cada nivel es una cola FIFO (ArrayDeque) y un mapa de bits marca qué niveles
+ * tienen procesos, así que encontrar el nivel más alto con trabajo es una sola
+ * instrucción (numberOfTrailingZeros) y despachar cuesta O(1) sin importar
+ * cuántos procesos haya. Cada proceso recuerda su nivel aunque esté BLOQUEADO,
+ * pero sólo ocupa una cola mientras está LISTO: se suscribe al PCB y lo encola
+ * al final de su nivel en cuanto vuelve a LISTO, lo despierte quien lo
+ * despierte.
+ * </p>
+ * <p>
+ * Un proceso que deja LISTO por otra vía que no sea extraer() queda en su cola
+ * como entrada vieja y se descarta al llegar a la cabeza (borrado perezoso).
+ * Las marcas por ID guardan qué proceso tiene la entrada, y un proceso que
+ * llega al PCB se clasifica de nuevo, así que un ID reciclado (ver
+ * ReservaIds) no hereda ni la entrada ni el nivel de otro.
+ * </p>
+ */
+public class ColasMultinivel implements ObservadorPCB {
+
+    /** Máximo de niveles que caben en el mapa de bits. */
+    public static final int MAX_NIVELES = Long.SIZE;
+
+    private final ArrayDeque<Proceso>[] niveles;
+
+    /** Bit i encendido = el nivel i tiene al menos una entrada. */
+    private long ocupados;
+
+    /** Cómo clasificar a un proceso que el índice aún no conoce. */
+    private final ToIntFunction<Proceso> nivelInicial;
+
+    /** Nivel de cada proceso por ID (-1 = aún sin clasificar). */
+    private int[] nivelPorId;
+
+    /** Proceso con una entrada en alguna cola, por ID (null = ninguno). */
+    private Proceso[] encolado;
+
+    /**
+     * Clasifica a todos los procesos del PCB, encola a los LISTOS (en el orden
+     * en que entraron a LISTO) y se suscribe al PCB.
+     *
+     * @param pcb          Bloque de control de la corrida.
+     * @param numNiveles   Cantidad de niveles (1 a MAX_NIVELES); 0 es el más alto.
+     * @param nivelInicial Nivel en el que arranca cada proceso.
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public ColasMultinivel(PCB pcb, int numNiveles, ToIntFunction<Proceso> nivelInicial) {
+        if (numNiveles < 1 || numNiveles > MAX_NIVELES) {
+            throw new IllegalArgumentException("Número de niveles fuera de rango (1-" + MAX_NIVELES + "): " + numNiveles);
+        }
+        this.niveles = new ArrayDeque[numNiveles];
+        for (int i = 0; i < numNiveles; i++) {
+            niveles[i] = new ArrayDeque<>();
+        }
+        this.nivelInicial = nivelInicial;
+        int capacidad = Math.max(16, pcb.obtenerProcesos().size() + 1);
+        this.nivelPorId = new int[capacidad];
+        Arrays.fill(nivelPorId, -1);
+        this.encolado = new Proceso[capacidad];
+
+        for (Proceso p : pcb.procesosEn(EstadoProceso.LISTO)) {
+            encolar(p);
+        }
+        pcb.suscribir(this);
+    }
+
+    @Override
+    public void cambioEstado(Proceso p, EstadoProceso anterior, EstadoProceso nuevo) {
+        if (anterior == null) {
+            // Llegada: se clasifica de cero
+            asegurarCapacidad(p.getId());
+            nivelPorId[p.getId()] = -1;
+        }
+        if (nuevo == EstadoProceso.LISTO) {
+            encolar(p);
+        }
+    }
+
+    public int numNiveles() {
+        return niveles.length;
+    }
+
+    /**
+     * Saca al primer proceso LISTO del nivel más alto con trabajo.
+     *
+     * @return El proceso a despachar, o null si no hay ninguno LISTO.
+     */
+    public Proceso extraer() {
+        while (ocupados != 0) {
+            int nivel = Long.numberOfTrailingZeros(ocupados);
+            ArrayDeque<Proceso> cola = niveles[nivel];
+            Proceso p = cola.pollFirst();
+            if (cola.isEmpty()) {
+                ocupados &= ~(1L << nivel);
+            }
+            if (encolado[p.getId()] == p) {
+                encolado[p.getId()] = null;
+            }
+            if (p.getEstado() == EstadoProceso.LISTO) {
+                return p;
+            }
+            // Entrada vieja: dejó LISTO sin pasar por extraer()
+        }
+        return null;
+    }
+
+    /**
+     * @param p Proceso a consultar.
+     * @return Nivel actual del proceso.
+     */
+    public int nivelDe(Proceso p) {
+        asegurarCapacidad(p.getId());
+        int nivel = nivelPorId[p.getId()];
+        if (nivel < 0) {
+            nivel = Math.max(0, Math.min(nivelInicial.applyAsInt(p), niveles.length - 1));
+            nivelPorId[p.getId()] = nivel;
+        }
+        return nivel;
+    }
+
+    /**
+     * Mueve a un proceso de nivel (por ejemplo, al penalizarlo). Debe llamarse
+     * mientras no está encolado, es decir, antes de devolverlo a LISTO.
+     *
+     * @param p     Proceso a mover.
+     * @param nivel Nivel nuevo (se ajusta al rango válido).
+     */
+    public void cambiarNivel(Proceso p, int nivel) {
+        asegurarCapacidad(p.getId());
+        nivelPorId[p.getId()] = Math.max(0, Math.min(nivel, niveles.length - 1));
+    }
+
+    private void encolar(Proceso p) {
+        int nivel = nivelDe(p);
+        if (encolado[p.getId()] == p) {
+            // Su entrada vieja sigue en la cola y vuelve a ser válida
+            return;
+        }
+        encolado[p.getId()] = p;
+        niveles[nivel].addLast(p);
+        ocupados |= 1L << nivel;
+    }
+
+    private void asegurarCapacidad(int id) {
+        if (id >= nivelPorId.length) {
+            int nueva = Math.max(id + 1, nivelPorId.length * 2);
+            int anterior = nivelPorId.length;
+            nivelPorId = Arrays.copyOf(nivelPorId, nueva);
+            Arrays.fill(nivelPorId, anterior, nueva, -1);
+            encolado = Arrays.copyOf(encolado, nueva);
+        }
+    }
+}
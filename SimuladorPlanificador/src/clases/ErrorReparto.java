@@ -0,0 +1,180 @@
+package clases;
+
+import java.util.Arrays;
+
+/**
+ * Mide qué tan proporcional a los boletos fue el reparto de CPU de una
+ * corrida (para comparar Lotería y Zancadas).
+ * <p>
+ * Mientras un proceso compite (LISTO o EN_EJECUCION) le corresponde, en cada
+ * instante, la fracción boletos / boletos de todos los que compiten. Integrar
+ * eso da su parte justa en ticks; el error de reparto del proceso es la CPU
+ * que recibió menos esa parte. Para no recorrer a todos en cada cambio se
+ * lleva un reloj "por boleto", F(t) = integral de dt / boletos compitiendo:
+ * al entrar a competir se anota F, y al salir la parte justa suma boletos x
+ * (F actual - F anotado). Los cambios de boletos cierran un tramo y abren
+ * otro.
+ * </p>
+ * <p>
+ * Se suscribe al PCB al crearse (antes de ejecutar el algoritmo), como
+ * MetricasCorrida. Sólo tiene sentido con una CPU: con varias, la parte justa
+ * no sería de una sola cola.
+ * </p>
+ */
+public class ErrorReparto implements ObservadorPCB {
+
+    private final Simulacion sim;
+    private final PCB pcb;
+
+    /** Reloj por boleto F(t) y el tick hasta el que está al día. */
+    private double relojPorBoleto;
+    private int ultimoTick;
+
+    /** Boletos de los que compiten. */
+    private long boletosCompitiendo;
+
+    // --- Por id ---
+    /** F al entrar a competir (NaN = no compite). */
+    private double[] marcas;
+
+    /** Parte justa acumulada, en ticks. */
+    private double[] partes;
+
+    /** Boletos con los que está compitiendo. */
+    private int[] boletos;
+
+    // --- Procesos que ya salieron del sistema ---
+    private double sumaErroresFinalizados;
+    private double errorMaximoFinalizados;
+    private double sumaPartesFinalizados;
+    private int finalizados;
+
+    /**
+     * Empieza a medir los procesos de un PCB.
+     *
+     * @param sim Reloj de la corrida.
+     * @param pcb Bloque de control cuyos procesos se miden.
+     */
+    public ErrorReparto(Simulacion sim, PCB pcb) {
+        this.sim = sim;
+        this.pcb = pcb;
+        int ids = Math.max(16, pcb.obtenerProcesos().size() + 1);
+        marcas = new double[ids];
+        partes = new double[ids];
+        boletos = new int[ids];
+        Arrays.fill(marcas, Double.NaN);
+        ultimoTick = sim.tiempoActual;
+        for (Proceso p : pcb.obtenerProcesos()) {
+            if (compite(p.getEstado())) {
+                entrar(p);
+            }
+        }
+        pcb.suscribir(this);
+    }
+
+    @Override
+    public void cambioEstado(Proceso p, EstadoProceso anterior, EstadoProceso nuevo) {
+        if (anterior == null) {
+            // Llegada: un ID reciclado no hereda la parte justa de otro proceso
+            asegurarLugar(p.getId());
+            partes[p.getId()] = 0;
+        }
+        boolean antes = anterior != null && compite(anterior);
+        boolean ahora = compite(nuevo);
+        if (antes == ahora && nuevo != EstadoProceso.TERMINADO && nuevo != EstadoProceso.MUERTO) {
+            return;
+        }
+        actualizarReloj();
+        if (antes && !ahora) {
+            salir(p);
+        } else if (ahora && !antes) {
+            entrar(p);
+        }
+        if (nuevo == EstadoProceso.TERMINADO || nuevo == EstadoProceso.MUERTO) {
+            double error = Math.abs(p.getTiempoUsoCPU() - partes[p.getId()]);
+            sumaErroresFinalizados += error;
+            errorMaximoFinalizados = Math.max(errorMaximoFinalizados, error);
+            sumaPartesFinalizados += partes[p.getId()];
+            finalizados++;
+        }
+    }
+
+    @Override
+    public void cambioBoletos(Proceso p, int anterior) {
+        int id = p.getId();
+        if (id < marcas.length && !Double.isNaN(marcas[id])) {
+            actualizarReloj();
+            salir(p);
+            entrar(p);
+        }
+    }
+
+    /**
+     * Error de reparto de todos los procesos: los que salieron del sistema y
+     * los que siguen (con su parte justa hasta ahora).
+     *
+     * @return { error medio en ticks, error máximo en ticks, suma de errores /
+     *         suma de partes justas (0 a 1+) }.
+     */
+    public double[] errores() {
+        actualizarReloj();
+        double suma = sumaErroresFinalizados;
+        double maximo = errorMaximoFinalizados;
+        double partesTotales = sumaPartesFinalizados;
+        int n = finalizados;
+        for (Proceso p : pcb.obtenerProcesos()) {
+            if (p.getTiempoFin() >= 0) {
+                continue;
+            }
+            int id = p.getId();
+            double parte = id < partes.length ? partes[id] : 0;
+            if (id < marcas.length && !Double.isNaN(marcas[id])) {
+                parte += boletos[id] * (relojPorBoleto - marcas[id]);
+            }
+            double error = Math.abs(p.getTiempoUsoCPU() - parte);
+            suma += error;
+            maximo = Math.max(maximo, error);
+            partesTotales += parte;
+            n++;
+        }
+        return new double[] { n == 0 ? 0 : suma / n, maximo, partesTotales == 0 ? 0 : suma / partesTotales };
+    }
+
+    private static boolean compite(EstadoProceso estado) {
+        return estado == EstadoProceso.LISTO || estado == EstadoProceso.EN_EJECUCION;
+    }
+
+    private void actualizarReloj() {
+        int ahora = sim.tiempoActual;
+        if (ahora > ultimoTick && boletosCompitiendo > 0) {
+            relojPorBoleto += (double) (ahora - ultimoTick) / boletosCompitiendo;
+        }
+        ultimoTick = ahora;
+    }
+
+    private void entrar(Proceso p) {
+        int id = p.getId();
+        asegurarLugar(id);
+        marcas[id] = relojPorBoleto;
+        boletos[id] = p.getBoletos();
+        boletosCompitiendo += boletos[id];
+    }
+
+    private void asegurarLugar(int id) {
+        if (id >= marcas.length) {
+            int nuevo = Math.max(id + 1, marcas.length * 2);
+            int anterior = marcas.length;
+            marcas = Arrays.copyOf(marcas, nuevo);
+            partes = Arrays.copyOf(partes, nuevo);
+            boletos = Arrays.copyOf(boletos, nuevo);
+            Arrays.fill(marcas, anterior, nuevo, Double.NaN);
+        }
+    }
+
+    private void salir(Proceso p) {
+        int id = p.getId();
+        partes[id] += boletos[id] * (relojPorBoleto - marcas[id]);
+        marcas[id] = Double.NaN;
+        boletosCompitiendo -= boletos[id];
+    }
+}
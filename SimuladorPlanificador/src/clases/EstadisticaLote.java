@@ -0,0 +1,76 @@
+package clases;
+
+/**
+ * Acumula los ResumenCorrida de un lote de simulaciones y calcula, por métrica,
+ * la media, la desviación estándar y el intervalo de confianza del 95% de la
+ * media (aproximación normal).
+ * <p>
+ * Usa el algoritmo de Welford (media y suma de cuadrados incrementales), así
+ * que no guarda las corridas y es numéricamente estable con miles de ellas.
+ * No es seguro entre hilos: lo alimenta sólo el hilo que recoge los
+ * resultados.
+ * </p>
+ */
+public class EstadisticaLote {
+
+    /** Cuantil de la normal para un intervalo de confianza del 95%. */
+    private static final double Z_95 = 1.959963984540054;
+
+    private final double[] medias = new double[ResumenCorrida.METRICAS.length];
+    private final double[] sumasCuadrados = new double[ResumenCorrida.METRICAS.length];
+    private long corridas;
+
+    /**
+     * Incorpora el resultado de una corrida.
+     *
+     * @param resumen Resultado a sumar al lote.
+     */
+    public void agregar(ResumenCorrida resumen) {
+        double[] valores = resumen.valores();
+        corridas++;
+        for (int i = 0; i < valores.length; i++) {
+            double delta = valores[i] - medias[i];
+            medias[i] += delta / corridas;
+            sumasCuadrados[i] += delta * (valores[i] - medias[i]);
+        }
+    }
+
+    public long getCorridas() {
+        return corridas;
+    }
+
+    /** @return Media de la métrica i (ver ResumenCorrida.METRICAS). */
+    public double media(int i) {
+        return medias[i];
+    }
+
+    /** @return Desviación estándar muestral de la métrica i. */
+    public double desviacion(int i) {
+        return corridas > 1 ? Math.sqrt(sumasCuadrados[i] / (corridas - 1)) : 0.0;
+    }
+
+    /** @return Semiancho del intervalo de confianza del 95% de la media i. */
+    public double semiancho(int i) {
+        return corridas > 1 ? Z_95 * desviacion(i) / Math.sqrt(corridas) : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Indica si todas las métricas tienen un intervalo suficientemente angosto.
+     *
+     * @param anchoRelativo Semiancho máximo como fracción de la media (ej. 0.01
+     *                      = ±1%). Una métrica siempre en cero ya cumple.
+     * @return true si todas las métricas cumplen.
+     */
+    public boolean alcanzoAncho(double anchoRelativo) {
+        if (corridas < 2) {
+            return false;
+        }
+        for (int i = 0; i < medias.length; i++) {
+            double semiancho = semiancho(i);
+            if (semiancho > anchoRelativo * Math.abs(medias[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
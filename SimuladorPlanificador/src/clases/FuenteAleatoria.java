@@ -0,0 +1,56 @@
+package clases;
+
+import java.util.SplittableRandom;
+
+/**
+ * Fuente única de aleatoriedad de una corrida.
+ * <p>
+ * A partir de una sola semilla entrega a cada componente (generador de
+ * procesos, interrupciones, cada algoritmo) su propio flujo SplittableRandom,
+ * identificado por nombre. El flujo depende sólo de la semilla y del nombre,
+ * no del orden en que se pidan, así que:
+ * </p>
+ * <ul>
+ * <li>repetir la semilla reproduce la corrida exacta (para depurar o
+ * perfilar);</li>
+ * <li>las corridas en paralelo no comparten ningún generador (a diferencia de
+ * Math.random(), que usa uno global con contención entre hilos).</li>
+ * </ul>
+ * <p>
+ * Los flujos no son seguros entre hilos: cada corrida usa su propia fuente.
+ * </p>
+ */
+public class FuenteAleatoria {
+
+    /** Constante de Weyl de 64 bits (razón áurea), separa los flujos por nombre. */
+    private static final long GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long semilla;
+
+    /**
+     * @param semilla Semilla de toda la corrida.
+     */
+    public FuenteAleatoria(long semilla) {
+        this.semilla = semilla;
+    }
+
+    /** @return Una fuente con semilla al azar (corridas interactivas). */
+    public static FuenteAleatoria nueva() {
+        return new FuenteAleatoria(new SplittableRandom().nextLong());
+    }
+
+    public long getSemilla() {
+        return semilla;
+    }
+
+    /**
+     * Entrega un flujo nuevo para un componente. Pedir dos veces el mismo nombre
+     * devuelve dos generadores con la misma secuencia.
+     *
+     * @param componente Nombre estable del componente (ej. "interrupciones").
+     * @return Generador propio del componente en esta corrida.
+     */
+    public SplittableRandom flujo(String componente) {
+        return new SplittableRandom(semilla ^ (GAMMA * (componente.hashCode() + 1L)));
+    }
+}
@@ -1,67 +1,126 @@
 package clases;
 
-import java.util.Random;
+import eventos.TipoEvento;
+import java.util.SplittableRandom;
 
 /**
  * Simula el comportamiento de E/S (Entrada/Salida) en un Sistema Operativo.
  * Trabaja específicamente sobre Procesos que se encuentran en estado BLOQUEADO.
  * <p>
- * Su mecánica principal implica realizar intentos por "despertar" al proceso
- * (probabilidad 50%).
- * Si un proceso falla repetidamente en todos sus intentos máximos (3),
- * este gestor lo decreta con MUERTE POR INANICIÓN (pasa a estado TERMINADO).
+ * Cada tick posterior al bloqueo es un intento de "despertar" al proceso
+ * (probabilidad 50%). Si un proceso falla en todos sus intentos (3), este
+ * gestor lo decreta con MUERTE POR INANICIÓN (pasa a estado MUERTO).
+ * </p>
+ * <p>
+ * Los intentos no se sondean: al bloquearse un proceso se sortea de una vez
+ * en qué intento termina su I/O (o que no termina) y se agenda en una
+ * RuedaTemporizadores un FIN_IO en ese tick, o un VENCE_IO al agotar los
+ * intentos. Cada vuelta del algoritmo sólo atiende lo que ya venció, así que
+ * el costo no crece con la cantidad de bloqueados.
  * </p>
  */
 public class GestorInterrupciones {
 
+    /** Intentos (uno por tick) antes de morir por inanición. */
+    private static final int MAX_INTENTOS = 3;
+
     /** Generador de probabilidades para intentar el desbloqueo. */
-    private Random random;
+    private SplittableRandom random;
+
+    /** Reloj y receptor de eventos de la corrida en curso. */
+    private Simulacion sim;
+
+    /** Fines de I/O y vencimientos agendados de los BLOQUEADOS vigilados. */
+    private RuedaTemporizadores rueda;
 
     /**
-     * Constructor por defecto.
-     * Instancia el generador probabilístico.
+     * Constructor.
+     * Toma su generador probabilístico de la fuente aleatoria de la corrida.
+     *
+     * @param sim Simulación cuyo reloj y receptor de eventos se usarán para
+     *            reportar desbloqueos y muertes.
      */
-    public GestorInterrupciones() {
-        this.random = new Random();
+    public GestorInterrupciones(Simulacion sim) {
+        this.random = sim.flujo("interrupciones");
+        this.sim = sim;
+        this.rueda = new RuedaTemporizadores(sim.tiempoActual);
     }
 
     /**
-     * Intenta sacar repetidamente a un proceso concreto de su estado BLOQUEADO.
-     * Tiene un límite de hasta 3 intentos por ciclo en el que sea invocado.
-     * 
-     * @param proceso El proceso cuya reactivación está siendo intentada.
-     * @return true si el proceso logró desbloquearse a LISTO; false si no pudo.
+     * Empieza a atender la I/O de los procesos del PCB agendando a los que ya
+     * están BLOQUEADOS. De ahí en más, el algoritmo avisa cada bloqueo con
+     * alBloquearse() (desde el observador que ya tiene suscrito al PCB, para
+     * no sumar otro aviso a cada cambio de estado).
+     *
+     * @param pcb Bloque de control de la corrida.
      */
-    public boolean intentarDesbloquear(Proceso proceso) {
-
-        if (proceso.getEstado() != EstadoProceso.BLOQUEADO) {
-            return false;
+    public void vigilar(PCB pcb) {
+        rueda.vaciar();
+        rueda.avanzar(sim.tiempoActual);
+        rueda.reservar(pcb.contarEn(EstadoProceso.BLOQUEADO));
+        for (Proceso p : pcb.procesosEn(EstadoProceso.BLOQUEADO)) {
+            agendar(p);
         }
+    }
 
-        int intentos = 0;
-        final int MAX_INTENTOS = 3;
-
-        while (intentos < MAX_INTENTOS) {
-            System.out.println("  [I/O] Intento " + (intentos + 1) + " de desbloquear P" + proceso.getId());
+    /** Deja de atender la I/O y descarta lo agendado. */
+    public void dejarDeVigilar() {
+        rueda.vaciar();
+    }
 
-            int resultado = random.nextInt(2); // 0 o 1, 50% de exito
+    /**
+     * Un proceso vigilado acaba de pasar a BLOQUEADO (pidió I/O o se incorporó
+     * bloqueado): se agenda el fin de su I/O.
+     *
+     * @param proceso Proceso recién bloqueado.
+     */
+    public void alBloquearse(Proceso proceso) {
+        agendar(proceso);
+    }
 
-            if (resultado == 1) {
+    /**
+     * Despierta (o mata por inanición) a los BLOQUEADOS cuya I/O venció hasta
+     * el tick actual, en el orden de sus vencimientos.
+     */
+    public void atenderFinesDeIO() {
+        rueda.avanzar(sim.tiempoActual);
+        while (rueda.hayVencidos()) {
+            TipoEventoFuturo tipo = rueda.tipoVencido();
+            Proceso proceso = rueda.procesoVencido();
+            rueda.extraerVencido();
+            if (proceso.getEstado() != EstadoProceso.BLOQUEADO) {
+                continue;
+            }
+            if (tipo == TipoEventoFuturo.FIN_IO) {
                 proceso.setEstado(EstadoProceso.LISTO);
-                System.out.println("  [I/O] P" + proceso.getId() + " fue desbloqueado, vuelve a la cola de listos.");
-                return true;
+                sim.getEventos().emitir(TipoEvento.DESBLOQUEO, sim.tiempoActual, proceso);
+            } else {
+                // 3 intentos fallidos: el proceso muere por inanicion
+                proceso.forzarMuerte();
+                sim.getEventos().emitir(TipoEvento.MUERTE, sim.tiempoActual, proceso);
             }
-
-            System.out.println("  [I/O] P" + proceso.getId() + " sigue bloqueado en ese intento.");
-            intentos++;
         }
+    }
 
-        // 3 intentos fallidos: el proceso muere por inanicion
-        System.out.println("  [INANICION] P" + proceso.getId()
-                + " no se pudo desbloquear en 3 intentos. El proceso muere.");
-        System.out.println();
-        proceso.forzarMuerte();
+    /**
+     * @return Tick del próximo fin de I/O o vencimiento (exacto o una cota
+     *         inferior), o Integer.MAX_VALUE si no hay ningún BLOQUEADO agendado.
+     */
+    public int proximoFinDeIO() {
+        return rueda.proximoVencimiento();
+    }
 
-        return false;
+    /**
+     * Sortea en qué intento termina la I/O del proceso recién bloqueado y lo
+     * agenda: FIN_IO en ese tick, o VENCE_IO si fallan todos los intentos.
+     */
+    private void agendar(Proceso proceso) {
+        for (int intento = 1; intento <= MAX_INTENTOS; intento++) {
+            if (random.nextInt(2) == 1) { // 0 o 1, 50% de exito
+                rueda.agregar(sim.tiempoActual + intento, TipoEventoFuturo.FIN_IO, proceso);
+                return;
+            }
+        }
+        rueda.agregar(sim.tiempoActual + MAX_INTENTOS, TipoEventoFuturo.VENCE_IO, proceso);
     }
 }
@@ -1,12 +1,14 @@
 package clases;
 
-import java.util.Random;
+import eventos.ConsolaEventos;
+import eventos.ReceptorEventos;
+import java.util.SplittableRandom;
 import java.util.List;
 import java.util.ArrayList;
 
 /**
  * Encargada de poblar y retornar la tabla inyectada inicial (`PCB`).
- * Contiene el generador algorítmico principal (java.util.Random) que distribuye
+ * Contiene el generador algorítmico principal (un flujo de FuenteAleatoria) que distribuye
  * las
  * probabilidades base para los atributos: Tiempos, Estados y Prioridades de
  * forma dinámica.
@@ -23,15 +25,67 @@ public class GestorProcesos {
      */
     private PCB pcb;
 
-    /** Componente utilitario de semillas aleatorio de Java. */
-    private Random random;
+    /** Flujo aleatorio propio del generador de procesos. */
+    private SplittableRandom random;
 
     /**
-     * Constructor por defecto. Inicializa en vacío el generador de semillas.
+     * Flujo aparte para los plazos, para que sortearlos no altere los demás
+     * atributos de una semilla.
+     */
+    private SplittableRandom randomPlazos;
+
+    /** Receptor donde se anuncia la creación de procesos y la tabla inicial. */
+    private ReceptorEventos eventos;
+
+    /**
+     * Constructor por defecto. Usa una semilla al azar.
      */
     public GestorProcesos() {
-        this.random = new Random();
+        this(new ConsolaEventos(0));
+    }
+
+    /**
+     * Constructor con receptor explícito (ej. ReceptorNulo para corridas sin
+     * consola).
+     *
+     * @param eventos Receptor de mensajes y tablas.
+     */
+    public GestorProcesos(ReceptorEventos eventos) {
+        this(eventos, FuenteAleatoria.nueva());
+    }
+
+    /**
+     * Constructor con consola y fuente aleatoria explícita (ej. la de la
+     * Simulacion, para que una sola semilla reproduzca la corrida completa).
+     *
+     * @param aleatorio Fuente de la que sale el flujo del generador.
+     */
+    public GestorProcesos(FuenteAleatoria aleatorio) {
+        this(new ConsolaEventos(0), aleatorio);
+    }
+
+    /**
+     * Constructor con receptor y fuente aleatoria explícitos.
+     *
+     * @param eventos   Receptor de mensajes y tablas.
+     * @param aleatorio Fuente de la que sale el flujo del generador.
+     */
+    public GestorProcesos(ReceptorEventos eventos, FuenteAleatoria aleatorio) {
+        this.random = aleatorio.flujo("procesos");
+        this.randomPlazos = aleatorio.flujo("plazos");
         this.pcb = null;
+        this.eventos = eventos;
+    }
+
+    /**
+     * Constructor con semilla fija: la misma semilla genera siempre la misma
+     * carga de procesos (benchmarks, corridas reproducibles).
+     *
+     * @param eventos Receptor de mensajes y tablas.
+     * @param semilla Semilla del generador de atributos.
+     */
+    public GestorProcesos(ReceptorEventos eventos, long semilla) {
+        this(eventos, new FuenteAleatoria(semilla));
     }
 
     /**
@@ -45,7 +99,19 @@ public class GestorProcesos {
         // Creamos entre 5 y 10 procesos al azar, asegurando suficiente masa de prueba.
         // Se puede modificar fácilmente si se desea un entorno de alta concurrencia.
         int numProcesos = random.nextInt(6) + 5; // [0-5] + 5 = 5 hasta 10
-        List<Proceso> lista = new ArrayList<>();
+        inicializarProcesos(tiempoActual, numProcesos);
+    }
+
+    /**
+     * Variante con cantidad fija de procesos, pensada para corridas masivas.
+     *
+     * @param tiempoActual El contador del reloj inicial donde nacen los procesos.
+     * @param numProcesos  Cuántos procesos generar.
+     */
+    public void inicializarProcesos(int tiempoActual, int numProcesos) {
+        List<Proceso> lista = new ArrayList<>(numProcesos);
+        // Los datos de todos los procesos se guardan juntos en arreglos primitivos
+        TablaProcesos tabla = new TablaProcesos(numProcesos);
 
         for (int i = 1; i <= numProcesos; i++) {
             // Tiempos restantes variables [3 a 10]. Sirve bien para probar "Mas Corto
@@ -68,16 +134,60 @@ public class GestorProcesos {
             String usuario = "Usuario" + (random.nextInt(3) + 1);
 
             // Inyección al modelo Base
-            Proceso nuevo = new Proceso(i, tiempo, estado, prioridad, boletos, usuario, tiempoActual);
+            Proceso nuevo = tabla.crear(i, tiempo, estado, prioridad, boletos, usuario, tiempoActual);
+
+            // Plazo: la mitad son trabajos con plazo, de 2 a 8 veces su ráfaga
+            if (randomPlazos.nextBoolean()) {
+                nuevo.setPlazo(tiempo * (randomPlazos.nextInt(7) + 2));
+            }
             lista.add(nuevo);
         }
 
         // Empaquetamiento final
         this.pcb = new PCB(lista);
 
-        System.out.println("\n--- [INICIO] Se han creado " + numProcesos + " procesos iniciales. ---");
+        eventos.mensaje("\n--- [INICIO] Se han creado " + numProcesos + " procesos iniciales. ---");
         // Impresión inicial de validación visual
-        this.pcb.mostrarTabla();
+        eventos.tabla(this.pcb);
+    }
+
+    /**
+     * Alternativa a inicializarProcesos: arranca con el PCB vacío y deja que la
+     * traza vaya inyectando los procesos cuando el reloj alcanza su llegada
+     * (los que llegan en el tick actual se admiten de inmediato).
+     *
+     * @param lector Traza abierta (ver LectorTraza); la cierra quien la abrió.
+     * @param sim    Simulación cuyo reloj gobierna las llegadas.
+     * @return Las llegadas en curso (para consultar el resumen al final).
+     */
+    public LlegadasTraza cargarTraza(LectorTraza lector, Simulacion sim) {
+        this.pcb = new PCB(new ArrayList<>());
+        LlegadasTraza llegadas = new LlegadasTraza(lector, pcb, sim);
+
+        eventos.mensaje("\n--- [INICIO] Traza cargada: " + llegadas.getAdmitidos()
+                + " procesos en t=" + sim.tiempoActual + ", el resto llega con el reloj. ---");
+        eventos.tabla(this.pcb);
+        return llegadas;
+    }
+
+    /**
+     * Alternativa a inicializarProcesos: arranca con el PCB vacío y deja que
+     * las tareas periódicas liberen sus trabajos con el reloj (los del tick
+     * actual se liberan de inmediato).
+     *
+     * @param tareas Tareas con sus prioridades ya asignadas (ver
+     *               TareaPeriodica.leer).
+     * @param sim    Simulación cuyo reloj gobierna las liberaciones.
+     * @return Las liberaciones en curso (para consultar el resumen al final).
+     */
+    public LiberacionesPeriodicas cargarPeriodicas(List<TareaPeriodica> tareas, Simulacion sim) {
+        this.pcb = new PCB(new ArrayList<>());
+        LiberacionesPeriodicas liberaciones = new LiberacionesPeriodicas(tareas, pcb, sim);
+
+        eventos.mensaje("\n--- [INICIO] " + tareas.size() + " tareas periódicas: " + liberaciones.getAdmitidos()
+                + " trabajos liberados en t=" + sim.tiempoActual + ", el resto se libera con el reloj. ---");
+        eventos.tabla(this.pcb);
+        return liberaciones;
     }
 
     /**
@@ -0,0 +1,117 @@
+package clases;
+
+/**
+ * Histograma de tiempos (en ticks) de memoria fija, para sacar percentiles de
+ * corridas con millones de procesos sin guardar cada valor.
+ * <p>
+ * Las casillas son log-lineales: los valores menores que SUBCASILLAS se
+ * cuentan exactos y a partir de ahí cada potencia de dos se divide en
+ * SUBCASILLAS/2 casillas iguales, así que un percentil se informa con un error
+ * relativo menor a 2/SUBCASILLAS (~3%). Todo int no negativo cabe en CASILLAS
+ * contadores; el mínimo, el máximo y la media son exactos.
+ * </p>
+ */
+public class HistogramaTiempos {
+
+    /** Valores exactos por debajo de este umbral (potencia de dos). */
+    private static final int SUBCASILLAS = 64;
+    private static final int BITS_SUB = 6;
+    private static final int MITAD = SUBCASILLAS / 2;
+
+    /** Casillas necesarias para cubrir hasta Integer.MAX_VALUE. */
+    private static final int CASILLAS = (32 - BITS_SUB + 1) * MITAD;
+
+    private final long[] conteos = new long[CASILLAS];
+    private long cantidad;
+    private long suma;
+    private int minimo = Integer.MAX_VALUE;
+    private int maximo;
+
+    /**
+     * Cuenta un valor (los negativos se toman como 0).
+     *
+     * @param valor Tiempo en ticks.
+     */
+    public void registrar(int valor) {
+        valor = Math.max(0, valor);
+        conteos[casilla(valor)]++;
+        cantidad++;
+        suma += valor;
+        minimo = Math.min(minimo, valor);
+        maximo = Math.max(maximo, valor);
+    }
+
+    /**
+     * Suma los conteos de otro histograma (ej. de otra corrida).
+     *
+     * @param otro Histograma a combinar.
+     */
+    public void combinar(HistogramaTiempos otro) {
+        for (int i = 0; i < CASILLAS; i++) {
+            conteos[i] += otro.conteos[i];
+        }
+        cantidad += otro.cantidad;
+        suma += otro.suma;
+        minimo = Math.min(minimo, otro.minimo);
+        maximo = Math.max(maximo, otro.maximo);
+    }
+
+    /**
+     * Valor por debajo del cual (o igual) cae la fracción pedida de los datos.
+     *
+     * @param percentil Entre 0 y 100.
+     * @return El tope de la casilla del percentil (acotado al máximo real), o
+     *         0 si no hay datos.
+     */
+    public int percentil(double percentil) {
+        if (cantidad == 0) {
+            return 0;
+        }
+        long objetivo = Math.max(1, (long) Math.ceil(percentil / 100.0 * cantidad));
+        long acumulado = 0;
+        for (int i = 0; i < CASILLAS; i++) {
+            acumulado += conteos[i];
+            if (acumulado >= objetivo) {
+                return Math.max(minimo, Math.min(maximo, tope(i)));
+            }
+        }
+        return maximo;
+    }
+
+    public long getCantidad() {
+        return cantidad;
+    }
+
+    /** @return Media exacta, o 0 si no hay datos. */
+    public double media() {
+        return cantidad == 0 ? 0 : (double) suma / cantidad;
+    }
+
+    /** @return Mínimo registrado, o 0 si no hay datos. */
+    public int getMinimo() {
+        return cantidad == 0 ? 0 : minimo;
+    }
+
+    public int getMaximo() {
+        return maximo;
+    }
+
+    private static int casilla(int valor) {
+        if (valor < SUBCASILLAS) {
+            return valor;
+        }
+        // Exponente que deja al valor en [MITAD, SUBCASILLAS)
+        int exponente = 31 - Integer.numberOfLeadingZeros(valor) - (BITS_SUB - 1);
+        return (exponente << (BITS_SUB - 1)) + (valor >>> exponente);
+    }
+
+    /** Mayor valor que cae en la casilla. */
+    private static int tope(int casilla) {
+        if (casilla < SUBCASILLAS) {
+            return casilla;
+        }
+        int exponente = (casilla >>> (BITS_SUB - 1)) - 1;
+        long sub = casilla - ((long) exponente << (BITS_SUB - 1));
+        return (int) Math.min(Integer.MAX_VALUE, ((sub + 1) << exponente) - 1);
+    }
+}
@@ -0,0 +1,224 @@
+package clases;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Índice de boletos de lotería de los procesos LISTOS (árbol de Fenwick).
+ * <p>
+ * Cada proceso LISTO ocupa una casilla del árbol (base 1) y aporta ahí sus
+ * boletos. El árbol guarda sumas parciales, así que el total es O(1) y un
+ * sorteo (buscar la casilla donde la suma acumulada alcanza el boleto elegido)
+ * cuesta O(log n) en lugar de sumar y recorrer a todos los candidatos. Se
+ * suscribe al PCB, de modo que las entradas y salidas de LISTO y los cambios
+ * de boletos se aplican en el momento, también en O(log n).
+ * </p>
+ * <p>
+ * Las casillas que dejan libres los procesos que salen de LISTO se reciclan,
+ * así que el árbol crece con la cantidad de LISTOS simultáneos y no con el ID
+ * más alto (importante en trazas con millones de llegadas). Por ID sólo se
+ * guarda la casilla actual de cada proceso.
+ * </p>
+ * <p>
+ * Creado sin PCB no se suscribe a nada y se llena a mano con agregar() y
+ * quitar() (por ejemplo, la cola de una CPU en ColaCpu).
+ * </p>
+ */
+public class IndiceBoletos implements ObservadorPCB {
+
+    /** Árbol de Fenwick (base 1) con las sumas parciales de boletos. */
+    private long[] arbol;
+
+    /** Boletos que aporta cada casilla (0 si está libre). */
+    private int[] pesos;
+
+    /** Proceso dueño de cada casilla. */
+    private Proceso[] procesos;
+
+    private long total;
+
+    /** Casilla de cada proceso, por ID (0 = no tiene). */
+    private int[] casillaPorId;
+
+    /** Pila de casillas liberadas, listas para reusar. */
+    private int[] libres;
+    private int cantidadLibres;
+
+    /** Casillas entregadas alguna vez (la siguiente nueva es usadas + 1). */
+    private int usadas;
+
+    /**
+     * Crea el índice con los procesos que ya están LISTOS y lo suscribe al PCB.
+     *
+     * @param pcb Bloque de control de la corrida.
+     */
+    public IndiceBoletos(PCB pcb) {
+        int capacidad = Math.max(16, pcb.contarEn(EstadoProceso.LISTO) + 1);
+        this.arbol = new long[capacidad];
+        this.pesos = new int[capacidad];
+        this.procesos = new Proceso[capacidad];
+        this.libres = new int[16];
+        this.casillaPorId = new int[Math.max(16, pcb.obtenerProcesos().size() + 1)];
+        for (Proceso p : pcb.procesosEn(EstadoProceso.LISTO)) {
+            int boletos = Math.max(0, p.getBoletos());
+            if (boletos > 0) {
+                int casilla = nuevaCasilla(p);
+                pesos[casilla] = boletos;
+            }
+        }
+        reconstruir();
+        pcb.suscribir(this);
+    }
+
+    /**
+     * Crea un índice vacío que no observa a ningún PCB.
+     */
+    public IndiceBoletos() {
+        this.arbol = new long[16];
+        this.pesos = new int[16];
+        this.procesos = new Proceso[16];
+        this.libres = new int[16];
+        this.casillaPorId = new int[16];
+    }
+
+    @Override
+    public void cambioEstado(Proceso p, EstadoProceso anterior, EstadoProceso nuevo) {
+        if (anterior == EstadoProceso.LISTO) {
+            asignar(p, 0);
+        } else if (nuevo == EstadoProceso.LISTO) {
+            asignar(p, p.getBoletos());
+        }
+    }
+
+    @Override
+    public void cambioBoletos(Proceso p, int anterior) {
+        if (p.getEstado() == EstadoProceso.LISTO) {
+            asignar(p, p.getBoletos());
+        }
+    }
+
+    /**
+     * Pone en juego los boletos de un proceso (o los actualiza).
+     *
+     * @param p Proceso a agregar.
+     */
+    public void agregar(Proceso p) {
+        asignar(p, p.getBoletos());
+    }
+
+    /**
+     * Saca del sorteo a un proceso (no hace nada si no estaba).
+     *
+     * @param p Proceso a quitar.
+     */
+    public void quitar(Proceso p) {
+        asignar(p, 0);
+    }
+
+    /** @return Suma de boletos de todos los procesos LISTOS. */
+    public long total() {
+        return total;
+    }
+
+    /**
+     * Sortea un proceso LISTO con probabilidad proporcional a sus boletos.
+     *
+     * @param random Generador a usar.
+     * @return El ganador, o null si no hay boletos en juego.
+     */
+    public Proceso sortear(RandomGenerator random) {
+        if (total <= 0) {
+            return null;
+        }
+        return buscar(random.nextLong(total) + 1);
+    }
+
+    /**
+     * Devuelve el proceso que posee el boleto indicado, contando los boletos en
+     * orden de casilla.
+     *
+     * @param boleto Número de boleto, de 1 a total().
+     * @return Proceso dueño de ese boleto.
+     */
+    public Proceso buscar(long boleto) {
+        // Descenso por potencias de dos: la casilla más alta cuya suma
+        // acumulada aún es menor que el boleto; el dueño es la siguiente.
+        int i = 0;
+        for (int paso = Integer.highestOneBit(arbol.length - 1); paso > 0; paso >>>= 1) {
+            int siguiente = i + paso;
+            if (siguiente < arbol.length && arbol[siguiente] < boleto) {
+                i = siguiente;
+                boleto -= arbol[siguiente];
+            }
+        }
+        return procesos[i + 1];
+    }
+
+    private void asignar(Proceso p, int boletos) {
+        int id = p.getId();
+        boletos = Math.max(0, boletos);
+        int casilla = id < casillaPorId.length ? casillaPorId[id] : 0;
+        if (casilla == 0) {
+            if (boletos == 0) {
+                return;
+            }
+            casilla = nuevaCasilla(p);
+        }
+        int delta = boletos - pesos[casilla];
+        pesos[casilla] = boletos;
+        total += delta;
+        for (int i = casilla; i < arbol.length; i += i & -i) {
+            arbol[i] += delta;
+        }
+        if (boletos == 0) {
+            // Sin boletos la casilla nunca sale sorteada: se recicla
+            procesos[casilla] = null;
+            casillaPorId[id] = 0;
+            if (cantidadLibres == libres.length) {
+                libres = Arrays.copyOf(libres, libres.length * 2);
+            }
+            libres[cantidadLibres++] = casilla;
+        }
+    }
+
+    /** Entrega una casilla vacía (reciclada o nueva) al proceso. */
+    private int nuevaCasilla(Proceso p) {
+        int casilla;
+        if (cantidadLibres > 0) {
+            casilla = libres[--cantidadLibres];
+        } else {
+            casilla = ++usadas;
+            if (casilla >= arbol.length) {
+                crecer(casilla + 1);
+            }
+        }
+        int id = p.getId();
+        if (id >= casillaPorId.length) {
+            casillaPorId = Arrays.copyOf(casillaPorId, Math.max(id + 1, casillaPorId.length * 2));
+        }
+        casillaPorId[id] = casilla;
+        procesos[casilla] = p;
+        return casilla;
+    }
+
+    private void crecer(int minimo) {
+        int nueva = Math.max(minimo, arbol.length * 2);
+        pesos = Arrays.copyOf(pesos, nueva);
+        procesos = Arrays.copyOf(procesos, nueva);
+        arbol = new long[nueva];
+        reconstruir();
+    }
+
+    /** Reconstruye el árbol desde pesos en O(n). */
+    private void reconstruir() {
+        total = 0;
+        for (int i = 1; i < arbol.length; i++) {
+            arbol[i] += pesos[i];
+            total += pesos[i];
+            int padre = i + (i & -i);
+            if (padre < arbol.length) {
+                arbol[padre] += arbol[i];
+            }
+        }
+    }
+}
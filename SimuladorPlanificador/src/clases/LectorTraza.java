@@ -0,0 +1,469 @@
+package clases;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Lee una traza de carga (un proceso por línea) como flujo, sin cargarla
+ * entera en memoria.
+ * <p>
+ * Acepta dos formatos:
+ * </p>
+ * <ul>
+ * <li>CSV: columnas id, llegada, rafaga, prioridad, boletos, usuario, plazo. Si la
+ * primera línea es un encabezado se usa para ubicar las columnas (en cualquier
+ * orden); si no, se asume ese orden.</li>
+ * <li>JSON Lines: un objeto plano por línea, ej.
+ * {"id":1,"llegada":0,"rafaga":5,"prioridad":3,"boletos":2,"usuario":"Usuario1"}.</li>
+ * </ul>
+ * <p>
+ * Los nombres también se aceptan en inglés (arrival, burst, priority, tickets,
+ * user, deadline). id, llegada y rafaga son obligatorios; prioridad y boletos
+ * valen 1, usuario "Usuario1" y plazo 0 (sin plazo) si faltan. El plazo se
+ * cuenta en ticks desde la llegada. Las líneas vacías y las que empiezan con '#'
+ * se ignoran. Las llegadas deben venir en orden no decreciente, que es lo que
+ * permite inyectarlas a medida que avanza el reloj.
+ * </p>
+ * <p>
+ * siguiente() deja el registro leído en los campos del lector (no crea un
+ * objeto por línea). Un dato inválido lanza IllegalArgumentException con el
+ * número de línea.
+ * </p>
+ */
+public class LectorTraza implements Closeable {
+
+    /** Formato de la traza. */
+    public enum Formato {
+        CSV, JSONL;
+
+        /**
+         * @param archivo Ruta de la traza.
+         * @return JSONL para las extensiones .jsonl, .ndjson y .json; CSV para el
+         *         resto.
+         */
+        public static Formato de(Path archivo) {
+            String nombre = archivo.getFileName().toString().toLowerCase();
+            if (nombre.endsWith(".jsonl") || nombre.endsWith(".ndjson") || nombre.endsWith(".json")) {
+                return JSONL;
+            }
+            return CSV;
+        }
+    }
+
+    // Índices de campo (orden por defecto de las columnas CSV)
+    private static final int ID = 0;
+    private static final int LLEGADA = 1;
+    private static final int RAFAGA = 2;
+    private static final int PRIORIDAD = 3;
+    private static final int BOLETOS = 4;
+    private static final int USUARIO = 5;
+    private static final int PLAZO = 6;
+    private static final int CAMPOS = 7;
+
+    private final BufferedReader entrada;
+    private final Formato formato;
+
+    /** Columna CSV de cada campo (-1 = ausente). */
+    private int[] columnas = { 0, 1, 2, 3, 4, 5, 6 };
+    private boolean encabezadoRevisado;
+
+    private long linea;
+    private final boolean[] presentes = new boolean[CAMPOS];
+
+    // --- Registro actual ---
+    private int id;
+    private int llegada;
+    private int rafaga;
+    private int prioridad;
+    private int boletos;
+    private String usuario;
+    private int plazo;
+
+    /**
+     * Abre una traza; el formato se deduce de la extensión.
+     *
+     * @param archivo Ruta de la traza (UTF-8).
+     * @throws IOException Si no se puede abrir.
+     */
+    public LectorTraza(Path archivo) throws IOException {
+        this(Files.newBufferedReader(archivo, StandardCharsets.UTF_8), Formato.de(archivo));
+    }
+
+    /**
+     * @param entrada Texto de la traza.
+     * @param formato Formato de las líneas.
+     */
+    public LectorTraza(Reader entrada, Formato formato) {
+        this.entrada = entrada instanceof BufferedReader ? (BufferedReader) entrada
+                : new BufferedReader(entrada, 1 << 16);
+        this.formato = formato;
+    }
+
+    /**
+     * Lee el siguiente proceso de la traza.
+     *
+     * @return false si se acabó la traza.
+     * @throws IllegalArgumentException Si la línea es inválida o la llegada es
+     *                                  anterior a la del registro previo.
+     * @throws UncheckedIOException     Si falla la lectura.
+     */
+    public boolean siguiente() {
+        int llegadaAnterior = llegada;
+        String texto;
+        try {
+            while ((texto = entrada.readLine()) != null) {
+                linea++;
+                texto = texto.trim();
+                if (texto.isEmpty() || texto.charAt(0) == '#') {
+                    continue;
+                }
+                if (formato == Formato.CSV && !encabezadoRevisado) {
+                    encabezadoRevisado = true;
+                    if (esEncabezado(texto)) {
+                        leerEncabezado(texto);
+                        continue;
+                    }
+                }
+                break;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer la traza (línea " + linea + ")", e);
+        }
+        if (texto == null) {
+            return false;
+        }
+
+        Arrays.fill(presentes, false);
+        prioridad = 1;
+        boletos = 1;
+        usuario = "Usuario1";
+        plazo = 0;
+        if (formato == Formato.CSV) {
+            leerCSV(texto);
+        } else {
+            leerJSON(texto);
+        }
+
+        if (!presentes[ID] || !presentes[LLEGADA] || !presentes[RAFAGA]) {
+            throw error("faltan id, llegada o rafaga");
+        }
+        if (id < 0) {
+            throw error("id negativo: " + id);
+        }
+        if (llegada < llegadaAnterior) {
+            throw error("la llegada " + llegada + " es anterior a la previa (" + llegadaAnterior
+                    + "); la traza debe venir ordenada por llegada");
+        }
+        if (rafaga <= 0) {
+            throw error("la ráfaga debe ser positiva: " + rafaga);
+        }
+        if (boletos < 1) {
+            throw error("los boletos deben ser al menos 1: " + boletos);
+        }
+        if (plazo < 0) {
+            throw error("el plazo no puede ser negativo: " + plazo);
+        }
+        return true;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int getLlegada() {
+        return llegada;
+    }
+
+    public int getRafaga() {
+        return rafaga;
+    }
+
+    public int getPrioridad() {
+        return prioridad;
+    }
+
+    public int getBoletos() {
+        return boletos;
+    }
+
+    public String getUsuario() {
+        return usuario;
+    }
+
+    /** @return Plazo relativo a la llegada, o 0 si el proceso no tiene. */
+    public int getPlazo() {
+        return plazo;
+    }
+
+    /** @return Número de la última línea leída. */
+    public long getLinea() {
+        return linea;
+    }
+
+    @Override
+    public void close() throws IOException {
+        entrada.close();
+    }
+
+    // =========================================================================
+    // CSV
+    // =========================================================================
+
+    private static boolean esEncabezado(String texto) {
+        char c = texto.charAt(0);
+        return !(c == '-' || (c >= '0' && c <= '9'));
+    }
+
+    private void leerEncabezado(String texto) {
+        columnas = new int[CAMPOS];
+        Arrays.fill(columnas, -1);
+        String[] nombres = texto.split(",");
+        for (int i = 0; i < nombres.length; i++) {
+            int campo = campo(nombres[i].trim());
+            if (campo >= 0) {
+                columnas[campo] = i;
+            }
+        }
+    }
+
+    private void leerCSV(String texto) {
+        int columna = 0;
+        int inicio = 0;
+        int n = texto.length();
+        while (inicio <= n) {
+            int fin = texto.indexOf(',', inicio);
+            if (fin < 0) {
+                fin = n;
+            }
+            for (int campo = 0; campo < CAMPOS; campo++) {
+                if (columnas[campo] == columna) {
+                    asignar(campo, texto, inicio, fin, false);
+                }
+            }
+            columna++;
+            inicio = fin + 1;
+        }
+    }
+
+    // =========================================================================
+    // JSON LINES (objetos planos: claves texto, valores número o texto)
+    // =========================================================================
+
+    private void leerJSON(String texto) {
+        int i = saltarEspacios(texto, 0);
+        if (i >= texto.length() || texto.charAt(i) != '{') {
+            throw error("se esperaba un objeto JSON");
+        }
+        i = saltarEspacios(texto, i + 1);
+        if (i < texto.length() && texto.charAt(i) == '}') {
+            return;
+        }
+        StringBuilder buffer = new StringBuilder();
+        while (true) {
+            if (i >= texto.length() || texto.charAt(i) != '"') {
+                throw error("se esperaba una clave entre comillas");
+            }
+            buffer.setLength(0);
+            i = leerCadena(texto, i, buffer);
+            int campo = campo(buffer.toString());
+            i = saltarEspacios(texto, i);
+            if (i >= texto.length() || texto.charAt(i) != ':') {
+                throw error("se esperaba ':'");
+            }
+            i = saltarEspacios(texto, i + 1);
+            if (i < texto.length() && texto.charAt(i) == '"') {
+                buffer.setLength(0);
+                i = leerCadena(texto, i, buffer);
+                if (campo >= 0) {
+                    asignar(campo, buffer, 0, buffer.length(), true);
+                }
+            } else {
+                int inicio = i;
+                while (i < texto.length() && texto.charAt(i) != ',' && texto.charAt(i) != '}') {
+                    i++;
+                }
+                int fin = i;
+                while (fin > inicio && Character.isWhitespace(texto.charAt(fin - 1))) {
+                    fin--;
+                }
+                if (campo >= 0) {
+                    asignar(campo, texto, inicio, fin, false);
+                }
+            }
+            i = saltarEspacios(texto, i);
+            if (i >= texto.length()) {
+                throw error("objeto JSON sin cerrar");
+            }
+            char c = texto.charAt(i);
+            if (c == '}') {
+                return;
+            }
+            if (c != ',') {
+                throw error("se esperaba ',' o '}'");
+            }
+            i = saltarEspacios(texto, i + 1);
+        }
+    }
+
+    /**
+     * Copia a buffer la cadena JSON que empieza en la comilla de la posición i.
+     *
+     * @return Posición siguiente a la comilla de cierre.
+     */
+    private int leerCadena(String texto, int i, StringBuilder buffer) {
+        i++;
+        while (i < texto.length()) {
+            char c = texto.charAt(i++);
+            if (c == '"') {
+                return i;
+            }
+            if (c == '\\' && i < texto.length()) {
+                char e = texto.charAt(i++);
+                switch (e) {
+                    case 'n':
+                        buffer.append('\n');
+                        break;
+                    case 't':
+                        buffer.append('\t');
+                        break;
+                    case 'r':
+                        buffer.append('\r');
+                        break;
+                    case 'b':
+                        buffer.append('\b');
+                        break;
+                    case 'f':
+                        buffer.append('\f');
+                        break;
+                    case 'u':
+                        if (i + 4 > texto.length()) {
+                            throw error("escape \\u incompleto");
+                        }
+                        buffer.append((char) Integer.parseInt(texto.substring(i, i + 4), 16));
+                        i += 4;
+                        break;
+                    default:
+                        buffer.append(e);
+                        break;
+                }
+            } else {
+                buffer.append(c);
+            }
+        }
+        throw error("cadena JSON sin cerrar");
+    }
+
+    private static int saltarEspacios(String texto, int i) {
+        while (i < texto.length() && Character.isWhitespace(texto.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    // =========================================================================
+    // CAMPOS
+    // =========================================================================
+
+    /** @return Índice de campo para un nombre de columna o clave, o -1. */
+    private static int campo(String nombre) {
+        switch (nombre.toLowerCase()) {
+            case "id":
+            case "pid":
+                return ID;
+            case "llegada":
+            case "arrival":
+            case "arrival_time":
+                return LLEGADA;
+            case "rafaga":
+            case "ráfaga":
+            case "burst":
+                return RAFAGA;
+            case "prioridad":
+            case "priority":
+                return PRIORIDAD;
+            case "boletos":
+            case "tickets":
+                return BOLETOS;
+            case "usuario":
+            case "user":
+                return USUARIO;
+            case "plazo":
+            case "deadline":
+                return PLAZO;
+            default:
+                return -1;
+        }
+    }
+
+    private void asignar(int campo, CharSequence texto, int inicio, int fin, boolean esCadena) {
+        while (inicio < fin && Character.isWhitespace(texto.charAt(inicio))) {
+            inicio++;
+        }
+        while (fin > inicio && Character.isWhitespace(texto.charAt(fin - 1))) {
+            fin--;
+        }
+        if (campo == USUARIO) {
+            usuario = texto.subSequence(inicio, fin).toString();
+            presentes[campo] = true;
+            return;
+        }
+        if (inicio == fin && !esCadena) {
+            // Columna vacía: se deja el valor por defecto
+            return;
+        }
+        int valor = entero(texto, inicio, fin);
+        switch (campo) {
+            case ID:
+                id = valor;
+                break;
+            case LLEGADA:
+                llegada = valor;
+                break;
+            case RAFAGA:
+                rafaga = valor;
+                break;
+            case PRIORIDAD:
+                prioridad = valor;
+                break;
+            case BOLETOS:
+                boletos = valor;
+                break;
+            default:
+                plazo = valor;
+                break;
+        }
+        presentes[campo] = true;
+    }
+
+    /** Entero decimal sin crear Strings intermedios. */
+    private int entero(CharSequence texto, int inicio, int fin) {
+        boolean negativo = inicio < fin && texto.charAt(inicio) == '-';
+        int i = negativo ? inicio + 1 : inicio;
+        if (i == fin) {
+            throw error("número vacío");
+        }
+        long valor = 0;
+        for (; i < fin; i++) {
+            char c = texto.charAt(i);
+            if (c < '0' || c > '9') {
+                throw error("número inválido: " + texto.subSequence(inicio, fin));
+            }
+            valor = valor * 10 + (c - '0');
+            if (valor > Integer.MAX_VALUE) {
+                throw error("número fuera de rango: " + texto.subSequence(inicio, fin));
+            }
+        }
+        return (int) (negativo ? -valor : valor);
+    }
+
+    private IllegalArgumentException error(String detalle) {
+        return new IllegalArgumentException("Traza inválida (línea " + linea + "): " + detalle);
+    }
+}
@@ -0,0 +1,205 @@
+package clases;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Libera los trabajos de un conjunto de tareas periódicas a medida que avanza
+ * el reloj: cada trabajo es un Proceso LISTO con ráfaga igual al wcet de su
+ * tarea, la prioridad Rate Monotonic de la tarea, el nombre de la tarea como
+ * usuario y el período como plazo.
+ * <p>
+ * Como LlegadasTraza, deja en la agenda de la Simulacion un único evento
+ * LIBERACION para el próximo instante en que alguna tarea libera, crea los
+ * procesos en tablas de FILAS_POR_BLOQUE filas y retira del PCB a los
+ * trabajos que terminan o mueren, así que la memoria depende de los trabajos
+ * pendientes y no del largo de la corrida (varios hiperperíodos).
+ * </p>
+ * <p>
+ * De cada tarea lleva los trabajos liberados y terminados, el peor tiempo de
+ * respuesta observado (fin - liberación) y los plazos incumplidos, para
+ * contrastarlos con el AnalisisTiempoRespuesta.
+ * </p>
+ */
+public class LiberacionesPeriodicas implements ObservadorPCB {
+
+    /** Filas de cada TablaProcesos donde se crean los trabajos. */
+    public static final int FILAS_POR_BLOQUE = 4096;
+
+    private final List<TareaPeriodica> tareas;
+    private final PCB pcb;
+    private final Simulacion sim;
+
+    /** Tick de la próxima liberación de cada tarea. */
+    private final long[] proximas;
+
+    /** Índice de tarea por nombre (el usuario de sus trabajos). */
+    private final Map<String, Integer> indices = new HashMap<>();
+
+    // --- Seguimiento por tarea ---
+    private final long[] liberados;
+    private final long[] terminados;
+    private final long[] incumplidos;
+    private final int[] peoresRespuestas;
+
+    /** Tabla en la que se están creando los trabajos. */
+    private TablaProcesos bloque;
+
+    /** IDs internos de los trabajos vivos (ver ReservaIds). */
+    private final ReservaIds ids = new ReservaIds(1);
+
+    /** Número del próximo trabajo, que queda como su etiqueta. */
+    private int siguienteId = 1;
+    private long admitidos;
+
+    /** Trabajos retirados del PCB, por categoría de ResumenCorrida. */
+    private final int[] retirados = new int[4];
+
+    /**
+     * Se suscribe al PCB, libera los trabajos del tick actual y agenda la
+     * siguiente liberación (lo invoca GestorProcesos.cargarPeriodicas).
+     */
+    LiberacionesPeriodicas(List<TareaPeriodica> tareas, PCB pcb, Simulacion sim) {
+        this.tareas = tareas;
+        this.pcb = pcb;
+        this.sim = sim;
+        int n = tareas.size();
+        this.proximas = new long[n];
+        this.liberados = new long[n];
+        this.terminados = new long[n];
+        this.incumplidos = new long[n];
+        this.peoresRespuestas = new int[n];
+        for (int i = 0; i < n; i++) {
+            proximas[i] = tareas.get(i).getDesfase();
+            if (indices.putIfAbsent(tareas.get(i).getNombre(), i) != null) {
+                throw new IllegalArgumentException("Tarea repetida: " + tareas.get(i).getNombre());
+            }
+        }
+        pcb.suscribir(this);
+        sim.conectarLiberaciones(this);
+        liberarHasta(sim.tiempoActual);
+    }
+
+    /**
+     * Libera los trabajos de todas las tareas cuyo instante ya llegó, en el
+     * orden de las tareas, y agenda la próxima liberación (lo invoca la
+     * Simulacion al atender un evento LIBERACION).
+     *
+     * @param tiempo Tick actual del reloj.
+     */
+    void liberarHasta(int tiempo) {
+        long proxima = Long.MAX_VALUE;
+        for (int i = 0; i < proximas.length; i++) {
+            TareaPeriodica tarea = tareas.get(i);
+            while (proximas[i] <= tiempo) {
+                liberar(tarea, (int) proximas[i]);
+                liberados[i]++;
+                proximas[i] += tarea.getPeriodo();
+            }
+            proxima = Math.min(proxima, proximas[i]);
+        }
+        if (proxima < sim.tiempoMonitoreo) {
+            sim.programar((int) proxima, TipoEventoFuturo.LIBERACION, null);
+        }
+    }
+
+    private void liberar(TareaPeriodica tarea, int instante) {
+        if (bloque == null || bloque.tamano() == FILAS_POR_BLOQUE) {
+            bloque = new TablaProcesos(FILAS_POR_BLOQUE);
+        }
+        Proceso p = bloque.crear(ids.tomar(), tarea.getComputo(), EstadoProceso.LISTO,
+                tarea.getPrioridad(), 1, tarea.getNombre(), instante);
+        p.setEtiqueta(siguienteId++);
+        p.setPlazo(tarea.getPeriodo());
+        pcb.agregar(p);
+        admitidos++;
+    }
+
+    @Override
+    public void cambioEstado(Proceso p, EstadoProceso anterior, EstadoProceso nuevo) {
+        if (nuevo == EstadoProceso.TERMINADO || nuevo == EstadoProceso.MUERTO) {
+            int i = indices.get(p.getUsuario());
+            int fin = sim.tiempoActual;
+            if (nuevo == EstadoProceso.TERMINADO) {
+                terminados[i]++;
+                peoresRespuestas[i] = Math.max(peoresRespuestas[i], fin - p.getTiempoCreacion());
+            }
+            if (nuevo == EstadoProceso.MUERTO || fin > p.getVencimiento()) {
+                incumplidos[i]++;
+            }
+            retirados[ResumenCorrida.categoria(p)]++;
+            pcb.retirar(p);
+            ids.devolver(p.getId());
+        }
+    }
+
+    /** @return Trabajos liberados hasta ahora (de todas las tareas). */
+    public long getAdmitidos() {
+        return admitidos;
+    }
+
+    public List<TareaPeriodica> getTareas() {
+        return tareas;
+    }
+
+    /**
+     * @param i Índice de la tarea.
+     * @return Trabajos liberados de la tarea.
+     */
+    public long getLiberados(int i) {
+        return liberados[i];
+    }
+
+    /**
+     * @param i Índice de la tarea.
+     * @return Trabajos de la tarea que terminaron.
+     */
+    public long getTerminados(int i) {
+        return terminados[i];
+    }
+
+    /**
+     * Plazos incumplidos de la tarea: trabajos que terminaron tarde o murieron,
+     * más los que siguen en el sistema con el plazo vencido.
+     *
+     * @param i Índice de la tarea.
+     * @return Cantidad de trabajos.
+     */
+    public long getIncumplidos(int i) {
+        long vencidos = 0;
+        String nombre = tareas.get(i).getNombre();
+        for (Proceso p : pcb.obtenerProcesos()) {
+            if (p.getVencimiento() < sim.tiempoActual && nombre.equals(p.getUsuario())) {
+                vencidos++;
+            }
+        }
+        return incumplidos[i] + vencidos;
+    }
+
+    /**
+     * @param i Índice de la tarea.
+     * @return Peor tiempo de respuesta observado entre sus trabajos terminados
+     *         (0 si ninguno terminó).
+     */
+    public int getPeorRespuesta(int i) {
+        return peoresRespuestas[i];
+    }
+
+    /**
+     * Resumen de la corrida: los trabajos retirados más los que siguen en el
+     * PCB.
+     *
+     * @param totalCambios Cambios de contexto registrados por la Simulacion.
+     * @return El resumen de la corrida completa.
+     */
+    public ResumenCorrida resumen(int totalCambios) {
+        ResumenCorrida vivos = ResumenCorrida.de(pcb.obtenerProcesos(), totalCambios);
+        return new ResumenCorrida(
+                vivos.getTerminados() + retirados[ResumenCorrida.TERMINADO],
+                vivos.getMuertos() + retirados[ResumenCorrida.MUERTO],
+                vivos.getNuncaEjecutados() + retirados[ResumenCorrida.NUNCA_EJECUTADO],
+                vivos.getNoTerminaron() + retirados[ResumenCorrida.NO_TERMINO],
+                totalCambios);
+    }
+}
@@ -0,0 +1,122 @@
+package clases;
+
+/**
+ * Inyecta al PCB los procesos de una traza a medida que el reloj alcanza su
+ * tiempo de llegada.
+ * <p>
+ * Sólo hay un registro leído por adelantado: en la agenda de la Simulacion
+ * queda un único evento LLEGADA (sin proceso) para el próximo instante de
+ * llegada, y al atenderlo se admiten todos los procesos de ese tick y se
+ * agenda el siguiente. Así la traza nunca se carga entera y el reloj puede
+ * seguir saltando de evento en evento.
+ * </p>
+ * <p>
+ * Para que la memoria dependa de los procesos vivos y no del largo de la
+ * traza, los procesos que terminan o mueren se cuentan (por grupo del
+ * ReporteFinal) y se retiran del PCB. Los procesos se crean en tablas de
+ * FILAS_POR_BLOQUE filas; una tabla se libera sola cuando ya nadie referencia
+ * a ninguno de sus procesos.
+ * </p>
+ * <p>
+ * El ID de la traza es sólo la etiqueta del proceso (puede repetirse o ser
+ * enorme); internamente cada proceso admitido usa un ID de una ReservaIds,
+ * que vuelve a la reserva al retirarse.
+ * </p>
+ */
+public class LlegadasTraza implements ObservadorPCB {
+
+    /** Filas de cada TablaProcesos donde se crean los procesos de la traza. */
+    public static final int FILAS_POR_BLOQUE = 4096;
+
+    private final LectorTraza lector;
+    private final PCB pcb;
+    private final Simulacion sim;
+
+    /** IDs internos de los procesos admitidos. */
+    private final ReservaIds ids = new ReservaIds(1);
+
+    /** Tabla en la que se están creando los procesos. */
+    private TablaProcesos bloque;
+
+    /** Si el lector tiene un registro leído que aún no se admitió. */
+    private boolean pendiente;
+
+    private long admitidos;
+
+    /** Procesos retirados del PCB, por categoría de ResumenCorrida. */
+    private final int[] retirados = new int[4];
+
+    /**
+     * Se suscribe al PCB, admite los procesos que ya llegaron y agenda la
+     * siguiente llegada (lo invoca GestorProcesos.cargarTraza).
+     */
+    LlegadasTraza(LectorTraza lector, PCB pcb, Simulacion sim) {
+        this.lector = lector;
+        this.pcb = pcb;
+        this.sim = sim;
+        this.pendiente = lector.siguiente();
+        pcb.suscribir(this);
+        sim.conectarLlegadas(this);
+        admitirHasta(sim.tiempoActual);
+    }
+
+    /**
+     * Admite todos los procesos con llegada hasta el tick dado y agenda la
+     * próxima llegada (lo invoca la Simulacion al atender un evento LLEGADA).
+     *
+     * @param tiempo Tick actual del reloj.
+     */
+    void admitirHasta(int tiempo) {
+        while (pendiente && lector.getLlegada() <= tiempo) {
+            if (bloque == null || bloque.tamano() == FILAS_POR_BLOQUE) {
+                bloque = new TablaProcesos(FILAS_POR_BLOQUE);
+            }
+            Proceso p = bloque.crear(ids.tomar(), lector.getRafaga(), EstadoProceso.LISTO,
+                    lector.getPrioridad(), lector.getBoletos(), lector.getUsuario(), lector.getLlegada());
+            p.setEtiqueta(lector.getId());
+            p.setPlazo(lector.getPlazo());
+            pcb.agregar(p);
+            admitidos++;
+            pendiente = lector.siguiente();
+        }
+        if (pendiente) {
+            sim.programar(lector.getLlegada(), TipoEventoFuturo.LLEGADA, null);
+        }
+    }
+
+    @Override
+    public void cambioEstado(Proceso p, EstadoProceso anterior, EstadoProceso nuevo) {
+        if (nuevo == EstadoProceso.TERMINADO || nuevo == EstadoProceso.MUERTO) {
+            retirados[ResumenCorrida.categoria(p)]++;
+            pcb.retirar(p);
+            ids.devolver(p.getId());
+        }
+    }
+
+    /** @return Procesos de la traza admitidos hasta ahora. */
+    public long getAdmitidos() {
+        return admitidos;
+    }
+
+    /** @return true si quedan llegadas por leer en la traza. */
+    public boolean hayPendientes() {
+        return pendiente;
+    }
+
+    /**
+     * Resumen de la corrida: los procesos retirados más los que siguen en el
+     * PCB.
+     *
+     * @param totalCambios Cambios de contexto registrados por la Simulacion.
+     * @return El resumen de la corrida completa.
+     */
+    public ResumenCorrida resumen(int totalCambios) {
+        ResumenCorrida vivos = ResumenCorrida.de(pcb.obtenerProcesos(), totalCambios);
+        return new ResumenCorrida(
+                vivos.getTerminados() + retirados[ResumenCorrida.TERMINADO],
+                vivos.getMuertos() + retirados[ResumenCorrida.MUERTO],
+                vivos.getNuncaEjecutados() + retirados[ResumenCorrida.NUNCA_EJECUTADO],
+                vivos.getNoTerminaron() + retirados[ResumenCorrida.NO_TERMINO],
+                totalCambios);
+    }
+}
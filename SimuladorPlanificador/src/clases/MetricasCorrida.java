@@ -0,0 +1,296 @@
+package clases;
+
+import java.util.Arrays;
+
+/**
+ * Mide la corrida mientras ocurre: marca en cada proceso su primer despacho,
+ * su fin y el tiempo que pasa en la cola de LISTOS, y acumula en histogramas
+ * de memoria fija los tiempos de retorno, espera y respuesta.
+ * <p>
+ * Se suscribe al PCB al crearse (debe hacerse antes de ejecutar el algoritmo)
+ * y toma la hora del reloj de la Simulacion en cada transición, así que no
+ * depende del algoritmo ni de que los procesos sigan en el PCB al terminar
+ * (en las trazas se retiran al salir). Definiciones, en ticks:
+ * </p>
+ * <ul>
+ * <li>Retorno: fin - llegada (sólo procesos TERMINADOS).</li>
+ * <li>Espera: tiempo acumulado en LISTO (sólo procesos TERMINADOS).</li>
+ * <li>Respuesta: primer despacho - llegada (todo proceso despachado).</li>
+ * <li>Rendimiento: procesos terminados por tick.</li>
+ * <li>Utilización: ticks de CPU ocupada / (ticks simulados x CPUs).</li>
+ * </ul>
+ * <p>
+ * De los procesos con plazo (ver Proceso.getPlazo) cuenta además:
+ * </p>
+ * <ul>
+ * <li>Cumplidos: TERMINADOS hasta su vencimiento (llegada + plazo).</li>
+ * <li>Incumplidos: TERMINADOS después de su vencimiento, MUERTOS y los que
+ * siguen en el sistema con el vencimiento ya pasado.</li>
+ * <li>Atraso: fin - vencimiento de los TERMINADOS (0 si cumplieron).</li>
+ * <li>EDF ideal: los plazos que incumpliría una CPU ideal (de velocidad igual
+ * a la cantidad de CPUs, sin I/O y con expropiación inmediata) que atiende por
+ * vencimiento a los mismos procesos desde que llegan. Como EDF es óptimo en
+ * una CPU, si incumple es porque en alguna ventana de llegada a vencimiento
+ * la demanda supera la capacidad: hay sobrecarga y ningún algoritmo puede
+ * cumplir todos los plazos. La CPU ideal se simula a la par de la corrida y
+ * sólo guarda el trabajo que le queda pendiente, no la historia.</li>
+ * </ul>
+ */
+public class MetricasCorrida implements ObservadorPCB {
+
+    private final Simulacion sim;
+    private final PCB pcb;
+
+    private final HistogramaTiempos retorno = new HistogramaTiempos();
+    private final HistogramaTiempos espera = new HistogramaTiempos();
+    private final HistogramaTiempos respuesta = new HistogramaTiempos();
+    private final HistogramaTiempos atraso = new HistogramaTiempos();
+
+    /** Ticks de CPU de los procesos que ya salieron del sistema. */
+    private long cpuFinalizados;
+
+    // --- Plazos de los procesos que ya salieron del sistema ---
+    private int cumplidos;
+    private int terminadosTarde;
+    private int muertosConPlazo;
+
+    // --- CPU ideal EDF: montículo de mínimos por vencimiento del trabajo pendiente ---
+    private long[] vencimientosIdeal = new long[16];
+    private double[] restantesIdeal = new double[16];
+    private int pendientesIdeal;
+    private double tiempoIdeal;
+    private int incumplidosIdeal;
+    private double atrasoMaximoIdeal;
+    private boolean conPlazos;
+
+    /**
+     * Empieza a medir los procesos de un PCB.
+     *
+     * @param sim Reloj de la corrida.
+     * @param pcb Bloque de control cuyos procesos se miden.
+     */
+    public MetricasCorrida(Simulacion sim, PCB pcb) {
+        this.sim = sim;
+        this.pcb = pcb;
+        tiempoIdeal = sim.tiempoActual;
+        for (Proceso p : pcb.obtenerProcesos()) {
+            if (p.tienePlazo()) {
+                llegadaIdeal(p);
+            }
+        }
+        pcb.suscribir(this);
+    }
+
+    @Override
+    public void cambioEstado(Proceso p, EstadoProceso anterior, EstadoProceso nuevo) {
+        int ahora = sim.tiempoActual;
+        if (anterior == null && p.tienePlazo()) {
+            llegadaIdeal(p);
+        }
+        if (anterior == EstadoProceso.LISTO) {
+            p.setTiempoEspera(p.getTiempoEspera() + ahora - p.getMarcaListo());
+        }
+        switch (nuevo) {
+            case LISTO:
+                p.setMarcaListo(ahora);
+                break;
+            case EN_EJECUCION:
+                if (p.getTiempoPrimerDespacho() < 0) {
+                    p.setTiempoPrimerDespacho(ahora);
+                    respuesta.registrar(p.getTiempoRespuesta());
+                }
+                break;
+            case TERMINADO:
+            case MUERTO:
+                p.setTiempoFin(ahora);
+                cpuFinalizados += p.getTiempoUsoCPU();
+                if (nuevo == EstadoProceso.TERMINADO) {
+                    retorno.registrar(p.getTiempoRetorno());
+                    espera.registrar(p.getTiempoEspera());
+                }
+                if (p.tienePlazo()) {
+                    registrarPlazo(p, nuevo, ahora);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void registrarPlazo(Proceso p, EstadoProceso nuevo, int ahora) {
+        if (nuevo == EstadoProceso.MUERTO) {
+            muertosConPlazo++;
+            return;
+        }
+        int demora = ahora - p.getVencimiento();
+        if (demora <= 0) {
+            cumplidos++;
+        } else {
+            terminadosTarde++;
+        }
+        atraso.registrar(demora);
+    }
+
+    public HistogramaTiempos getRetorno() {
+        return retorno;
+    }
+
+    public HistogramaTiempos getEspera() {
+        return espera;
+    }
+
+    public HistogramaTiempos getRespuesta() {
+        return respuesta;
+    }
+
+    /** @return Atraso (fin - vencimiento, 0 si cumplió) de los TERMINADOS con plazo. */
+    public HistogramaTiempos getAtraso() {
+        return atraso;
+    }
+
+    /** @return TERMINADOS hasta su vencimiento. */
+    public int getCumplidos() {
+        return cumplidos;
+    }
+
+    /** @return TERMINADOS después de su vencimiento. */
+    public int getTerminadosTarde() {
+        return terminadosTarde;
+    }
+
+    /** @return Procesos con plazo que murieron (cuentan como incumplidos). */
+    public int getMuertosConPlazo() {
+        return muertosConPlazo;
+    }
+
+    /**
+     * Cuenta los procesos con plazo que siguen en el sistema.
+     *
+     * @return { con el vencimiento ya pasado, todavía a tiempo }.
+     */
+    public int[] pendientesConPlazo() {
+        int vencidos = 0;
+        int aTiempo = 0;
+        for (Proceso p : pcb.obtenerProcesos()) {
+            if (p.tienePlazo() && p.getTiempoFin() < 0) {
+                if (p.getVencimiento() < sim.tiempoActual) {
+                    vencidos++;
+                } else {
+                    aTiempo++;
+                }
+            }
+        }
+        return new int[] { vencidos, aTiempo };
+    }
+
+    /** @return true si algún proceso llegó con plazo. */
+    public boolean hayPlazos() {
+        return conPlazos;
+    }
+
+    /**
+     * Plazos que incumpliría la CPU ideal EDF con los procesos llegados hasta
+     * ahora: los que terminó tarde y los que tiene pendientes con el
+     * vencimiento ya pasado.
+     *
+     * @return { incumplidos (más de 0 = sobrecarga), atraso máximo en ticks }.
+     */
+    public double[] edfIdeal() {
+        avanzarIdeal(sim.tiempoActual);
+        int incumplidos = incumplidosIdeal;
+        double atrasoMaximo = atrasoMaximoIdeal;
+        for (int i = 0; i < pendientesIdeal; i++) {
+            if (vencimientosIdeal[i] < tiempoIdeal) {
+                incumplidos++;
+                atrasoMaximo = Math.max(atrasoMaximo, tiempoIdeal - vencimientosIdeal[i]);
+            }
+        }
+        return new double[] { incumplidos, atrasoMaximo };
+    }
+
+    /** Pone la ráfaga de un proceso con plazo en la CPU ideal, al llegar. */
+    private void llegadaIdeal(Proceso p) {
+        conPlazos = true;
+        avanzarIdeal(sim.tiempoActual);
+        if (pendientesIdeal == vencimientosIdeal.length) {
+            vencimientosIdeal = Arrays.copyOf(vencimientosIdeal, pendientesIdeal * 2);
+            restantesIdeal = Arrays.copyOf(restantesIdeal, pendientesIdeal * 2);
+        }
+        int i = pendientesIdeal++;
+        long vencimiento = p.getVencimiento();
+        while (i > 0 && vencimientosIdeal[(i - 1) >>> 1] > vencimiento) {
+            int padre = (i - 1) >>> 1;
+            vencimientosIdeal[i] = vencimientosIdeal[padre];
+            restantesIdeal[i] = restantesIdeal[padre];
+            i = padre;
+        }
+        vencimientosIdeal[i] = vencimiento;
+        restantesIdeal[i] = p.getTiempoInicial();
+    }
+
+    /** Corre la CPU ideal hasta el tick dado, siempre el trabajo que vence antes. */
+    private void avanzarIdeal(double hasta) {
+        double velocidad = Math.max(1, sim.numCpus);
+        while (pendientesIdeal > 0 && tiempoIdeal < hasta) {
+            double necesario = restantesIdeal[0] / velocidad;
+            if (tiempoIdeal + necesario > hasta) {
+                restantesIdeal[0] -= (hasta - tiempoIdeal) * velocidad;
+                tiempoIdeal = hasta;
+                return;
+            }
+            tiempoIdeal += necesario;
+            double atraso = tiempoIdeal - vencimientosIdeal[0];
+            if (atraso > 1e-9) {
+                incumplidosIdeal++;
+                atrasoMaximoIdeal = Math.max(atrasoMaximoIdeal, atraso);
+            }
+            sacarCimaIdeal();
+        }
+        tiempoIdeal = Math.max(tiempoIdeal, hasta);
+    }
+
+    private void sacarCimaIdeal() {
+        int n = --pendientesIdeal;
+        long vencimiento = vencimientosIdeal[n];
+        double restante = restantesIdeal[n];
+        int i = 0;
+        while (2 * i + 1 < n) {
+            int hijo = 2 * i + 1;
+            if (hijo + 1 < n && vencimientosIdeal[hijo + 1] < vencimientosIdeal[hijo]) {
+                hijo++;
+            }
+            if (vencimiento <= vencimientosIdeal[hijo]) {
+                break;
+            }
+            vencimientosIdeal[i] = vencimientosIdeal[hijo];
+            restantesIdeal[i] = restantesIdeal[hijo];
+            i = hijo;
+        }
+        vencimientosIdeal[i] = vencimiento;
+        restantesIdeal[i] = restante;
+    }
+
+    /** @return Ticks simulados hasta ahora. */
+    public int getTicks() {
+        return sim.tiempoActual;
+    }
+
+    /** @return Procesos terminados por tick simulado. */
+    public double rendimiento() {
+        return sim.tiempoActual == 0 ? 0 : (double) retorno.getCantidad() / sim.tiempoActual;
+    }
+
+    /** @return Fracción (0 a 1) de la capacidad de CPU (todas las CPUs) que se usó. */
+    public double utilizacion() {
+        if (sim.tiempoActual == 0) {
+            return 0;
+        }
+        long ocupada = cpuFinalizados;
+        for (Proceso p : pcb.obtenerProcesos()) {
+            if (p.getTiempoFin() < 0) {
+                ocupada += p.getTiempoUsoCPU();
+            }
+        }
+        return Math.min(1.0, (double) ocupada / ((long) sim.tiempoActual * sim.numCpus));
+    }
+}
@@ -0,0 +1,132 @@
+package clases;
+
+import java.util.Arrays;
+
+/**
+ * Montículo binario de mínimos de procesos con clave de 64 bits (vencimiento,
+ * pase de zancada...). Ante claves iguales sale primero el que entró antes.
+ * <p>
+ * Como ColaPrioridad, guarda claves y procesos en arreglos paralelos y sube o
+ * baja "huecos" en lugar de intercambiar; a diferencia de ella no observa al
+ * PCB ni indexa posiciones: la política que lo usa mete a cada proceso al
+ * pasar a LISTO y lo saca al elegirlo, así que nunca hace falta quitar a uno
+ * del medio.
+ * </p>
+ */
+public class MonticuloProcesos {
+
+    private long[] claves;
+    private long[] secuencias;
+    private Proceso[] procesos;
+    private int tamano;
+    private long secuencia;
+
+    /**
+     * @param capacidad Lugares reservados de antemano (crece solo).
+     */
+    public MonticuloProcesos(int capacidad) {
+        capacidad = Math.max(16, capacidad);
+        claves = new long[capacidad];
+        secuencias = new long[capacidad];
+        procesos = new Proceso[capacidad];
+    }
+
+    public boolean estaVacio() {
+        return tamano == 0;
+    }
+
+    public int tamano() {
+        return tamano;
+    }
+
+    /**
+     * Agrega un proceso detrás de los que ya tienen su misma clave.
+     *
+     * @param p     Proceso.
+     * @param clave Clave de orden (sale primero la menor).
+     */
+    public void agregar(Proceso p, long clave) {
+        if (tamano == claves.length) {
+            claves = Arrays.copyOf(claves, tamano * 2);
+            secuencias = Arrays.copyOf(secuencias, tamano * 2);
+            procesos = Arrays.copyOf(procesos, tamano * 2);
+        }
+        subir(tamano++, clave, secuencia++, p);
+    }
+
+    /** @return Proceso de menor clave, o null si está vacío. */
+    public Proceso verMinimo() {
+        return tamano == 0 ? null : procesos[0];
+    }
+
+    /**
+     * Saca al proceso de menor clave.
+     *
+     * @return El proceso, o null si estaba vacío.
+     */
+    public Proceso extraerMinimo() {
+        if (tamano == 0) {
+            return null;
+        }
+        Proceso minimo = procesos[0];
+        int ultimo = --tamano;
+        long clave = claves[ultimo];
+        long orden = secuencias[ultimo];
+        Proceso movido = procesos[ultimo];
+        procesos[ultimo] = null;
+        if (ultimo > 0) {
+            bajar(0, clave, orden, movido);
+        }
+        return minimo;
+    }
+
+    /** Vacía el montículo. */
+    public void vaciar() {
+        Arrays.fill(procesos, 0, tamano, null);
+        tamano = 0;
+    }
+
+    private boolean menor(long clave, long orden, int i) {
+        return clave < claves[i] || (clave == claves[i] && orden < secuencias[i]);
+    }
+
+    private void subir(int i, long clave, long orden, Proceso p) {
+        while (i > 0) {
+            int padre = (i - 1) >>> 1;
+            if (!menor(clave, orden, padre)) {
+                break;
+            }
+            mover(padre, i);
+            i = padre;
+        }
+        colocar(i, clave, orden, p);
+    }
+
+    private void bajar(int i, long clave, long orden, Proceso p) {
+        int mitad = tamano >>> 1;
+        while (i < mitad) {
+            int hijo = 2 * i + 1;
+            if (hijo + 1 < tamano && menor(claves[hijo + 1], secuencias[hijo + 1], hijo)) {
+                hijo++;
+            }
+            if (menor(clave, orden, hijo)) {
+                break;
+            }
+            mover(hijo, i);
+            i = hijo;
+        }
+        colocar(i, clave, orden, p);
+    }
+
+    private void mover(int desde, int hacia) {
+        claves[hacia] = claves[desde];
+        secuencias[hacia] = secuencias[desde];
+        procesos[hacia] = procesos[desde];
+    }
+
+    private void colocar(int i, long clave, long orden, Proceso p) {
+        claves[i] = clave;
+        secuencias[i] = orden;
+        procesos[i] = p;
+    }
+}
@@ -0,0 +1,41 @@
+package clases;
+
+/**
+ * Estructura auxiliar que quiere enterarse de los cambios de los procesos de un
+ * PCB (colas de listos, índices de boletos, etc.) para mantenerse al día sin
+ * recorrer la lista completa.
+ * <p>
+ * Se registra con PCB.suscribir y recibe cada transición real de estado, venga
+ * de quien venga (el algoritmo, el GestorInterrupciones o la agenda de
+ * eventos de la Simulacion).
+ * </p>
+ */
+public interface ObservadorPCB {
+
+    /**
+     * Un proceso cambió de estado (anterior != nuevo).
+     *
+     * @param p        Proceso que cambió.
+     * @param anterior Estado que tenía (null si acaba de incorporarse al PCB).
+     * @param nuevo    Estado que tiene ahora.
+     */
+    void cambioEstado(Proceso p, EstadoProceso anterior, EstadoProceso nuevo);
+
+    /**
+     * Un proceso cambió de prioridad. Por defecto se ignora.
+     *
+     * @param p        Proceso que cambió (ya tiene la prioridad nueva).
+     * @param anterior Prioridad que tenía.
+     */
+    default void cambioPrioridad(Proceso p, int anterior) {
+    }
+
+    /**
+     * Un proceso cambió su cantidad de boletos. Por defecto se ignora.
+     *
+     * @param p        Proceso que cambió (ya tiene los boletos nuevos).
+     * @param anterior Boletos que tenía.
+     */
+    default void cambioBoletos(Proceso p, int anterior) {
+    }
+}
@@ -1,7 +1,12 @@
 package clases;
 
+import java.util.AbstractCollection;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.stream.Collectors;
 
 /**
@@ -24,11 +29,51 @@ public class PCB {
      */
     private List<Proceso> procesos;
 
+    private static final int NINGUNA = -1;
+
+    /*
+     * Índice por estado: para cada EstadoProceso, la lista de los procesos que
+     * están en él (en el orden en que fueron entrando). Proceso.setEstado avisa
+     * de cada transición, así que nunca hay que recorrer la lista completa para
+     * saber quién está LISTO o BLOQUEADO. Cada proceso ocupa una ranura (su
+     * número queda en la TablaProcesos) y las listas se enlazan por ranura en
+     * arreglos de int, sin un nodo por proceso; las ranuras de los retirados se
+     * reciclan con una ReservaIds.
+     */
+
+    /** Primera y última ranura de la lista de cada estado (NINGUNA = vacía). */
+    private final int[] primeras = new int[EstadoProceso.values().length];
+    private final int[] ultimas = new int[EstadoProceso.values().length];
+    private final int[] cantidades = new int[EstadoProceso.values().length];
+
+    /** Por ranura: el proceso y sus vecinos en la lista de su estado. */
+    private Proceso[] ranuras;
+    private int[] siguientes;
+    private int[] anteriores;
+    private final ReservaIds ranurasLibres = new ReservaIds(0);
+
+    /** Vistas de sólo lectura de cada lista, creadas una vez para no asignar memoria. */
+    private final Collection<Proceso>[] vistasPorEstado;
+
+    /**
+     * Acceso directo al proceso que ocupa la CPU (null si está ociosa). Con
+     * varias CPUs (Multiprocesador) es sólo el último despachado: el algoritmo
+     * lleva la cuenta de cada CPU.
+     */
+    private Proceso enEjecucion;
+
+    /** Procesos retirados que todavía figuran en la lista (se quitan por lotes). */
+    private int retiradosPendientes;
+
+    /** Estructuras auxiliares a las que se avisa de cada cambio (colas de listos, etc.). */
+    private final List<ObservadorPCB> observadores = new ArrayList<>();
+
     /**
      * Constructor del PCB.
      * 
      * @param procesos Lista inicial de procesos a controlar.
      */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
     public PCB(List<Proceso> procesos) {
         // Validación de robustez (null tracking prevencion)
         if (procesos == null) {
@@ -36,6 +81,179 @@ public class PCB {
         } else {
             this.procesos = procesos;
         }
+
+        int capacidad = Math.max(16, this.procesos.size());
+        ranuras = new Proceso[capacidad];
+        siguientes = new int[capacidad];
+        anteriores = new int[capacidad];
+        Arrays.fill(primeras, NINGUNA);
+        Arrays.fill(ultimas, NINGUNA);
+        vistasPorEstado = new Collection[EstadoProceso.values().length];
+        for (int e = 0; e < vistasPorEstado.length; e++) {
+            vistasPorEstado[e] = new ListaEstado(e);
+        }
+        for (Proceso p : this.procesos) {
+            indexar(p);
+        }
+    }
+
+    /**
+     * Incorpora un proceso nuevo al PCB (por ejemplo, una llegada a mitad de la
+     * corrida).
+     *
+     * @param proceso Proceso a controlar.
+     */
+    public void agregar(Proceso proceso) {
+        if (retiradosPendientes > 64 && retiradosPendientes > procesos.size() / 2) {
+            compactar();
+        }
+        procesos.add(proceso);
+        indexar(proceso);
+        // Para los observadores, incorporarse es "entrar" a su estado inicial
+        for (int i = 0; i < observadores.size(); i++) {
+            observadores.get(i).cambioEstado(proceso, null, proceso.getEstado());
+        }
+    }
+
+    /**
+     * Saca del PCB a un proceso TERMINADO o MUERTO que ya no volverá a
+     * planificarse (por ejemplo, en la reproducción de trazas largas, para no
+     * acumular todos los procesos de la corrida). Deja de figurar en los
+     * índices por estado de inmediato y en obtenerProcesos() a partir de la
+     * siguiente consulta. No debe volver a cambiar de estado.
+     *
+     * @param p Proceso a retirar.
+     */
+    public void retirar(Proceso p) {
+        if (!indexado(p)) {
+            return;
+        }
+        int r = p.ranura();
+        desenlazar(r, p.getEstado().ordinal());
+        ranuras[r] = null;
+        ranurasLibres.devolver(r);
+        p.ranura(NINGUNA);
+        if (enEjecucion == p) {
+            enEjecucion = null;
+        }
+        retiradosPendientes++;
+    }
+
+    /** Quita de la lista a los procesos retirados (O(n), amortizado por lotes). */
+    private void compactar() {
+        procesos.removeIf(p -> !indexado(p));
+        retiradosPendientes = 0;
+    }
+
+    private boolean indexado(Proceso p) {
+        int r = p.ranura();
+        return r >= 0 && r < ranuras.length && ranuras[r] == p;
+    }
+
+    private void indexar(Proceso p) {
+        p.vincular(this);
+        if (indexado(p)) {
+            return;
+        }
+        int r = ranurasLibres.tomar();
+        if (r == ranuras.length) {
+            int nueva = r * 2;
+            ranuras = Arrays.copyOf(ranuras, nueva);
+            siguientes = Arrays.copyOf(siguientes, nueva);
+            anteriores = Arrays.copyOf(anteriores, nueva);
+        }
+        ranuras[r] = p;
+        p.ranura(r);
+        enlazar(r, p.getEstado().ordinal());
+        if (p.getEstado() == EstadoProceso.EN_EJECUCION) {
+            enEjecucion = p;
+        }
+    }
+
+    /** Pone la ranura al final de la lista del estado. */
+    private void enlazar(int r, int estado) {
+        siguientes[r] = NINGUNA;
+        anteriores[r] = ultimas[estado];
+        if (ultimas[estado] == NINGUNA) {
+            primeras[estado] = r;
+        } else {
+            siguientes[ultimas[estado]] = r;
+        }
+        ultimas[estado] = r;
+        cantidades[estado]++;
+    }
+
+    /** Saca la ranura de la lista del estado. */
+    private void desenlazar(int r, int estado) {
+        if (anteriores[r] == NINGUNA) {
+            primeras[estado] = siguientes[r];
+        } else {
+            siguientes[anteriores[r]] = siguientes[r];
+        }
+        if (siguientes[r] == NINGUNA) {
+            ultimas[estado] = anteriores[r];
+        } else {
+            anteriores[siguientes[r]] = anteriores[r];
+        }
+        cantidades[estado]--;
+    }
+
+    /**
+     * Mantiene el índice por estado. Lo invoca Proceso.setEstado en cada
+     * transición real (anterior != nuevo).
+     */
+    void cambioEstado(Proceso p, EstadoProceso anterior, EstadoProceso nuevo) {
+        if (indexado(p)) {
+            desenlazar(p.ranura(), anterior.ordinal());
+            enlazar(p.ranura(), nuevo.ordinal());
+        }
+        if (nuevo == EstadoProceso.EN_EJECUCION) {
+            enEjecucion = p;
+        } else if (enEjecucion == p) {
+            enEjecucion = null;
+        }
+        for (int i = 0; i < observadores.size(); i++) {
+            observadores.get(i).cambioEstado(p, anterior, nuevo);
+        }
+    }
+
+    /**
+     * Avisa a los observadores de un cambio de prioridad. Lo invoca
+     * Proceso.setPrioridad cuando el valor realmente cambia.
+     */
+    void cambioPrioridad(Proceso p, int anterior) {
+        for (int i = 0; i < observadores.size(); i++) {
+            observadores.get(i).cambioPrioridad(p, anterior);
+        }
+    }
+
+    /**
+     * Avisa a los observadores de un cambio de boletos. Lo invoca
+     * Proceso.setBoletos cuando el valor realmente cambia.
+     */
+    void cambioBoletos(Proceso p, int anterior) {
+        for (int i = 0; i < observadores.size(); i++) {
+            observadores.get(i).cambioBoletos(p, anterior);
+        }
+    }
+
+    /**
+     * Registra una estructura que debe enterarse de los cambios de los procesos.
+     *
+     * @param observador Estructura a notificar.
+     */
+    public void suscribir(ObservadorPCB observador) {
+        observadores.add(observador);
+    }
+
+    /**
+     * Deja de notificar a una estructura (por ejemplo, al terminar el algoritmo
+     * que la usaba).
+     *
+     * @param observador Estructura registrada con suscribir.
+     */
+    public void desuscribir(ObservadorPCB observador) {
+        observadores.remove(observador);
     }
 
     // =========================================================================
@@ -61,13 +279,59 @@ public class PCB {
      * LISTO.
      * Una utilidad muy usual para los planificadores apropiativos (como RR y
      * Prioridades).
+     * <p>
+     * Devuelve una copia (sólo de los LISTOS, sin recorrer a los demás). Si no se
+     * necesita modificarla, procesosEn(EstadoProceso.LISTO) evita la copia.
+     * </p>
      * 
      * @return Lista de procesos listos.
      */
     public List<Proceso> obtenerProcesosListos() {
-        return this.procesos.stream()
-                .filter(p -> p.getEstado() == EstadoProceso.LISTO)
-                .collect(Collectors.toList());
+        return new ArrayList<>(procesosEn(EstadoProceso.LISTO));
+    }
+
+    // =========================================================================
+    // CONSULTAS POR ESTADO (índice, O(1) por consulta)
+    // =========================================================================
+
+    /**
+     * Vista de sólo lectura de los procesos en un estado, en el orden en que
+     * entraron a él. Sacar del estado al proceso recién devuelto por el
+     * iterador es seguro; cualquier otro cambio de estado durante el recorrido
+     * no (copiarla antes si hace falta).
+     *
+     * @param estado Estado a consultar.
+     * @return Colección viva con los procesos en ese estado.
+     */
+    public Collection<Proceso> procesosEn(EstadoProceso estado) {
+        return vistasPorEstado[estado.ordinal()];
+    }
+
+    /**
+     * @param estado Estado a consultar.
+     * @return Cuántos procesos están en ese estado.
+     */
+    public int contarEn(EstadoProceso estado) {
+        return cantidades[estado.ordinal()];
+    }
+
+    /**
+     * Indica si al menos un proceso se encuentra en el estado dado.
+     * Útil para decidir si la CPU ociosa puede saltar el reloj (nadie bloqueado
+     * que pueda despertar en el siguiente tick).
+     *
+     * @param estado Estado a buscar.
+     * @return true si existe algún proceso en ese estado.
+     */
+    public boolean hayProcesosEn(EstadoProceso estado) {
+        return cantidades[estado.ordinal()] > 0;
+    }
+
+    /**
+     * @return El proceso actualmente EN_EJECUCION, o null si la CPU está ociosa.
+     */
+    public Proceso obtenerProcesoEnEjecucion() {
+        return enEjecucion;
     }
 
     // =========================================================================
@@ -77,10 +341,14 @@ public class PCB {
     /**
      * Obtiene la estructura inmutable original para que los algoritmos
      * la puedan iterar o mandar a imprimir.
+     * Los procesos retirados con retirar() ya no figuran en ella.
      * 
      * @return La lista de procesos general.
      */
     public List<Proceso> obtenerProcesos() {
+        if (retiradosPendientes > 0) {
+            compactar();
+        }
         return procesos;
     }
 
@@ -95,23 +363,53 @@ public class PCB {
      * Formateado con tabs robustos.
      */
     public void mostrarTabla() {
-        System.out.println("╔═════════════════════════════════════════════════════════════╗");
-        System.out.println("║                TABLA DE CONTROL DE PROCESOS                 ║");
-        System.out.println("╠════╦══════╦══════════════╦═══════╦═════════╦═════════╦══════╣");
-        System.out.println("║ ID ║TRest ║    Estado    ║ Prior ║ Boletos ║ Usuario ║VecCPU║");
-        System.out.println("╠════╬══════╬══════════════╬═══════╬═════════╬═════════╬══════╣");
-
-        for (Proceso p : procesos) {
-            // Se usa printf para dar uniformidad perfecta a los bloques
-            System.out.printf("║ %2d ║ %4d ║ %-12s ║ %5d ║ %7d ║ %-7s ║ %4d ║\n",
-                    p.getId(),
-                    p.getTiempoRestante(),
-                    p.getEstado(),
-                    p.getPrioridad(),
-                    p.getBoletos(),
-                    p.getUsuario(),
-                    p.getVecesUsoCPU());
-        }
-        System.out.println("╚════╩══════╩══════════════╩═══════╩═════════╩═════════╩══════╝");
+        System.out.println(formatearTabla());
+    }
+
+    /**
+     * Arma el texto de mostrarTabla() sin imprimirlo, para que el receptor de
+     * eventos decida dónde y cuándo mostrarlo.
+     *
+     * @return La tabla completa (varias líneas, sin salto final).
+     */
+    public String formatearTabla() {
+        return new RenderizadorTabla().armar(this, -1).toString();
+    }
+
+    /** Vista de sólo lectura de la lista de un estado. */
+    private final class ListaEstado extends AbstractCollection<Proceso> {
+
+        private final int estado;
+
+        ListaEstado(int estado) {
+            this.estado = estado;
+        }
+
+        @Override
+        public int size() {
+            return cantidades[estado];
+        }
+
+        @Override
+        public Iterator<Proceso> iterator() {
+            return new Iterator<Proceso>() {
+                private int siguiente = primeras[estado];
+
+                @Override
+                public boolean hasNext() {
+                    return siguiente != NINGUNA;
+                }
+
+                @Override
+                public Proceso next() {
+                    if (siguiente == NINGUNA) {
+                        throw new NoSuchElementException();
+                    }
+                    Proceso p = ranuras[siguiente];
+                    siguiente = siguientes[siguiente];
+                    return p;
+                }
+            };
+        }
     }
 }
@@ -0,0 +1,17 @@
+package clases;
+
+/**
+ * Cómo elige cada CPU al siguiente proceso de su propia cola (ver ColaCpu y
+ * el algoritmo Multiprocesador).
+ */
+public enum PoliticaCpu {
+
+    /** FIFO, como Round Robin. */
+    ROUND_ROBIN,
+
+    /** Mayor prioridad primero; a igual prioridad, el que llegó antes. */
+    PRIORIDADES,
+
+    /** Sorteo proporcional a los boletos. */
+    LOTERIA
+}
@@ -11,67 +11,29 @@ package clases;
  * para evaluar condiciones (ej. para inyectar reglas dinámicas que el profesor
  * pueda pedir).
  * </p>
+ * <p>
+ * Los datos no viven en el objeto sino en una TablaProcesos (arreglos
+ * primitivos paralelos); el Proceso es una vista de dos campos sobre su fila,
+ * aunque sigue habiendo un objeto así por proceso.
+ * </p>
  */
 public class Proceso {
 
-    // --- Atributos base ---
-    /** Identificador único del proceso (1, 2, 3...) */
-    private int id;
-
-    /**
-     * Unidades de tiempo que le faltan al proceso para terminar (va disminuyendo a
-     * 0)
-     */
-    private int tiempoRestante;
-
-    /** Almacena la ráfaga original del proceso para cálculos estadísticos */
-    private int tiempoInicial;
-
-    /** Estado del proceso en la máquina de estados (LISTO, BLOQUEADO, etc.) */
-    private EstadoProceso estado;
-
-    /** Prioridad del proceso (mayor número = más importante) */
-    private int prioridad;
-
-    /**
-     * Número de boletos asignados para los algoritmos basados en Lotería (1 a 5)
-     */
-    private int boletos;
-
-    /** Identificador del dueño/usuario del proceso (ej. "Usuario1") */
-    private String usuario;
-
-    // --- Atributos estadísticos y de seguimiento ---
-    /**
-     * Cuántas veces este proceso ha sido despachado a la CPU (cambios de contexto
-     * hacia él)
-     */
-    private int vecesUsoCPU;
-
-    /**
-     * Tiempo real (histórico acumulado) que ha estado este proceso dentro de la CPU
-     * ejecutando
-     */
-    private int tiempoUsoCPU;
-
-    /** En qué momento exacto del reloj global (t) fue creado este proceso */
-    private int tiempoCreacion;
-
-    // --- Atributos específicos (Alg. Garantizada) ---
     /**
-     * Cuánto porcentaje o cuota de CPU le toca legítimamente a este proceso (1/n)
+     * Tabla donde viven los datos del proceso: id, tiempos, estado, prioridad,
+     * boletos, usuario, contadores de CPU y los atributos de Planificación
+     * Garantizada (ver TablaProcesos).
      */
-    private double cpuDerecho;
+    private final TablaProcesos tabla;
 
-    /**
-     * Qué tanta atención ha recibido en relación a su derecho (tiempoUsoCPU /
-     * cpuDerecho)
-     */
-    private double proporcion;
+    /** Fila de la tabla que corresponde a este proceso. */
+    private final int fila;
 
     /**
      * Constructor del Proceso.
      * Inicializa los atributos principales y establece métricas en cero.
+     * Crea su propia tabla de una fila; para cargas grandes conviene crear los
+     * procesos con TablaProcesos.crear, que los guarda a todos juntos.
      *
      * @param id             ID numérico que identifica al proceso unívocamente.
      * @param tiempoRestante Unidades de ejecución requeridas por este proceso.
@@ -84,20 +46,16 @@ public class Proceso {
      */
     public Proceso(int id, int tiempoRestante, EstadoProceso estado, int prioridad,
             int boletos, String usuario, int tiempoActual) {
-        this.id = id;
-        this.tiempoRestante = tiempoRestante;
-        this.tiempoInicial = tiempoRestante; // Se guarda la ráfaga original
-        this.estado = estado;
-        this.prioridad = prioridad;
-        this.boletos = boletos;
-        this.usuario = usuario;
-
-        // Contadores inician en 0
-        this.vecesUsoCPU = 0;
-        this.tiempoUsoCPU = 0;
-        this.tiempoCreacion = tiempoActual;
-        this.cpuDerecho = 0.0;
-        this.proporcion = 0.0;
+        this.tabla = new TablaProcesos(1);
+        this.fila = tabla.agregarFila(id, tiempoRestante, estado, prioridad, boletos, usuario, tiempoActual);
+    }
+
+    /**
+     * Vista sobre una fila ya cargada (lo invoca TablaProcesos.crear).
+     */
+    Proceso(TablaProcesos tabla, int fila) {
+        this.tabla = tabla;
+        this.fila = fila;
     }
 
     // =========================================================================
@@ -105,14 +63,14 @@ public class Proceso {
     // =========================================================================
 
     /**
-     * Valida si el ID de este proceso es Par.
+     * Valida si el ID (la etiqueta) de este proceso es Par.
      * Utilidad: Permite que el profesor diga "solo quiero planificar los procesos
      * pares".
      * 
      * @return true si el id es módulo 2 igual a 0, false de lo contrario.
      */
     public boolean esIdPar() {
-        return this.id % 2 == 0;
+        return getEtiqueta() % 2 == 0;
     }
 
     /**
@@ -123,7 +81,7 @@ public class Proceso {
      * @return true si se puede ejecutar.
      */
     public boolean puedeEjecutar() {
-        return this.estado == EstadoProceso.LISTO && this.tiempoRestante > 0;
+        return getEstado() == EstadoProceso.LISTO && getTiempoRestante() > 0;
     }
 
     /**
@@ -131,8 +89,8 @@ public class Proceso {
      * Coloca el tiempo restante en cero y el estado a TERMINADO.
      */
     public void forzarTerminacion() {
-        this.tiempoRestante = 0;
-        this.estado = EstadoProceso.TERMINADO;
+        tabla.tiempoRestante(fila, 0);
+        setEstado(EstadoProceso.TERMINADO);
     }
 
     /**
@@ -140,8 +98,26 @@ public class Proceso {
      * Coloca el tiempo restante en cero y el estado a MUERTO.
      */
     public void forzarMuerte() {
-        this.tiempoRestante = 0;
-        this.estado = EstadoProceso.MUERTO;
+        tabla.tiempoRestante(fila, 0);
+        setEstado(EstadoProceso.MUERTO);
+    }
+
+    /**
+     * Asocia el proceso al PCB que lo controla (lo invoca el propio PCB).
+     *
+     * @param pcb Bloque de control que indexa a este proceso.
+     */
+    void vincular(PCB pcb) {
+        tabla.vincular(pcb);
+    }
+
+    /** @return Ranura en el índice por estado del PCB (-1 = ninguna). */
+    int ranura() {
+        return tabla.ranura(fila);
+    }
+
+    void ranura(int ranura) {
+        tabla.ranura(fila, ranura);
     }
 
     // =========================================================================
@@ -149,100 +125,208 @@ public class Proceso {
     // =========================================================================
 
     public int getId() {
-        return id;
+        return tabla.id(fila);
     }
 
     public void setId(int id) {
-        this.id = id;
+        tabla.id(fila, id);
+    }
+
+    /**
+     * @return Número con el que se muestra al proceso: el ID de la traza si
+     *         vino de una (su ID interno puede ser otro, ver ReservaIds), o el
+     *         ID en los demás casos.
+     */
+    public int getEtiqueta() {
+        return tabla.etiqueta(fila);
+    }
+
+    /**
+     * @param etiqueta Número con el que se muestra al proceso. Se fija antes de
+     *                 incorporarlo al PCB.
+     */
+    public void setEtiqueta(int etiqueta) {
+        tabla.etiqueta(fila, etiqueta);
     }
 
     public int getTiempoRestante() {
-        return tiempoRestante;
+        return tabla.tiempoRestante(fila);
     }
 
     public void setTiempoRestante(int tiempoRestante) {
-        this.tiempoRestante = tiempoRestante;
+        tabla.tiempoRestante(fila, tiempoRestante);
     }
 
     public int getTiempoInicial() {
-        return tiempoInicial;
+        return tabla.tiempoInicial(fila);
     }
     // No hay setter para tiempoInicial para proteger el dato original estadístico.
 
     public EstadoProceso getEstado() {
-        return estado;
+        return tabla.estado(fila);
     }
 
     public void setEstado(EstadoProceso estado) {
-        this.estado = estado;
+        EstadoProceso anterior = tabla.estado(fila);
+        tabla.estado(fila, estado);
+        PCB pcb = tabla.pcb();
+        if (pcb != null && anterior != estado) {
+            pcb.cambioEstado(this, anterior, estado);
+        }
     }
 
     public int getPrioridad() {
-        return prioridad;
+        return tabla.prioridad(fila);
     }
 
     public void setPrioridad(int prioridad) {
-        this.prioridad = prioridad;
+        int anterior = tabla.prioridad(fila);
+        tabla.prioridad(fila, prioridad);
+        PCB pcb = tabla.pcb();
+        if (pcb != null && anterior != prioridad) {
+            pcb.cambioPrioridad(this, anterior);
+        }
     }
 
     public int getBoletos() {
-        return boletos;
+        return tabla.boletos(fila);
     }
 
     public void setBoletos(int boletos) {
-        this.boletos = boletos;
+        int anterior = tabla.boletos(fila);
+        tabla.boletos(fila, boletos);
+        PCB pcb = tabla.pcb();
+        if (pcb != null && anterior != boletos) {
+            pcb.cambioBoletos(this, anterior);
+        }
     }
 
     public String getUsuario() {
-        return usuario;
+        return tabla.usuario(fila);
     }
 
     public void setUsuario(String usuario) {
-        this.usuario = usuario;
+        tabla.usuario(fila, usuario);
+    }
+
+    /** @return Plazo relativo a la llegada en ticks, o 0 si no tiene plazo. */
+    public int getPlazo() {
+        return tabla.plazo(fila);
+    }
+
+    /**
+     * @param plazo Ticks desde la llegada en los que debería terminar (0 = sin
+     *              plazo). Se fija antes de incorporarlo al PCB.
+     */
+    public void setPlazo(int plazo) {
+        tabla.plazo(fila, plazo);
+    }
+
+    /** @return true si el proceso tiene plazo. */
+    public boolean tienePlazo() {
+        return tabla.plazo(fila) > 0;
+    }
+
+    /**
+     * @return Tick absoluto de su plazo (llegada + plazo), o Integer.MAX_VALUE
+     *         si no tiene plazo.
+     */
+    public int getVencimiento() {
+        int plazo = tabla.plazo(fila);
+        return plazo > 0 ? (int) Math.min(Integer.MAX_VALUE, (long) getTiempoCreacion() + plazo)
+                : Integer.MAX_VALUE;
     }
 
     public int getVecesUsoCPU() {
-        return vecesUsoCPU;
+        return tabla.vecesUsoCPU(fila);
     }
 
     public void setVecesUsoCPU(int vecesUsoCPU) {
-        this.vecesUsoCPU = vecesUsoCPU;
+        tabla.vecesUsoCPU(fila, vecesUsoCPU);
     }
 
     public int getTiempoUsoCPU() {
-        return tiempoUsoCPU;
+        return tabla.tiempoUsoCPU(fila);
     }
 
     public void setTiempoUsoCPU(int tiempoUsoCPU) {
-        this.tiempoUsoCPU = tiempoUsoCPU;
+        tabla.tiempoUsoCPU(fila, tiempoUsoCPU);
     }
 
     public int getTiempoCreacion() {
-        return tiempoCreacion;
+        return tabla.tiempoCreacion(fila);
     }
 
     public void setTiempoCreacion(int tiempoCreacion) {
-        this.tiempoCreacion = tiempoCreacion;
+        tabla.tiempoCreacion(fila, tiempoCreacion);
+    }
+
+    /** @return Tick del primer despacho, o -1 si nunca entró a la CPU. */
+    public int getTiempoPrimerDespacho() {
+        return tabla.tiempoPrimerDespacho(fila);
+    }
+
+    public void setTiempoPrimerDespacho(int tiempoPrimerDespacho) {
+        tabla.tiempoPrimerDespacho(fila, tiempoPrimerDespacho);
+    }
+
+    /** @return Tick en que terminó o murió, o -1 si sigue en el sistema. */
+    public int getTiempoFin() {
+        return tabla.tiempoFin(fila);
+    }
+
+    public void setTiempoFin(int tiempoFin) {
+        tabla.tiempoFin(fila, tiempoFin);
+    }
+
+    /** @return Ticks acumulados en la cola de LISTOS (sin contar la espera en curso). */
+    public int getTiempoEspera() {
+        return tabla.tiempoEspera(fila);
+    }
+
+    public void setTiempoEspera(int tiempoEspera) {
+        tabla.tiempoEspera(fila, tiempoEspera);
+    }
+
+    /** @return Tick en que entró por última vez a LISTO. */
+    public int getMarcaListo() {
+        return tabla.marcaListo(fila);
+    }
+
+    public void setMarcaListo(int marcaListo) {
+        tabla.marcaListo(fila, marcaListo);
+    }
+
+    /** @return Tiempo de retorno (fin - llegada), o -1 si no ha salido del sistema. */
+    public int getTiempoRetorno() {
+        int fin = getTiempoFin();
+        return fin < 0 ? -1 : fin - getTiempoCreacion();
+    }
+
+    /** @return Tiempo de respuesta (primer despacho - llegada), o -1 si nunca se despachó. */
+    public int getTiempoRespuesta() {
+        int despacho = getTiempoPrimerDespacho();
+        return despacho < 0 ? -1 : despacho - getTiempoCreacion();
     }
 
     public double getCpuDerecho() {
-        return cpuDerecho;
+        return tabla.cpuDerecho(fila);
     }
 
     public void setCpuDerecho(double cpuDerecho) {
-        this.cpuDerecho = cpuDerecho;
+        tabla.cpuDerecho(fila, cpuDerecho);
     }
 
     public double getProporcion() {
-        return proporcion;
+        return tabla.proporcion(fila);
     }
 
     public void setProporcion(double proporcion) {
-        this.proporcion = proporcion;
+        tabla.proporcion(fila, proporcion);
     }
 
     @Override
     public String toString() {
-        return "Proceso[ID=" + id + ", Estado=" + estado + ", TRest=" + tiempoRestante + "]";
+        return "Proceso[ID=" + getEtiqueta() + ", Estado=" + getEstado() + ", TRest=" + getTiempoRestante() + "]";
     }
 }
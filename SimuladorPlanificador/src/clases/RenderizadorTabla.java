@@ -0,0 +1,346 @@
+package clases;
+
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.List;
+
+/**
+ * Dibuja la tabla del PCB cuadro por cuadro sin que el costo crezca con cada
+ * redibujado.
+ * <p>
+ * Cada cuadro se arma en un único StringBuilder que se reutiliza y sale en una
+ * sola escritura. Por cada fila mostrada se guarda una firma de sus campos: si
+ * ninguna cambió desde el cuadro anterior no se dibuja nada, y en modo ANSI
+ * (terminal propia, ver VistaEnVivo) sólo se reescriben en su lugar las filas
+ * que cambiaron. Los cuadros se limitan a un máximo por segundo y, con más
+ * procesos que filasMaximas, se muestra una página de la tabla más una línea
+ * de resumen con los conteos por estado.
+ * </p>
+ * <p>
+ * No es seguro entre hilos: cada receptor usa su propio renderizador.
+ * </p>
+ */
+public class RenderizadorTabla {
+
+    /** Filas por página si no se indica otra cosa. */
+    public static final int FILAS_POR_DEFECTO = 40;
+
+    private static final String ENCABEZADO =
+            "╔═════════════════════════════════════════════════════════════╗\n"
+            + "║                TABLA DE CONTROL DE PROCESOS                 ║\n"
+            + "╠════╦══════╦══════════════╦═══════╦═════════╦═════════╦══════╣\n"
+            + "║ ID ║TRest ║    Estado    ║ Prior ║ Boletos ║ Usuario ║VecCPU║\n"
+            + "╠════╬══════╬══════════════╬═══════╬═════════╬═════════╬══════╣\n";
+
+    private static final String PIE =
+            "╚════╩══════╩══════════════╩═══════╩═════════╩═════════╩══════╝";
+
+    /** Líneas de ENCABEZADO (la primera fila de procesos va en la siguiente). */
+    private static final int LINEAS_ENCABEZADO = 5;
+
+    /** Limpia la pantalla y lleva el cursor al inicio. */
+    private static final String ANSI_LIMPIAR = "\033[H\033[2J";
+
+    /** Borra desde el cursor hasta el final de la línea. */
+    private static final String ANSI_BORRAR_LINEA = "\033[K";
+
+    private static final EstadoProceso[] ESTADOS = EstadoProceso.values();
+
+    /** Nanosegundos mínimos entre cuadros (0 = sin límite). */
+    private final long intervaloNs;
+    private final int filasMaximas;
+    private final boolean ansi;
+
+    /** Búfer de cada cuadro, reutilizado. */
+    private final StringBuilder marco = new StringBuilder(4096);
+
+    /** Firma de cada fila del último cuadro dibujado. */
+    private long[] firmas = new long[16];
+
+    /** Filas del último cuadro (-1 = todavía no se dibujó ninguno). */
+    private int filasDibujadas = -1;
+    private int paginaDibujada;
+
+    /** Total y conteos por estado del último resumen dibujado. */
+    private long firmaResumen;
+    private long ultimoMarco;
+    private int pagina;
+
+    // --- Conversión a bytes para escribir el cuadro de una vez ---
+    private final CharsetEncoder codificador;
+    private char[] caracteres = new char[0];
+    private CharBuffer entrada;
+    private ByteBuffer bytes;
+
+    /**
+     * Renderizador sin límite de cuadros ni de filas y sin ANSI: cada cuadro
+     * es la tabla completa (lo que muestra PCB.mostrarTabla()).
+     */
+    public RenderizadorTabla() {
+        this(0, Integer.MAX_VALUE, false);
+    }
+
+    /**
+     * @param cuadrosPorSegundo Máximo de cuadros por segundo (0 = sin límite).
+     * @param filasMaximas      Filas de procesos por página.
+     * @param ansi              true para reescribir en su lugar sólo las filas
+     *                          que cambiaron (requiere que nadie más escriba en
+     *                          la terminal); false para cuadros completos.
+     */
+    public RenderizadorTabla(double cuadrosPorSegundo, int filasMaximas, boolean ansi) {
+        if (cuadrosPorSegundo < 0 || filasMaximas < 1) {
+            throw new IllegalArgumentException("Cuadros por segundo o filas fuera de rango");
+        }
+        this.intervaloNs = cuadrosPorSegundo == 0 ? 0 : (long) (1_000_000_000L / cuadrosPorSegundo);
+        this.filasMaximas = filasMaximas;
+        this.ansi = ansi;
+        this.codificador = Charset.defaultCharset().newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    /**
+     * Elige la página a mostrar (se ajusta si la tabla tiene menos).
+     *
+     * @param pagina Número de página, desde 0.
+     */
+    public void setPagina(int pagina) {
+        this.pagina = Math.max(0, pagina);
+    }
+
+    /** Olvida el último cuadro: el siguiente se dibuja completo. */
+    public void reiniciar() {
+        filasDibujadas = -1;
+    }
+
+    /**
+     * @return true si ya pasó el intervalo mínimo desde el último cuadro.
+     */
+    public boolean toca() {
+        return intervaloNs == 0 || filasDibujadas < 0 || System.nanoTime() - ultimoMarco >= intervaloNs;
+    }
+
+    /**
+     * Arma el siguiente cuadro respetando el límite de cuadros por segundo.
+     * El resultado vive en el búfer interno hasta la próxima llamada.
+     *
+     * @param pcb  PCB a mostrar.
+     * @param tick Tiempo de simulación para la línea de resumen (negativo para
+     *             omitirlo).
+     * @return El cuadro, o null si todavía no toca o si nada cambió.
+     */
+    public CharSequence armar(PCB pcb, int tick) {
+        if (!toca()) {
+            return null;
+        }
+        return armarAhora(pcb, tick);
+    }
+
+    /**
+     * Arma el cuadro y lo escribe de una sola vez, respetando el límite de
+     * cuadros por segundo.
+     *
+     * @param pcb    PCB a mostrar.
+     * @param tick   Tiempo de simulación (negativo para omitirlo).
+     * @param salida Destino.
+     * @return true si se escribió un cuadro.
+     */
+    public boolean dibujar(PCB pcb, int tick, PrintStream salida) {
+        CharSequence cuadro = armar(pcb, tick);
+        if (cuadro == null) {
+            return false;
+        }
+        escribir(salida);
+        return true;
+    }
+
+    /**
+     * Como dibujar(), pero sin esperar al intervalo mínimo (para el último
+     * cuadro de una corrida).
+     *
+     * @param pcb    PCB a mostrar.
+     * @param tick   Tiempo de simulación (negativo para omitirlo).
+     * @param salida Destino.
+     * @return true si se escribió un cuadro (false si nada cambió).
+     */
+    public boolean forzar(PCB pcb, int tick, PrintStream salida) {
+        if (armarAhora(pcb, tick) == null) {
+            return false;
+        }
+        escribir(salida);
+        return true;
+    }
+
+    private CharSequence armarAhora(PCB pcb, int tick) {
+        List<Proceso> procesos = pcb.obtenerProcesos();
+        int total = procesos.size();
+        int paginas = total <= filasMaximas ? 1 : (total - 1) / filasMaximas + 1;
+        int pag = Math.min(pagina, paginas - 1);
+        int desde = pag * filasMaximas;
+        int filas = Math.min(filasMaximas, total - desde);
+        boolean resumen = ansi || total > filasMaximas;
+        if (firmas.length < filas) {
+            firmas = new long[Math.max(filas, firmas.length * 2)];
+        }
+
+        // Con otra cantidad de filas o de página no sirve el cuadro anterior
+        boolean completo = filasDibujadas != filas || paginaDibujada != pag;
+        long fr = resumen ? firmaResumen(pcb, total) : 0;
+        boolean cambio = completo || fr != firmaResumen;
+        marco.setLength(0);
+        if (completo || !ansi) {
+            for (int i = 0; i < filas; i++) {
+                long f = firma(procesos.get(desde + i));
+                cambio |= firmas[i] != f;
+                firmas[i] = f;
+            }
+            if (!cambio && !ansi) {
+                return null;
+            }
+            if (ansi) {
+                marco.append(ANSI_LIMPIAR);
+            }
+            marco.append(ENCABEZADO);
+            for (int i = 0; i < filas; i++) {
+                fila(procesos.get(desde + i));
+            }
+            marco.append(PIE);
+        } else {
+            // Sólo las filas que cambiaron, cada una en su línea de pantalla
+            for (int i = 0; i < filas; i++) {
+                Proceso p = procesos.get(desde + i);
+                long f = firma(p);
+                if (firmas[i] != f) {
+                    firmas[i] = f;
+                    moverCursor(LINEAS_ENCABEZADO + i + 1);
+                    fila(p);
+                }
+            }
+            // El resumen (con el tick) siempre cambia; va debajo del pie
+            moverCursor(LINEAS_ENCABEZADO + filas + 2);
+        }
+        if (resumen) {
+            if (completo || !ansi) {
+                marco.append('\n');
+            }
+            resumen(pcb, tick, total, desde, filas, pag, paginas);
+        }
+        if (ansi) {
+            // Deja el cursor debajo de la tabla
+            marco.append('\n');
+        }
+
+        filasDibujadas = filas;
+        paginaDibujada = pag;
+        firmaResumen = fr;
+        ultimoMarco = System.nanoTime();
+        return marco;
+    }
+
+    /** Una fila de la tabla, con el mismo formato de columnas que el encabezado. */
+    private void fila(Proceso p) {
+        marco.append("║ ");
+        numero(p.getEtiqueta(), 2);
+        marco.append(" ║ ");
+        numero(p.getTiempoRestante(), 4);
+        marco.append(" ║ ");
+        texto(p.getEstado().name(), 12);
+        marco.append(" ║ ");
+        numero(p.getPrioridad(), 5);
+        marco.append(" ║ ");
+        numero(p.getBoletos(), 7);
+        marco.append(" ║ ");
+        texto(p.getUsuario(), 7);
+        marco.append(" ║ ");
+        numero(p.getVecesUsoCPU(), 4);
+        marco.append(" ║");
+        if (ansi) {
+            marco.append(ANSI_BORRAR_LINEA);
+        }
+        marco.append('\n');
+    }
+
+    /** Línea de resumen: tick, conteos por estado y página mostrada. */
+    private void resumen(PCB pcb, int tick, int total, int desde, int filas, int pag, int paginas) {
+        if (tick >= 0) {
+            marco.append("t=").append(tick).append(" | ");
+        }
+        marco.append(total).append(" procesos");
+        for (EstadoProceso estado : ESTADOS) {
+            marco.append(" | ").append(estado.name()).append(' ').append(pcb.contarEn(estado));
+        }
+        if (paginas > 1) {
+            marco.append(" | filas ").append(desde + 1).append('-').append(desde + filas)
+                    .append(" (pagina ").append(pag + 1).append('/').append(paginas).append(')');
+        }
+        if (ansi) {
+            marco.append(ANSI_BORRAR_LINEA);
+        }
+    }
+
+    /** Alinea a la derecha como "%<ancho>d". */
+    private void numero(int valor, int ancho) {
+        int digitos = valor < 0 ? 2 : 1;
+        for (int v = Math.abs(valor / 10); v > 0; v /= 10) {
+            digitos++;
+        }
+        for (int i = digitos; i < ancho; i++) {
+            marco.append(' ');
+        }
+        marco.append(valor);
+    }
+
+    /** Alinea a la izquierda como "%-<ancho>s". */
+    private void texto(String valor, int ancho) {
+        marco.append(valor);
+        for (int i = valor.length(); i < ancho; i++) {
+            marco.append(' ');
+        }
+    }
+
+    private void moverCursor(int linea) {
+        marco.append("\033[").append(linea).append(";1H");
+    }
+
+    /** Resume en un long los campos que muestra la fila del proceso. */
+    private static long firma(Proceso p) {
+        long h = p.getEtiqueta();
+        h = (h ^ p.getTiempoRestante()) * 0x9E3779B97F4A7C15L;
+        h = (h ^ p.getEstado().ordinal()) * 0x9E3779B97F4A7C15L;
+        h = (h ^ p.getPrioridad()) * 0x9E3779B97F4A7C15L;
+        h = (h ^ p.getBoletos()) * 0x9E3779B97F4A7C15L;
+        h = (h ^ p.getUsuario().hashCode()) * 0x9E3779B97F4A7C15L;
+        h = (h ^ p.getVecesUsoCPU()) * 0x9E3779B97F4A7C15L;
+        return h;
+    }
+
+    private static long firmaResumen(PCB pcb, int total) {
+        long h = total;
+        for (EstadoProceso estado : ESTADOS) {
+            h = (h ^ pcb.contarEn(estado)) * 0x9E3779B97F4A7C15L;
+        }
+        return h;
+    }
+
+    /** Pasa el búfer a bytes y lo escribe con una sola llamada. */
+    private void escribir(PrintStream salida) {
+        int n = marco.length();
+        if (caracteres.length < n) {
+            caracteres = new char[Math.max(n, caracteres.length * 2)];
+            entrada = CharBuffer.wrap(caracteres);
+            bytes = ByteBuffer.allocate((int) Math.ceil(caracteres.length * codificador.maxBytesPerChar()));
+        }
+        marco.getChars(0, n, caracteres, 0);
+        entrada.clear().limit(n);
+        bytes.clear();
+        codificador.reset();
+        codificador.encode(entrada, bytes, true);
+        codificador.flush(bytes);
+        salida.write(bytes.array(), 0, bytes.position());
+        salida.flush();
+    }
+}
@@ -13,9 +13,22 @@ import java.util.stream.Collectors;
  * truncados
  * a la mitad de su ejecución por límite de tiempoMonitoreo global.
  * </p>
+ * <p>
+ * Si se le pasan las MetricasCorrida agrega los tiempos de retorno, espera y
+ * respuesta (media y percentiles), el rendimiento y la utilización de CPU, y
+ * con pocos procesos también el detalle de cada uno. Si hay procesos con
+ * plazo, también los plazos cumplidos e incumplidos, los percentiles del
+ * atraso y si una CPU ideal EDF los cumpliría (si no, hay sobrecarga).
+ * </p>
  */
 public class ReporteFinal {
 
+    /** Con más procesos que esto no se imprime el detalle por proceso. */
+    public static final int LIMITE_DETALLE = 50;
+
+    /** Percentiles que se informan de cada tiempo. */
+    private static final double[] PERCENTILES = { 50, 90, 99 };
+
     /**
      * Imprime el informe general resumiendo lo acontecido durante la ejecución del
      * Algoritmo.
@@ -25,6 +38,18 @@ public class ReporteFinal {
      * @param totalCambios La cantidad de veces que cambió el proceso en CPU.
      */
     public void generarReporte(List<Proceso> procesos, int totalCambios) {
+        generarReporte(procesos, totalCambios, null);
+    }
+
+    /**
+     * Informe general más las métricas de tiempo de la corrida.
+     *
+     * @param procesos     La lista de procesos obtenida del PCB una vez acaba la
+     *                     simulación.
+     * @param totalCambios La cantidad de veces que cambió el proceso en CPU.
+     * @param metricas     Métricas tomadas durante la corrida (null para omitirlas).
+     */
+    public void generarReporte(List<Proceso> procesos, int totalCambios, MetricasCorrida metricas) {
 
         List<Proceso> terminados = procesos.stream()
                 .filter(p -> p.getEstado() == EstadoProceso.TERMINADO && p.getVecesUsoCPU() > 0)
@@ -52,11 +77,227 @@ public class ReporteFinal {
         System.out.println("Procesos que nunca ejecutaron  : " + obtenerCadenaIDs(nuncaEjecutados));
         System.out.println("Procesos que no alcanzaron     : " + obtenerCadenaIDs(noTerminaron));
 
+        if (metricas != null && procesos.size() <= LIMITE_DETALLE) {
+            imprimirDetalle(procesos);
+        }
         System.out.println("-------------------------------------------------------");
         System.out.println("Total cambios de contexto      : " + totalCambios);
+        if (metricas != null) {
+            imprimirMetricas(metricas);
+        }
+        System.out.println("=======================================================\n");
+    }
+
+    /**
+     * Variante con sólo los conteos de cada grupo, para corridas donde listar
+     * los IDs no tiene sentido (trazas con millones de procesos).
+     *
+     * @param resumen Resultado de la corrida.
+     */
+    public void generarReporte(ResumenCorrida resumen) {
+        generarReporte(resumen, null);
+    }
+
+    /**
+     * Variante con conteos más las métricas de tiempo de la corrida.
+     *
+     * @param resumen  Resultado de la corrida.
+     * @param metricas Métricas tomadas durante la corrida (null para omitirlas).
+     */
+    public void generarReporte(ResumenCorrida resumen, MetricasCorrida metricas) {
+        System.out.println("\n=======================================================");
+        System.out.println("              REPORTE FINAL DE SIMULACION              ");
+        System.out.println("=======================================================");
+
+        System.out.println("Procesos exitosos              : " + resumen.getTerminados());
+        System.out.println("Procesos muertos (inanicion)   : " + resumen.getMuertos());
+        System.out.println("Procesos que nunca ejecutaron  : " + resumen.getNuncaEjecutados());
+        System.out.println("Procesos que no alcanzaron     : " + resumen.getNoTerminaron());
+
+        System.out.println("-------------------------------------------------------");
+        System.out.println("Total cambios de contexto      : " + resumen.getCambiosContexto());
+        if (metricas != null) {
+            imprimirMetricas(metricas);
+        }
+        System.out.println("=======================================================\n");
+    }
+
+    /**
+     * Prueba de planificabilidad previa a la corrida: por tarea, período,
+     * wcet, prioridad y peor respuesta analítica; además la utilización frente
+     * a la cota de Liu y Layland y el veredicto.
+     *
+     * @param analisis Análisis del conjunto de tareas.
+     */
+    public void imprimirAnalisis(AnalisisTiempoRespuesta analisis) {
+        List<TareaPeriodica> tareas = analisis.getTareas();
+        System.out.println("\n=======================================================");
+        System.out.println("        ANALISIS DE TIEMPO DE RESPUESTA (RM)           ");
+        System.out.println("=======================================================");
+        System.out.printf("%-10s %8s %6s %7s %5s %9s%n", "Tarea", "Periodo", "WCET", "Desfase", "Prio", "R");
+        for (int i = 0; i < tareas.size(); i++) {
+            TareaPeriodica t = tareas.get(i);
+            System.out.printf("%-10s %8d %6d %7d %5d %9s%n", t.getNombre(), t.getPeriodo(), t.getComputo(),
+                    t.getDesfase(), t.getPrioridad(),
+                    analisis.esPlanificable(i) ? Long.toString(analisis.getRespuesta(i)) : "> periodo");
+        }
+        System.out.println("-------------------------------------------------------");
+        System.out.printf("Utilizacion                    : %.1f %% (cota de Liu y Layland %.1f %%)%n",
+                analisis.getUtilizacion() * 100, analisis.cotaLiuLayland() * 100);
+        System.out.println("Hiperperiodo                   : "
+                + hiperperiodo(TareaPeriodica.hiperperiodo(tareas)));
+        System.out.println("Planificable con RM            : " + (analisis.esPlanificable() ? "si" : "no")
+                + (analisis.hayDesfases() ? " (con desfases el analisis es una cota)" : ""));
+        System.out.println("=======================================================");
+    }
+
+    /**
+     * Contrasta el análisis con la línea de tiempo simulada: por tarea,
+     * trabajos liberados y terminados, plazos incumplidos y peor respuesta
+     * observada frente a la analítica. Con 'contrastar' (la corrida fue Rate
+     * Monotonic) da además el veredicto de si la simulación confirma el
+     * análisis.
+     *
+     * @param analisis     Análisis previo a la corrida.
+     * @param liberaciones Liberaciones de la corrida.
+     * @param contrastar   true si la corrida usó las prioridades del análisis.
+     */
+    public void imprimirTareas(AnalisisTiempoRespuesta analisis, LiberacionesPeriodicas liberaciones,
+            boolean contrastar) {
+        List<TareaPeriodica> tareas = analisis.getTareas();
+        System.out.println("=======================================================");
+        System.out.println("      TAREAS PERIODICAS: SIMULACION VS ANALISIS        ");
+        System.out.println("=======================================================");
+        System.out.printf("%-10s %9s %9s %8s %9s %9s%n", "Tarea", "Liberados", "Terminad", "Incumpl", "R obs",
+                "R analisis");
+        boolean coincide = true;
+        for (int i = 0; i < tareas.size(); i++) {
+            long incumplidos = liberaciones.getIncumplidos(i);
+            int observada = liberaciones.getPeorRespuesta(i);
+            System.out.printf("%-10s %9d %9d %8d %9d %9s%n", tareas.get(i).getNombre(),
+                    liberaciones.getLiberados(i), liberaciones.getTerminados(i), incumplidos, observada,
+                    analisis.esPlanificable(i) ? Long.toString(analisis.getRespuesta(i)) : "> periodo");
+            coincide &= confirma(analisis, i, incumplidos, observada);
+        }
+        if (contrastar) {
+            System.out.println("-------------------------------------------------------");
+            System.out.println("Simulacion vs analisis         : "
+                    + (coincide ? "coinciden" : "NO coinciden"));
+        }
         System.out.println("=======================================================\n");
     }
 
+    /**
+     * Una tarea planificable no incumple y nunca supera su R analítica. Si el
+     * análisis es exacto para ella (sin desfases ni otra tarea de su misma
+     * prioridad, así el primer trabajo cae en el instante crítico), además la
+     * alcanza si planificable, o incumple si no.
+     */
+    private boolean confirma(AnalisisTiempoRespuesta analisis, int i, long incumplidos, int observada) {
+        TareaPeriodica tarea = analisis.getTareas().get(i);
+        boolean exacto = !analisis.hayDesfases() && analisis.getTareas().stream()
+                .filter(t -> t.getPrioridad() == tarea.getPrioridad()).count() == 1;
+        if (analisis.esPlanificable(i)) {
+            return incumplidos == 0 && observada <= analisis.getRespuesta(i)
+                    && (!exacto || observada == analisis.getRespuesta(i));
+        }
+        return !exacto || incumplidos > 0;
+    }
+
+    /**
+     * Compara el error de reparto proporcional (ver ErrorReparto) de varias
+     * corridas de la misma carga: por algoritmo, error medio y máximo por
+     * proceso en ticks y error relativo a la CPU que les correspondía.
+     *
+     * @param nombres Algoritmo de cada corrida.
+     * @param errores Resultado de ErrorReparto.errores() de cada corrida.
+     */
+    public void imprimirReparto(List<String> nombres, List<double[]> errores) {
+        System.out.println("\n=======================================================");
+        System.out.println("       ERROR DE REPARTO PROPORCIONAL A BOLETOS         ");
+        System.out.println("=======================================================");
+        System.out.printf("%-22s %10s %10s %10s%n", "Algoritmo", "medio", "max", "relativo");
+        for (int i = 0; i < nombres.size(); i++) {
+            double[] e = errores.get(i);
+            System.out.printf("%-22s %10.2f %10.2f %8.2f %%%n", nombres.get(i), e[0], e[1], e[2] * 100);
+        }
+        System.out.println("-------------------------------------------------------");
+        System.out.println("Error = |CPU recibida - parte justa segun boletos|, en ticks");
+        System.out.println("=======================================================\n");
+    }
+
+    private String hiperperiodo(long ticks) {
+        return ticks == Long.MAX_VALUE ? "> 2^63 ticks" : ticks + " ticks";
+    }
+
+    /**
+     * Tiempos de cada proceso: llegada, primer despacho, fin, retorno, espera y
+     * respuesta ("-" si todavía no ocurrió).
+     */
+    private void imprimirDetalle(List<Proceso> procesos) {
+        System.out.println("-------------------------------------------------------");
+        System.out.printf("%4s %7s %8s %6s %7s %6s %9s%n",
+                "ID", "Llegada", "Despacho", "Fin", "Retorno", "Espera", "Respuesta");
+        for (Proceso p : procesos) {
+            System.out.printf("%4s %7d %8s %6s %7s %6d %9s%n",
+                    "P" + p.getEtiqueta(),
+                    p.getTiempoCreacion(),
+                    tiempo(p.getTiempoPrimerDespacho()),
+                    tiempo(p.getTiempoFin()),
+                    tiempo(p.getTiempoRetorno()),
+                    p.getTiempoEspera(),
+                    tiempo(p.getTiempoRespuesta()));
+        }
+    }
+
+    /** Media y percentiles de cada tiempo, rendimiento y utilización. */
+    private void imprimirMetricas(MetricasCorrida metricas) {
+        System.out.println("-------------------------------------------------------");
+        System.out.printf("%-12s %8s %7s %7s %7s %7s%n", "Tiempos", "media", "p50", "p90", "p99", "max");
+        imprimirTiempos("Retorno", metricas.getRetorno());
+        imprimirTiempos("Espera", metricas.getEspera());
+        imprimirTiempos("Respuesta", metricas.getRespuesta());
+        System.out.println("-------------------------------------------------------");
+        System.out.printf("Rendimiento                    : %.3f procesos/1000 ticks%n",
+                metricas.rendimiento() * 1000);
+        System.out.printf("Utilizacion de CPU             : %.1f %%%n", metricas.utilizacion() * 100);
+        if (metricas.hayPlazos()) {
+            imprimirPlazos(metricas);
+        }
+    }
+
+    /** Plazos cumplidos e incumplidos, atraso y sobrecarga de los procesos con plazo. */
+    private void imprimirPlazos(MetricasCorrida metricas) {
+        int[] pendientes = metricas.pendientesConPlazo();
+        int incumplidos = metricas.getTerminadosTarde() + metricas.getMuertosConPlazo() + pendientes[0];
+        int decididos = metricas.getCumplidos() + incumplidos;
+        double[] ideal = metricas.edfIdeal();
+        System.out.println("-------------------------------------------------------");
+        System.out.println("Plazos cumplidos               : " + metricas.getCumplidos());
+        System.out.printf("Plazos incumplidos             : %d (%.1f %%)%n", incumplidos,
+                decididos == 0 ? 0.0 : 100.0 * incumplidos / decididos);
+        System.out.println("  terminados tarde             : " + metricas.getTerminadosTarde());
+        System.out.println("  muertos                      : " + metricas.getMuertosConPlazo());
+        System.out.println("  vencidos sin terminar        : " + pendientes[0]);
+        System.out.println("Con plazo aun a tiempo         : " + pendientes[1]);
+        System.out.println("EDF ideal (sin I/O)            : " + (ideal[0] == 0 ? "cumple todos (sin sobrecarga)"
+                : String.format("%d incumplidos, atraso max %.1f (sobrecarga)", (long) ideal[0], ideal[1])));
+        System.out.printf("%-12s %8s %7s %7s %7s %7s%n", "Plazos", "media", "p50", "p90", "p99", "max");
+        imprimirTiempos("Atraso", metricas.getAtraso());
+    }
+
+    private void imprimirTiempos(String nombre, HistogramaTiempos h) {
+        System.out.printf("%-12s %8.2f", nombre, h.media());
+        for (double percentil : PERCENTILES) {
+            System.out.printf(" %7d", h.percentil(percentil));
+        }
+        System.out.printf(" %7d%n", h.getMaximo());
+    }
+
+    private String tiempo(int ticks) {
+        return ticks < 0 ? "-" : Integer.toString(ticks);
+    }
+
     /**
      * Convierte una lista de procesos en una cadena legible de IDs, ej: [P1, P4,
      * P5].
@@ -69,7 +310,7 @@ public class ReporteFinal {
             return "[ninguno]";
         }
         return "[" + lista.stream()
-                .map(p -> "P" + p.getId())
+                .map(p -> "P" + p.getEtiqueta())
                 .collect(Collectors.joining(", ")) + "]";
     }
 }
@@ -0,0 +1,53 @@
+package clases;
+
+import java.util.Arrays;
+
+/**
+ * IDs internos para los procesos que entran y salen del PCB durante la
+ * corrida (llegadas de una traza, trabajos de tareas periódicas).
+ * <p>
+ * Las colas y políticas guardan su estado en arreglos indexados por ID
+ * (ColaPrioridad, IndiceBoletos, Zancadas, ...), que crecen hasta el mayor ID
+ * que ven. Por eso el ID de la traza no puede usarse tal cual: uno enorme los
+ * haría reservar memoria de más y uno repetido mezclaría el estado de dos
+ * procesos vivos. Cada proceso admitido toma un ID de esta reserva (el último
+ * devuelto, o uno nuevo si no hay) y lo devuelve al retirarse, así que los IDs
+ * son densos y el mayor depende de cuántos procesos hubo vivos a la vez, no
+ * del largo de la traza. El ID de la traza queda como etiqueta del proceso
+ * (ver Proceso.getEtiqueta). El PCB usa otra reserva para las ranuras de su
+ * índice por estado.
+ * </p>
+ */
+class ReservaIds {
+
+    /** IDs devueltos, como pila. */
+    private int[] libres = new int[16];
+    private int cantidadLibres;
+
+    /** Primer ID que nunca se entregó. */
+    private int siguiente;
+
+    /**
+     * @param primero Primer ID a entregar.
+     */
+    ReservaIds(int primero) {
+        this.siguiente = primero;
+    }
+
+    /** @return Un ID que ningún proceso vivo usa. */
+    int tomar() {
+        return cantidadLibres > 0 ? libres[--cantidadLibres] : siguiente++;
+    }
+
+    /**
+     * Devuelve el ID de un proceso que salió del PCB.
+     *
+     * @param id ID entregado antes por tomar().
+     */
+    void devolver(int id) {
+        if (cantidadLibres == libres.length) {
+            libres = Arrays.copyOf(libres, cantidadLibres * 2);
+        }
+        libres[cantidadLibres++] = id;
+    }
+}
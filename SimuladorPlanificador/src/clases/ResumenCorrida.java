@@ -0,0 +1,155 @@
+package clases;
+
+import java.util.List;
+
+/**
+ * Resultado numérico de una corrida: cuántos procesos cayeron en cada grupo
+ * del ReporteFinal y cuántos cambios de contexto hubo, más (con conMetricas)
+ * los tiempos medios, el rendimiento y la utilización de CPU.
+ * <p>
+ * Es inmutable, así que las corridas en paralelo de un lote pueden devolverlo
+ * sin compartir nada y el hilo principal los combina al final.
+ * </p>
+ */
+public final class ResumenCorrida {
+
+    /** Nombres de las métricas, en el orden de valores(). */
+    public static final String[] METRICAS = {
+            "Exitosos", "Muertos (inanicion)", "Nunca ejecutaron", "No alcanzaron", "Cambios de contexto",
+            "Retorno medio", "Espera media", "Respuesta media", "Terminados/1000 ticks", "Utilizacion CPU %"
+    };
+
+    // Categorías de proceso (índices de valores() y resultado de categoria())
+    public static final int TERMINADO = 0;
+    public static final int MUERTO = 1;
+    public static final int NUNCA_EJECUTADO = 2;
+    public static final int NO_TERMINO = 3;
+
+    private final int terminados;
+    private final int muertos;
+    private final int nuncaEjecutados;
+    private final int noTerminaron;
+    private final int cambiosContexto;
+
+    // Métricas de tiempo (0 si la corrida no se midió)
+    private final double retornoMedio;
+    private final double esperaMedia;
+    private final double respuestaMedia;
+    private final double rendimiento;
+    private final double utilizacion;
+
+    public ResumenCorrida(int terminados, int muertos, int nuncaEjecutados, int noTerminaron,
+            int cambiosContexto) {
+        this(terminados, muertos, nuncaEjecutados, noTerminaron, cambiosContexto, 0, 0, 0, 0, 0);
+    }
+
+    private ResumenCorrida(int terminados, int muertos, int nuncaEjecutados, int noTerminaron,
+            int cambiosContexto, double retornoMedio, double esperaMedia, double respuestaMedia,
+            double rendimiento, double utilizacion) {
+        this.terminados = terminados;
+        this.muertos = muertos;
+        this.nuncaEjecutados = nuncaEjecutados;
+        this.noTerminaron = noTerminaron;
+        this.cambiosContexto = cambiosContexto;
+        this.retornoMedio = retornoMedio;
+        this.esperaMedia = esperaMedia;
+        this.respuestaMedia = respuestaMedia;
+        this.rendimiento = rendimiento;
+        this.utilizacion = utilizacion;
+    }
+
+    /**
+     * Copia del resumen con las métricas de tiempo de la corrida.
+     *
+     * @param metricas Métricas tomadas durante la corrida.
+     * @return Un resumen nuevo (éste no cambia).
+     */
+    public ResumenCorrida conMetricas(MetricasCorrida metricas) {
+        return new ResumenCorrida(terminados, muertos, nuncaEjecutados, noTerminaron, cambiosContexto,
+                metricas.getRetorno().media(), metricas.getEspera().media(), metricas.getRespuesta().media(),
+                metricas.rendimiento() * 1000, metricas.utilizacion() * 100);
+    }
+
+    /**
+     * Clasifica los procesos de una corrida terminada con los mismos criterios
+     * que ReporteFinal, en una sola pasada.
+     *
+     * @param procesos     Lista de procesos del PCB al acabar la simulación.
+     * @param totalCambios Cambios de contexto registrados por la Simulacion.
+     * @return El resumen de la corrida.
+     */
+    public static ResumenCorrida de(List<Proceso> procesos, int totalCambios) {
+        int[] conteo = new int[4];
+        for (Proceso p : procesos) {
+            conteo[categoria(p)]++;
+        }
+        return new ResumenCorrida(conteo[TERMINADO], conteo[MUERTO], conteo[NUNCA_EJECUTADO],
+                conteo[NO_TERMINO], totalCambios);
+    }
+
+    /**
+     * Grupo del ReporteFinal al que pertenece un proceso en su estado actual.
+     *
+     * @param p Proceso a clasificar.
+     * @return TERMINADO, MUERTO, NUNCA_EJECUTADO o NO_TERMINO.
+     */
+    public static int categoria(Proceso p) {
+        EstadoProceso estado = p.getEstado();
+        if (estado == EstadoProceso.MUERTO) {
+            return MUERTO;
+        } else if (p.getVecesUsoCPU() == 0) {
+            return NUNCA_EJECUTADO;
+        } else if (estado == EstadoProceso.TERMINADO) {
+            return TERMINADO;
+        }
+        return NO_TERMINO;
+    }
+
+    /** @return Las métricas en el orden de METRICAS. */
+    public double[] valores() {
+        return new double[] { terminados, muertos, nuncaEjecutados, noTerminaron, cambiosContexto,
+                retornoMedio, esperaMedia, respuestaMedia, rendimiento, utilizacion };
+    }
+
+    public int getTerminados() {
+        return terminados;
+    }
+
+    public int getMuertos() {
+        return muertos;
+    }
+
+    public int getNuncaEjecutados() {
+        return nuncaEjecutados;
+    }
+
+    public int getNoTerminaron() {
+        return noTerminaron;
+    }
+
+    public int getCambiosContexto() {
+        return cambiosContexto;
+    }
+
+    public double getRetornoMedio() {
+        return retornoMedio;
+    }
+
+    public double getEsperaMedia() {
+        return esperaMedia;
+    }
+
+    public double getRespuestaMedia() {
+        return respuestaMedia;
+    }
+
+    /** @return Procesos terminados por cada 1000 ticks. */
+    public double getRendimiento() {
+        return rendimiento;
+    }
+
+    /** @return Porcentaje de ticks con la CPU ocupada. */
+    public double getUtilizacion() {
+        return utilizacion;
+    }
+}
@@ -0,0 +1,327 @@
+package clases;
+
+import java.util.Arrays;
+
+/**
+ * Rueda jerárquica de temporizadores: agenda vencimientos a futuro y, al
+ * avanzar el reloj, entrega sólo los que ya vencieron.
+ * <p>
+ * Hay NIVELES ruedas de 64 casillas. El nivel 0 guarda lo que vence en los
+ * próximos 64 ticks (una casilla por tick); el nivel n, lo que vence dentro de
+ * 64^(n+1) ticks, una casilla por bloque de 64^n. Cada vez que el reloj cruza
+ * el inicio de un bloque, la casilla correspondiente del nivel superior se
+ * "derrama" a los niveles de abajo. Agendar y vencer cuestan O(1) sin importar
+ * cuántos temporizadores haya pendientes, y un mapa de bits por nivel permite
+ * saltar de una casilla ocupada a la siguiente sin recorrer las vacías.
+ * </p>
+ * <p>
+ * Como ColaEventos, guarda los temporizadores en arreglos paralelos (listas
+ * enlazadas por índice) para no crear un objeto por temporizador. Los que
+ * vencen en el mismo tick se entregan en el orden en que se agendaron.
+ * </p>
+ */
+public class RuedaTemporizadores {
+
+    private static final int BITS = 6;
+    private static final int CASILLAS = 1 << BITS;
+    private static final int MASCARA = CASILLAS - 1;
+    private static final int NIVELES = 4;
+
+    /** Sin siguiente en la lista enlazada. */
+    private static final int NADA = -1;
+
+    // --- Temporizadores (nodos de las listas) ---
+    private int[] vence;
+    private TipoEventoFuturo[] tipos;
+    private Proceso[] procesos;
+    private int[] siguiente;
+    private int libre = NADA;
+    private int usados;
+
+    /** Primero y último de cada casilla, indexados por nivel * CASILLAS + casilla. */
+    private final int[] cabeza = new int[NIVELES * CASILLAS];
+    private final int[] cola = new int[NIVELES * CASILLAS];
+
+    /** Casillas no vacías de cada nivel (bit i = casilla i). */
+    private final long[] ocupadas = new long[NIVELES];
+
+    /** Vencidos pendientes de entregar, en orden. */
+    private int primerVencido = NADA;
+    private int ultimoVencido = NADA;
+
+    /** Último tick ya procesado. */
+    private int ahora;
+
+    /** Temporizadores agendados que todavía no vencieron. */
+    private int pendientes;
+
+    /**
+     * Crea una rueda vacía.
+     *
+     * @param ahora Tick actual del reloj (los vencimientos deben ser posteriores).
+     */
+    public RuedaTemporizadores(int ahora) {
+        this.vence = new int[16];
+        this.tipos = new TipoEventoFuturo[16];
+        this.procesos = new Proceso[16];
+        this.siguiente = new int[16];
+        Arrays.fill(cabeza, NADA);
+        Arrays.fill(cola, NADA);
+        this.ahora = ahora;
+    }
+
+    /**
+     * Agenda un vencimiento.
+     *
+     * @param tiempo  Tick en el que vence (mayor que el último tick procesado).
+     * @param tipo    Qué ocurrirá.
+     * @param proceso Proceso involucrado.
+     */
+    public void agregar(int tiempo, TipoEventoFuturo tipo, Proceso proceso) {
+        int nodo = libre;
+        if (nodo != NADA) {
+            libre = siguiente[nodo];
+        } else {
+            if (usados == vence.length) {
+                crecer();
+            }
+            nodo = usados++;
+        }
+        vence[nodo] = Math.max(tiempo, ahora + 1);
+        tipos[nodo] = tipo;
+        procesos[nodo] = proceso;
+        pendientes++;
+        colocar(nodo);
+    }
+
+    /**
+     * Reserva lugar para 'capacidad' temporizadores simultáneos, para no crecer
+     * de a poco cuando se sabe de antemano cuántos habrá.
+     *
+     * @param capacidad Temporizadores que se espera tener pendientes a la vez.
+     */
+    public void reservar(int capacidad) {
+        if (vence.length < capacidad) {
+            vence = Arrays.copyOf(vence, capacidad);
+            tipos = Arrays.copyOf(tipos, capacidad);
+            procesos = Arrays.copyOf(procesos, capacidad);
+            siguiente = Arrays.copyOf(siguiente, capacidad);
+        }
+    }
+
+    /**
+     * Avanza el reloj de la rueda hasta 'hasta' (inclusive) y pasa a la lista
+     * de vencidos todo lo que venza en el camino. Las casillas vacías se saltan
+     * de a bloques; sin pendientes el salto es directo.
+     *
+     * @param hasta Tick destino.
+     */
+    public void avanzar(int hasta) {
+        while (ahora < hasta) {
+            if (pendientes == 0) {
+                ahora = hasta;
+                return;
+            }
+            int t = ahora + 1;
+            int siguienteTick;
+            if ((t & MASCARA) == 0) {
+                siguienteTick = t;
+            } else {
+                long adelante = ocupadas[0] >>> (t & MASCARA);
+                siguienteTick = adelante != 0
+                        ? t + Long.numberOfTrailingZeros(adelante)
+                        : (t | MASCARA) + 1;
+            }
+            if (siguienteTick > hasta) {
+                ahora = hasta;
+                return;
+            }
+            ahora = siguienteTick;
+            if ((siguienteTick & MASCARA) == 0) {
+                derramar(siguienteTick);
+            }
+            vencer(siguienteTick & MASCARA);
+        }
+    }
+
+    /**
+     * Tick del próximo vencimiento. Es exacto cuando cae en el nivel 0 sin que
+     * haya que derramar antes; si no, es una cota inferior (el inicio del
+     * siguiente bloque), así que saltar hasta ahí nunca se pasa de ninguno.
+     *
+     * @return El tick, o Integer.MAX_VALUE si no hay nada agendado.
+     */
+    public int proximoVencimiento() {
+        if (primerVencido != NADA) {
+            return ahora;
+        }
+        if (pendientes == 0) {
+            return Integer.MAX_VALUE;
+        }
+        int t = ahora + 1;
+        if ((t & MASCARA) != 0) {
+            long adelante = ocupadas[0] >>> (t & MASCARA);
+            if (adelante != 0) {
+                return t + Long.numberOfTrailingZeros(adelante);
+            }
+        }
+        // Lo que queda en el nivel 0 vence en el bloque siguiente, salvo que
+        // el derrame de ese bloque traiga algo antes
+        int frontera = (t & MASCARA) == 0 ? t : (t | MASCARA) + 1;
+        if (ocupadas[0] != 0 && !derramaEn(frontera)) {
+            return frontera + Long.numberOfTrailingZeros(ocupadas[0]);
+        }
+        return frontera;
+    }
+
+    /** @return true si hay vencidos sin entregar. */
+    public boolean hayVencidos() {
+        return primerVencido != NADA;
+    }
+
+    /** @return Tipo del primer vencido (debe haber alguno). */
+    public TipoEventoFuturo tipoVencido() {
+        return tipos[primerVencido];
+    }
+
+    /** @return Proceso del primer vencido (debe haber alguno). */
+    public Proceso procesoVencido() {
+        return procesos[primerVencido];
+    }
+
+    /** @return Tick en el que venció el primer vencido (debe haber alguno). */
+    public int tiempoVencido() {
+        return vence[primerVencido];
+    }
+
+    /** Descarta el primer vencido (consultarlo antes con los métodos *Vencido). */
+    public void extraerVencido() {
+        int nodo = primerVencido;
+        primerVencido = siguiente[nodo];
+        if (primerVencido == NADA) {
+            ultimoVencido = NADA;
+        }
+        liberar(nodo);
+    }
+
+    /** @return Temporizadores agendados sin vencer más los vencidos sin entregar. */
+    public int tamano() {
+        int n = pendientes;
+        for (int nodo = primerVencido; nodo != NADA; nodo = siguiente[nodo]) {
+            n++;
+        }
+        return n;
+    }
+
+    /** Descarta todo lo agendado y lo vencido. */
+    public void vaciar() {
+        Arrays.fill(cabeza, NADA);
+        Arrays.fill(cola, NADA);
+        Arrays.fill(ocupadas, 0L);
+        Arrays.fill(tipos, 0, usados, null);
+        Arrays.fill(procesos, 0, usados, null);
+        primerVencido = ultimoVencido = NADA;
+        libre = NADA;
+        usados = 0;
+        pendientes = 0;
+    }
+
+    // =========================================================================
+    // INTERNOS
+    // =========================================================================
+
+    /** Engancha un nodo al final de la casilla que le toca según su distancia. */
+    private void colocar(int nodo) {
+        int tiempo = vence[nodo];
+        long distancia = (long) tiempo - ahora;
+        int nivel = 0;
+        while (nivel < NIVELES - 1 && distancia >= 1L << (BITS * (nivel + 1))) {
+            nivel++;
+        }
+        // Más allá del último nivel: su casilla se revisa una vez por vuelta
+        // y se vuelve a colocar hasta que quede a tiro
+        int casilla = (tiempo >>> (BITS * nivel)) & MASCARA;
+        int i = nivel * CASILLAS + casilla;
+        siguiente[nodo] = NADA;
+        if (cabeza[i] == NADA) {
+            cabeza[i] = nodo;
+            ocupadas[nivel] |= 1L << casilla;
+        } else {
+            siguiente[cola[i]] = nodo;
+        }
+        cola[i] = nodo;
+    }
+
+    /**
+     * Al cruzar el inicio de un bloque, baja a los niveles inferiores lo que
+     * vence dentro de él (empezando por el nivel más alto que corresponda).
+     */
+    private void derramar(int tiempo) {
+        int nivelMaximo = 1;
+        while (nivelMaximo < NIVELES - 1 && (tiempo & ((1 << (BITS * (nivelMaximo + 1))) - 1)) == 0) {
+            nivelMaximo++;
+        }
+        for (int nivel = nivelMaximo; nivel >= 1; nivel--) {
+            int casilla = (tiempo >>> (BITS * nivel)) & MASCARA;
+            int i = nivel * CASILLAS + casilla;
+            int nodo = cabeza[i];
+            if (nodo == NADA) {
+                continue;
+            }
+            cabeza[i] = cola[i] = NADA;
+            ocupadas[nivel] &= ~(1L << casilla);
+            while (nodo != NADA) {
+                int sig = siguiente[nodo];
+                colocar(nodo);
+                nodo = sig;
+            }
+        }
+    }
+
+    /** @return true si al llegar a 'tiempo' alguna casilla superior se derrama. */
+    private boolean derramaEn(int tiempo) {
+        if ((ocupadas[1] & (1L << ((tiempo >>> BITS) & MASCARA))) != 0) {
+            return true;
+        }
+        for (int nivel = 2; nivel < NIVELES; nivel++) {
+            if (ocupadas[nivel] != 0 && (tiempo & ((1 << (BITS * nivel)) - 1)) == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Pasa la casilla del nivel 0 a la lista de vencidos. */
+    private void vencer(int casilla) {
+        int nodo = cabeza[casilla];
+        if (nodo == NADA) {
+            return;
+        }
+        for (int n = nodo; n != NADA; n = siguiente[n]) {
+            pendientes--;
+        }
+        if (ultimoVencido == NADA) {
+            primerVencido = nodo;
+        } else {
+            siguiente[ultimoVencido] = nodo;
+        }
+        ultimoVencido = cola[casilla];
+        cabeza[casilla] = cola[casilla] = NADA;
+        ocupadas[0] &= ~(1L << casilla);
+    }
+
+    private void liberar(int nodo) {
+        tipos[nodo] = null;
+        procesos[nodo] = null;
+        siguiente[nodo] = libre;
+        libre = nodo;
+    }
+
+    private void crecer() {
+        int nueva = vence.length * 2;
+        vence = Arrays.copyOf(vence, nueva);
+        tipos = Arrays.copyOf(tipos, nueva);
+        procesos = Arrays.copyOf(procesos, nueva);
+        siguiente = Arrays.copyOf(siguiente, nueva);
+    }
+}
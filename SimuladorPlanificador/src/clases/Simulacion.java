@@ -1,6 +1,9 @@
 package clases;
 
-import java.util.Random;
+import eventos.ConsolaEventos;
+import eventos.ReceptorEventos;
+import eventos.TipoEvento;
+import java.util.SplittableRandom;
 
 /**
  * Objeto DTO/Controlador que almacena el contexto temporal global de toda la
@@ -28,6 +31,12 @@ public class Simulacion {
      */
     public int quantum;
 
+    /**
+     * Cantidad de CPUs simuladas: 1 salvo en el algoritmo Multiprocesador, que
+     * la fija al empezar (la usa MetricasCorrida para la utilización).
+     */
+    public int numCpus = 1;
+
     /** El reloj actual (inicia en 0 y va escalando con incrementarTiempo()). */
     public int tiempoActual;
 
@@ -37,12 +46,37 @@ public class Simulacion {
      */
     public int cambiosProceso;
 
+    /**
+     * Destino de los eventos de planificación (consola interactiva o receptor
+     * nulo para corridas sin consola).
+     */
+    private ReceptorEventos eventos;
+
+    /**
+     * Agenda de eventos futuros (llegadas, fin de quantum, fin de ráfaga, fin de
+     * I/O). Permite saltar el reloj directo al siguiente suceso.
+     */
+    private ColaEventos agenda = new ColaEventos();
+
+    /**
+     * Fuente de aleatoriedad de la corrida: cada componente pide aquí su propio
+     * flujo, así que la misma semilla reproduce la corrida completa.
+     */
+    private FuenteAleatoria aleatorio;
+
+    /** Traza que inyecta procesos a medida que llegan (null si no hay). */
+    private LlegadasTraza llegadas;
+
+    /** Tareas periódicas que liberan trabajos con el reloj (null si no hay). */
+    private LiberacionesPeriodicas liberaciones;
+
     /**
      * Constructor por defecto.
      * Auto-inicializa las variables pseudo-aleatorias base del proyecto.
      */
     public Simulacion() {
-        Random r = new Random();
+        this.aleatorio = FuenteAleatoria.nueva();
+        SplittableRandom r = aleatorio.flujo("configuracion");
 
         // El proyecto exige tiempo entre 20 y 35 para finalizar la simulación por
         // fuerza bruta.
@@ -54,12 +88,91 @@ public class Simulacion {
         this.tiempoActual = 0;
         this.cambiosProceso = 0;
 
+        // Modo interactivo: consola con pausas de 1 segundo donde el algoritmo las pida.
+        this.eventos = new ConsolaEventos(1000);
+
         System.out.println("\n==================================================");
         System.out.println(" [CONFIG] Tiempo global limite  : " + this.tiempoMonitoreo + " ticks");
         System.out.println(" [CONFIG] Quantum asignado      : " + this.quantum + " ticks");
+        System.out.println(" [CONFIG] Semilla               : " + aleatorio.getSemilla());
         System.out.println("==================================================\n");
     }
 
+    /**
+     * Constructor para corridas controladas (sin consola, benchmarks, lotes).
+     * No genera valores aleatorios ni imprime la configuración.
+     *
+     * @param tiempoMonitoreo Límite de ticks de la corrida.
+     * @param quantum         Quantum para los algoritmos apropiativos.
+     * @param eventos         Receptor que recibirá los eventos de planificación.
+     */
+    public Simulacion(int tiempoMonitoreo, int quantum, ReceptorEventos eventos) {
+        this(tiempoMonitoreo, quantum, eventos, FuenteAleatoria.nueva());
+    }
+
+    /**
+     * Constructor para corridas controladas y reproducibles.
+     *
+     * @param tiempoMonitoreo Límite de ticks de la corrida.
+     * @param quantum         Quantum para los algoritmos apropiativos.
+     * @param eventos         Receptor que recibirá los eventos de planificación.
+     * @param aleatorio       Fuente de la que salen todos los flujos aleatorios.
+     */
+    public Simulacion(int tiempoMonitoreo, int quantum, ReceptorEventos eventos, FuenteAleatoria aleatorio) {
+        this.aleatorio = aleatorio;
+        this.tiempoMonitoreo = tiempoMonitoreo;
+        this.quantum = quantum;
+        this.tiempoActual = 0;
+        this.cambiosProceso = 0;
+        this.eventos = eventos;
+    }
+
+    // =========================================================================
+    // RECEPTOR DE EVENTOS
+    // =========================================================================
+
+    public ReceptorEventos getEventos() {
+        return eventos;
+    }
+
+    public void setEventos(ReceptorEventos eventos) {
+        this.eventos = eventos;
+    }
+
+    // =========================================================================
+    // ALEATORIEDAD
+    // =========================================================================
+
+    public FuenteAleatoria getAleatorio() {
+        return aleatorio;
+    }
+
+    /**
+     * Atajo de getAleatorio().flujo(componente).
+     *
+     * @param componente Nombre estable del componente que pide el flujo.
+     * @return Generador propio del componente en esta corrida.
+     */
+    public SplittableRandom flujo(String componente) {
+        return aleatorio.flujo(componente);
+    }
+
+    /**
+     * Asocia la traza cuyas llegadas se atenderán con los eventos LLEGADA sin
+     * proceso (lo invoca LlegadasTraza).
+     */
+    void conectarLlegadas(LlegadasTraza llegadas) {
+        this.llegadas = llegadas;
+    }
+
+    /**
+     * Asocia las tareas periódicas cuyos trabajos se liberan con los eventos
+     * LIBERACION (lo invoca LiberacionesPeriodicas).
+     */
+    void conectarLiberaciones(LiberacionesPeriodicas liberaciones) {
+        this.liberaciones = liberaciones;
+    }
+
     // =========================================================================
     // MÉTODOS DE TICK DE RELOJ
     // =========================================================================
@@ -69,6 +182,139 @@ public class Simulacion {
      */
     public void incrementarTiempo() {
         this.tiempoActual++;
+        // Atiende lo que haya quedado agendado justo en este tick (ej. llegadas)
+        if (!agenda.estaVacia() && agenda.tiempoMinimo() <= tiempoActual) {
+            avanzarHasta(tiempoActual);
+        }
+    }
+
+    // =========================================================================
+    // MOTOR DE EVENTOS DISCRETOS
+    // =========================================================================
+
+    /**
+     * Agenda un evento futuro.
+     *
+     * @param tiempo  Tick en el que ocurrirá.
+     * @param tipo    Qué ocurrirá.
+     * @param proceso Proceso involucrado.
+     */
+    public void programar(int tiempo, TipoEventoFuturo tipo, Proceso proceso) {
+        agenda.agregar(tiempo, tipo, proceso);
+    }
+
+    /**
+     * @return Tick del próximo evento agendado, o tiempoMonitoreo si no hay
+     *         ninguno antes del límite.
+     */
+    public int proximoEvento() {
+        if (agenda.estaVacia()) {
+            return tiempoMonitoreo;
+        }
+        return Math.min(agenda.tiempoMinimo(), tiempoMonitoreo);
+    }
+
+    /** @return true si queda algún evento agendado (ej. llegadas de una traza). */
+    public boolean hayEventosPendientes() {
+        return !agenda.estaVacia();
+    }
+
+    /**
+     * Cuántos ticks puede correr la CPU de un tirón sin cruzar el límite de la
+     * simulación ni el siguiente evento agendado.
+     *
+     * @param maximo Tope propio del algoritmo (quantum, ráfaga restante...).
+     * @return Ticks que se pueden avanzar de golpe (al menos 1 si la corrida
+     *         sigue válida).
+     */
+    public int ticksHastaEvento(int maximo) {
+        int limite = proximoEvento() - tiempoActual;
+        return Math.max(1, Math.min(maximo, limite));
+    }
+
+    /**
+     * Salta el reloj hasta el tick indicado (sin pasar del límite), atendiendo
+     * en orden todos los eventos agendados que caigan en el camino.
+     *
+     * @param tiempo Tick destino.
+     */
+    public void avanzarHasta(int tiempo) {
+        int destino = Math.min(tiempo, tiempoMonitoreo);
+        while (!agenda.estaVacia() && agenda.tiempoMinimo() <= destino) {
+            this.tiempoActual = Math.max(this.tiempoActual, agenda.tiempoMinimo());
+            TipoEventoFuturo tipo = agenda.tipoMinimo();
+            Proceso proceso = agenda.procesoMinimo();
+            agenda.extraerMinimo();
+            atender(tipo, proceso);
+        }
+        this.tiempoActual = Math.max(this.tiempoActual, destino);
+    }
+
+    /**
+     * Corre al proceso en la CPU hasta 'maximo' ticks de un solo salto de reloj,
+     * en vez de iterar tick por tick: salta hasta el fin del tramo (atendiendo
+     * los eventos agendados del camino) y descuenta los ticks al proceso. El
+     * fin del tramo no se agenda: avanzarHasta() ya se detiene ahí, y así cada
+     * tramo no pasa por el montículo de la agenda.
+     *
+     * @param proceso Proceso que ocupa la CPU.
+     * @param maximo  Ticks máximos que el algoritmo le concede en este turno.
+     * @return Ticks realmente ejecutados (recortados por la ráfaga restante y el
+     *         límite de la simulación).
+     */
+    public int ejecutarRafaga(Proceso proceso, int maximo) {
+        int ticks = Math.min(maximo, Math.min(proceso.getTiempoRestante(), tiempoMonitoreo - tiempoActual));
+        if (ticks <= 0) {
+            return 0;
+        }
+        avanzarHasta(tiempoActual + ticks);
+        proceso.setTiempoRestante(proceso.getTiempoRestante() - ticks);
+        proceso.setTiempoUsoCPU(proceso.getTiempoUsoCPU() + ticks);
+        return ticks;
+    }
+
+    /**
+     * Con la CPU ociosa y sin nadie que pueda cambiar de estado por sí mismo,
+     * no tiene caso avanzar de uno en uno: se salta al próximo evento agendado
+     * (o al final de la simulación si no queda ninguno).
+     */
+    public void saltarAlSiguienteEvento() {
+        avanzarHasta(proximoEvento());
+    }
+
+    /**
+     * Aplica el efecto de un evento agendado sobre su proceso.
+     * Fin de quantum y fin de ráfaga sólo marcan el instante del salto: el
+     * algoritmo que los programó actualiza al proceso al retomar el control.
+     */
+    private void atender(TipoEventoFuturo tipo, Proceso proceso) {
+        switch (tipo) {
+            case LLEGADA:
+                if (proceso == null) {
+                    // Llegada de traza: se crean los procesos de este tick
+                    llegadas.admitirHasta(tiempoActual);
+                } else {
+                    proceso.setEstado(EstadoProceso.LISTO);
+                }
+                break;
+            case LIBERACION:
+                liberaciones.liberarHasta(tiempoActual);
+                break;
+            case FIN_IO:
+                if (proceso.getEstado() == EstadoProceso.BLOQUEADO) {
+                    proceso.setEstado(EstadoProceso.LISTO);
+                    eventos.emitir(TipoEvento.DESBLOQUEO, tiempoActual, proceso);
+                }
+                break;
+            case VENCE_IO:
+                if (proceso.getEstado() == EstadoProceso.BLOQUEADO) {
+                    proceso.forzarMuerte();
+                    eventos.emitir(TipoEvento.MUERTE, tiempoActual, proceso);
+                }
+                break;
+            default:
+                break;
+        }
     }
 
     /**
@@ -0,0 +1,331 @@
+package clases;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Almacenamiento de los datos de los procesos en arreglos primitivos paralelos
+ * (una "columna" por atributo, una "fila" por proceso).
+ * <p>
+ * Cada Proceso es sólo una vista ligera (tabla + número de fila) sobre esta
+ * tabla, así que un millón de procesos no son un millón de objetos con una
+ * docena de campos y un String cada uno: el estado se guarda como byte, el
+ * usuario como un entero internado y los recorridos por columna tocan memoria
+ * contigua. Pensada para corridas masivas; GestorProcesos crea una tabla con
+ * la capacidad exacta de la carga.
+ * </p>
+ * <p>
+ * El índice por estado del PCB tampoco crea objetos por proceso: enlaza
+ * ranuras en arreglos de int y guarda aquí la ranura de cada fila. Lo que
+ * queda por proceso fuera de los arreglos es la vista, que colas y políticas
+ * reciben y guardan; quitarla exigiría que todo el planificador trabajara con
+ * números de fila.
+ * </p>
+ */
+public class TablaProcesos {
+
+    private static final EstadoProceso[] ESTADOS = EstadoProceso.values();
+
+    // --- Atributos base (ver los getters de Proceso) ---
+    private int[] ids;
+    /** Número con el que se muestra al proceso (ver Proceso.getEtiqueta). */
+    private int[] etiquetas;
+    private int[] tiemposRestantes;
+    private int[] tiemposIniciales;
+    private byte[] estados;
+    private int[] prioridades;
+    private int[] boletos;
+    private int[] usuarios;
+
+    /** Plazo relativo a la llegada (0 = sin plazo, ver Proceso.getPlazo). */
+    private int[] plazos;
+
+    // --- Atributos estadísticos y de seguimiento ---
+    private int[] vecesUsoCPU;
+    private int[] tiemposUsoCPU;
+    private int[] tiemposCreacion;
+
+    // --- Marcas de tiempo para las métricas (las pone MetricasCorrida) ---
+    private int[] tiemposPrimerDespacho;
+    private int[] tiemposFin;
+    private int[] tiemposEspera;
+    private int[] marcasListo;
+
+    /** Ranura del proceso en el índice por estado de su PCB (-1 = ninguna). */
+    private int[] ranuras;
+
+    // --- Atributos específicos (Alg. Garantizada) ---
+    private double[] cpuDerechos;
+    private double[] proporciones;
+
+    private int tamano;
+
+    /** Nombres de usuario internados: cada fila guarda sólo su índice aquí. */
+    private final List<String> nombresUsuario = new ArrayList<>();
+    private final Map<String, Integer> indicesUsuario = new HashMap<>();
+
+    /** PCB al que se avisa de los cambios de las filas (null si no hay). */
+    private PCB pcb;
+
+    /**
+     * Crea una tabla vacía.
+     *
+     * @param capacidad Filas reservadas de antemano (crece sola si hace falta).
+     */
+    public TablaProcesos(int capacidad) {
+        capacidad = Math.max(1, capacidad);
+        ids = new int[capacidad];
+        etiquetas = new int[capacidad];
+        tiemposRestantes = new int[capacidad];
+        tiemposIniciales = new int[capacidad];
+        estados = new byte[capacidad];
+        prioridades = new int[capacidad];
+        boletos = new int[capacidad];
+        usuarios = new int[capacidad];
+        plazos = new int[capacidad];
+        vecesUsoCPU = new int[capacidad];
+        tiemposUsoCPU = new int[capacidad];
+        tiemposCreacion = new int[capacidad];
+        tiemposPrimerDespacho = new int[capacidad];
+        tiemposFin = new int[capacidad];
+        tiemposEspera = new int[capacidad];
+        marcasListo = new int[capacidad];
+        ranuras = new int[capacidad];
+        cpuDerechos = new double[capacidad];
+        proporciones = new double[capacidad];
+    }
+
+    /**
+     * Agrega un proceso a la tabla y devuelve su vista.
+     * Los parámetros son los mismos que los del constructor de Proceso.
+     *
+     * @return Vista del proceso recién creado.
+     */
+    public Proceso crear(int id, int tiempoRestante, EstadoProceso estado, int prioridad,
+            int boletos, String usuario, int tiempoActual) {
+        return new Proceso(this, agregarFila(id, tiempoRestante, estado, prioridad, boletos, usuario, tiempoActual));
+    }
+
+    /** @return Cantidad de filas ocupadas. */
+    public int tamano() {
+        return tamano;
+    }
+
+    int agregarFila(int id, int tiempoRestante, EstadoProceso estado, int prioridad,
+            int boletos, String usuario, int tiempoActual) {
+        if (tamano == ids.length) {
+            crecer();
+        }
+        int fila = tamano++;
+        this.ids[fila] = id;
+        this.etiquetas[fila] = id;
+        this.tiemposRestantes[fila] = tiempoRestante;
+        this.tiemposIniciales[fila] = tiempoRestante; // Se guarda la ráfaga original
+        this.estados[fila] = (byte) estado.ordinal();
+        this.prioridades[fila] = prioridad;
+        this.boletos[fila] = boletos;
+        this.usuarios[fila] = internar(usuario);
+        this.tiemposCreacion[fila] = tiempoActual;
+        this.tiemposPrimerDespacho[fila] = -1;
+        this.tiemposFin[fila] = -1;
+        this.marcasListo[fila] = tiempoActual; // Si nace LISTO, espera desde que llega
+        this.ranuras[fila] = -1;
+        return fila;
+    }
+
+    private int internar(String usuario) {
+        Integer indice = indicesUsuario.get(usuario);
+        if (indice == null) {
+            indice = nombresUsuario.size();
+            nombresUsuario.add(usuario);
+            indicesUsuario.put(usuario, indice);
+        }
+        return indice;
+    }
+
+    private void crecer() {
+        int nueva = ids.length * 2;
+        ids = Arrays.copyOf(ids, nueva);
+        etiquetas = Arrays.copyOf(etiquetas, nueva);
+        tiemposRestantes = Arrays.copyOf(tiemposRestantes, nueva);
+        tiemposIniciales = Arrays.copyOf(tiemposIniciales, nueva);
+        estados = Arrays.copyOf(estados, nueva);
+        prioridades = Arrays.copyOf(prioridades, nueva);
+        boletos = Arrays.copyOf(boletos, nueva);
+        usuarios = Arrays.copyOf(usuarios, nueva);
+        plazos = Arrays.copyOf(plazos, nueva);
+        vecesUsoCPU = Arrays.copyOf(vecesUsoCPU, nueva);
+        tiemposUsoCPU = Arrays.copyOf(tiemposUsoCPU, nueva);
+        tiemposCreacion = Arrays.copyOf(tiemposCreacion, nueva);
+        tiemposPrimerDespacho = Arrays.copyOf(tiemposPrimerDespacho, nueva);
+        tiemposFin = Arrays.copyOf(tiemposFin, nueva);
+        tiemposEspera = Arrays.copyOf(tiemposEspera, nueva);
+        marcasListo = Arrays.copyOf(marcasListo, nueva);
+        ranuras = Arrays.copyOf(ranuras, nueva);
+        cpuDerechos = Arrays.copyOf(cpuDerechos, nueva);
+        proporciones = Arrays.copyOf(proporciones, nueva);
+    }
+
+    // =========================================================================
+    // ACCESO POR FILA (lo usan las vistas Proceso)
+    // =========================================================================
+
+    PCB pcb() {
+        return pcb;
+    }
+
+    void vincular(PCB pcb) {
+        this.pcb = pcb;
+    }
+
+    int id(int fila) {
+        return ids[fila];
+    }
+
+    void id(int fila, int valor) {
+        ids[fila] = valor;
+    }
+
+    int etiqueta(int fila) {
+        return etiquetas[fila];
+    }
+
+    void etiqueta(int fila, int valor) {
+        etiquetas[fila] = valor;
+    }
+
+    int tiempoRestante(int fila) {
+        return tiemposRestantes[fila];
+    }
+
+    void tiempoRestante(int fila, int valor) {
+        tiemposRestantes[fila] = valor;
+    }
+
+    int tiempoInicial(int fila) {
+        return tiemposIniciales[fila];
+    }
+
+    EstadoProceso estado(int fila) {
+        return ESTADOS[estados[fila]];
+    }
+
+    void estado(int fila, EstadoProceso valor) {
+        estados[fila] = (byte) valor.ordinal();
+    }
+
+    int prioridad(int fila) {
+        return prioridades[fila];
+    }
+
+    void prioridad(int fila, int valor) {
+        prioridades[fila] = valor;
+    }
+
+    int boletos(int fila) {
+        return boletos[fila];
+    }
+
+    void boletos(int fila, int valor) {
+        boletos[fila] = valor;
+    }
+
+    String usuario(int fila) {
+        return nombresUsuario.get(usuarios[fila]);
+    }
+
+    void usuario(int fila, String valor) {
+        usuarios[fila] = internar(valor);
+    }
+
+    int plazo(int fila) {
+        return plazos[fila];
+    }
+
+    void plazo(int fila, int valor) {
+        plazos[fila] = valor;
+    }
+
+    int vecesUsoCPU(int fila) {
+        return vecesUsoCPU[fila];
+    }
+
+    void vecesUsoCPU(int fila, int valor) {
+        vecesUsoCPU[fila] = valor;
+    }
+
+    int tiempoUsoCPU(int fila) {
+        return tiemposUsoCPU[fila];
+    }
+
+    void tiempoUsoCPU(int fila, int valor) {
+        tiemposUsoCPU[fila] = valor;
+    }
+
+    int tiempoCreacion(int fila) {
+        return tiemposCreacion[fila];
+    }
+
+    void tiempoCreacion(int fila, int valor) {
+        tiemposCreacion[fila] = valor;
+    }
+
+    int tiempoPrimerDespacho(int fila) {
+        return tiemposPrimerDespacho[fila];
+    }
+
+    void tiempoPrimerDespacho(int fila, int valor) {
+        tiemposPrimerDespacho[fila] = valor;
+    }
+
+    int tiempoFin(int fila) {
+        return tiemposFin[fila];
+    }
+
+    void tiempoFin(int fila, int valor) {
+        tiemposFin[fila] = valor;
+    }
+
+    int tiempoEspera(int fila) {
+        return tiemposEspera[fila];
+    }
+
+    void tiempoEspera(int fila, int valor) {
+        tiemposEspera[fila] = valor;
+    }
+
+    int marcaListo(int fila) {
+        return marcasListo[fila];
+    }
+
+    void marcaListo(int fila, int valor) {
+        marcasListo[fila] = valor;
+    }
+
+    int ranura(int fila) {
+        return ranuras[fila];
+    }
+
+    void ranura(int fila, int valor) {
+        ranuras[fila] = valor;
+    }
+
+    double cpuDerecho(int fila) {
+        return cpuDerechos[fila];
+    }
+
+    void cpuDerecho(int fila, double valor) {
+        cpuDerechos[fila] = valor;
+    }
+
+    double proporcion(int fila) {
+        return proporciones[fila];
+    }
+
+    void proporcion(int fila, double valor) {
+        proporciones[fila] = valor;
+    }
+}
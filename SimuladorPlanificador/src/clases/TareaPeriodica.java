@@ -0,0 +1,235 @@
+package clases;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tarea periódica: libera un trabajo (un Proceso de ráfaga igual a su peor
+ * tiempo de cómputo) cada 'periodo' ticks a partir de su desfase. Cada
+ * trabajo tiene como plazo el período: debe terminar antes de que se libere
+ * el siguiente.
+ * <p>
+ * La prioridad no viene en la definición: la asigna asignarMonotonas() según
+ * el período (Rate Monotonic: a menor período, mayor prioridad), y con ella
+ * se crean todos sus trabajos.
+ * </p>
+ * <p>
+ * leer() carga un conjunto de tareas de un CSV con columnas tarea, periodo,
+ * wcet, desfase (con encabezado en cualquier orden, o sin él en ese orden).
+ * Los nombres también se aceptan como nombre, period, computo, offset o fase;
+ * el desfase vale 0 si falta. Las líneas vacías y las que empiezan con '#' se
+ * ignoran.
+ * </p>
+ */
+public class TareaPeriodica {
+
+    private final String nombre;
+    private final int periodo;
+    private final int computo;
+    private final int desfase;
+
+    /** Prioridad de sus trabajos (mayor número = más importante). */
+    private int prioridad = 1;
+
+    /**
+     * @param nombre  Nombre de la tarea (es el usuario de sus trabajos).
+     * @param periodo Ticks entre dos liberaciones (y plazo de cada trabajo).
+     * @param computo Peor tiempo de cómputo (WCET) de cada trabajo.
+     * @param desfase Tick de la primera liberación.
+     * @throws IllegalArgumentException Si el período o el cómputo no son
+     *                                  positivos, el cómputo supera al período o
+     *                                  el desfase es negativo.
+     */
+    public TareaPeriodica(String nombre, int periodo, int computo, int desfase) {
+        if (periodo <= 0 || computo <= 0 || computo > periodo || desfase < 0) {
+            throw new IllegalArgumentException("Tarea " + nombre + " inválida: se requiere 0 < wcet <= periodo"
+                    + " y desfase >= 0 (periodo " + periodo + ", wcet " + computo + ", desfase " + desfase + ")");
+        }
+        this.nombre = nombre;
+        this.periodo = periodo;
+        this.computo = computo;
+        this.desfase = desfase;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public int getPeriodo() {
+        return periodo;
+    }
+
+    public int getComputo() {
+        return computo;
+    }
+
+    public int getDesfase() {
+        return desfase;
+    }
+
+    public int getPrioridad() {
+        return prioridad;
+    }
+
+    /** @return Fracción de CPU que pide la tarea (wcet / periodo). */
+    public double utilizacion() {
+        return (double) computo / periodo;
+    }
+
+    /**
+     * Asigna prioridades Rate Monotonic: la tarea de menor período recibe la
+     * prioridad más alta; las de igual período comparten prioridad.
+     *
+     * @param tareas Conjunto de tareas.
+     */
+    public static void asignarMonotonas(List<TareaPeriodica> tareas) {
+        int[] periodos = tareas.stream().mapToInt(TareaPeriodica::getPeriodo).distinct().sorted().toArray();
+        for (TareaPeriodica t : tareas) {
+            t.prioridad = periodos.length - Arrays.binarySearch(periodos, t.periodo);
+        }
+    }
+
+    /**
+     * @param tareas Conjunto de tareas.
+     * @return Mínimo común múltiplo de los períodos, o Long.MAX_VALUE si no cabe
+     *         en un long.
+     */
+    public static long hiperperiodo(List<TareaPeriodica> tareas) {
+        long mcm = 1;
+        for (TareaPeriodica t : tareas) {
+            long mcd = mcd(mcm, t.periodo);
+            long factor = t.periodo / mcd;
+            if (mcm > Long.MAX_VALUE / factor) {
+                return Long.MAX_VALUE;
+            }
+            mcm *= factor;
+        }
+        return mcm;
+    }
+
+    private static long mcd(long a, long b) {
+        while (b != 0) {
+            long r = a % b;
+            a = b;
+            b = r;
+        }
+        return a;
+    }
+
+    /**
+     * Lee un conjunto de tareas y les asigna prioridades Rate Monotonic.
+     *
+     * @param archivo CSV de tareas (UTF-8).
+     * @return Las tareas, en el orden del archivo.
+     * @throws IOException              Si no se puede leer.
+     * @throws IllegalArgumentException Si una línea es inválida o no hay tareas.
+     */
+    public static List<TareaPeriodica> leer(Path archivo) throws IOException {
+        List<TareaPeriodica> tareas = new ArrayList<>();
+        // Columna de: nombre, periodo, wcet, desfase
+        int[] columnas = { 0, 1, 2, 3 };
+        boolean primera = true;
+        int linea = 0;
+        try (BufferedReader entrada = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            String texto;
+            while ((texto = entrada.readLine()) != null) {
+                linea++;
+                texto = texto.trim();
+                if (texto.isEmpty() || texto.charAt(0) == '#') {
+                    continue;
+                }
+                String[] campos = texto.split(",", -1);
+                if (primera) {
+                    primera = false;
+                    if (esEncabezado(campos)) {
+                        columnas = leerEncabezado(campos, linea);
+                        continue;
+                    }
+                }
+                String nombre = campo(campos, columnas[0]);
+                if (nombre.isEmpty()) {
+                    nombre = "T" + (tareas.size() + 1);
+                }
+                try {
+                    tareas.add(new TareaPeriodica(nombre,
+                            entero(campo(campos, columnas[1]), -1),
+                            entero(campo(campos, columnas[2]), -1),
+                            entero(campo(campos, columnas[3]), 0)));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Tareas inválidas (línea " + linea + "): " + e.getMessage());
+                }
+            }
+        }
+        if (tareas.isEmpty()) {
+            throw new IllegalArgumentException("El archivo de tareas no define ninguna tarea");
+        }
+        asignarMonotonas(tareas);
+        return tareas;
+    }
+
+    /** Sin encabezado la segunda columna (el período) es un número. */
+    private static boolean esEncabezado(String[] campos) {
+        String segundo = campos.length > 1 ? campos[1].trim() : "";
+        return segundo.isEmpty() || !Character.isDigit(segundo.charAt(0));
+    }
+
+    private static int[] leerEncabezado(String[] campos, int linea) {
+        int[] columnas = { -1, -1, -1, -1 };
+        for (int i = 0; i < campos.length; i++) {
+            switch (campos[i].trim().toLowerCase()) {
+                case "tarea":
+                case "nombre":
+                case "task":
+                    columnas[0] = i;
+                    break;
+                case "periodo":
+                case "período":
+                case "period":
+                    columnas[1] = i;
+                    break;
+                case "wcet":
+                case "computo":
+                case "cómputo":
+                    columnas[2] = i;
+                    break;
+                case "desfase":
+                case "offset":
+                case "fase":
+                    columnas[3] = i;
+                    break;
+                default:
+                    break;
+            }
+        }
+        if (columnas[1] < 0 || columnas[2] < 0) {
+            throw new IllegalArgumentException("Tareas inválidas (línea " + linea + "): faltan periodo o wcet");
+        }
+        return columnas;
+    }
+
+    private static String campo(String[] campos, int columna) {
+        return columna >= 0 && columna < campos.length ? campos[columna].trim() : "";
+    }
+
+    private static int entero(String texto, int porDefecto) {
+        if (texto.isEmpty()) {
+            return porDefecto;
+        }
+        try {
+            return Integer.parseInt(texto);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("número inválido: " + texto);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Tarea[" + nombre + ", T=" + periodo + ", C=" + computo + ", desfase=" + desfase + "]";
+    }
+}
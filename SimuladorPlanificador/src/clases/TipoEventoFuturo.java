@@ -0,0 +1,33 @@
+package clases;
+
+/**
+ * Tipos de sucesos que pueden quedar agendados a futuro en la Simulacion.
+ * <p>
+ * A diferencia de eventos.TipoEvento (lo que ya pasó y se reporta), estos
+ * marcan instantes en los que algo VA a pasar, para que el reloj pueda saltar
+ * directamente hasta ellos en lugar de avanzar de uno en uno.
+ * </p>
+ */
+public enum TipoEventoFuturo {
+
+    /** Un proceso nuevo entra al sistema como LISTO. */
+    LLEGADA,
+
+    /** Una o más tareas periódicas liberan su siguiente trabajo. */
+    LIBERACION,
+
+    /** El proceso en CPU agota su quantum. */
+    FIN_QUANTUM,
+
+    /** El proceso en CPU consume toda su ráfaga restante. */
+    FIN_RAFAGA,
+
+    /** Termina la operación de I/O de un proceso BLOQUEADO. */
+    FIN_IO,
+
+    /**
+     * Se agota la espera de I/O de un proceso BLOQUEADO (agotó sus intentos):
+     * muere por inanición.
+     */
+    VENCE_IO
+}
@@ -0,0 +1,157 @@
+package ejecucion;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+
+/**
+ * Tareas listas para correr, ordenadas según una PoliticaTareas. No es segura
+ * entre hilos: EjecutorPlanificado la usa sólo con su cerrojo tomado.
+ */
+final class ColaTareas {
+
+    /** Niveles de MULTIPLES_COLAS (el quantum del último es quantum x 2^7). */
+    static final int NIVELES = 8;
+
+    private final PoliticaTareas politica;
+    private final SplittableRandom random;
+
+    private ArrayDeque<TareaPlanificada> fifo;
+    private PriorityQueue<TareaPlanificada> prioridades;
+    private ArrayList<TareaPlanificada> sorteo;
+    private long totalBoletos;
+    private Map<String, ArrayDeque<TareaPlanificada>> porInquilino;
+    private ArrayDeque<String> ronda;
+    private ArrayDeque<TareaPlanificada>[] niveles;
+
+    private long secuencia;
+    private int tamano;
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    ColaTareas(PoliticaTareas politica, long semilla) {
+        this.politica = politica;
+        this.random = new SplittableRandom(semilla);
+        switch (politica) {
+            case ROUND_ROBIN:
+                fifo = new ArrayDeque<>();
+                break;
+            case PRIORIDADES:
+                prioridades = new PriorityQueue<>((a, b) -> a.prioridad != b.prioridad
+                        ? Integer.compare(b.prioridad, a.prioridad)
+                        : Long.compare(a.secuencia, b.secuencia));
+                break;
+            case LOTERIA:
+                sorteo = new ArrayList<>();
+                break;
+            case PARTICIPACION_EQUITATIVA:
+                porInquilino = new HashMap<>();
+                ronda = new ArrayDeque<>();
+                break;
+            default:
+                niveles = new ArrayDeque[NIVELES];
+                for (int i = 0; i < NIVELES; i++) {
+                    niveles[i] = new ArrayDeque<>();
+                }
+                break;
+        }
+    }
+
+    void agregar(TareaPlanificada t) {
+        t.secuencia = secuencia++;
+        switch (politica) {
+            case ROUND_ROBIN:
+                fifo.addLast(t);
+                break;
+            case PRIORIDADES:
+                prioridades.add(t);
+                break;
+            case LOTERIA:
+                sorteo.add(t);
+                totalBoletos += t.boletos;
+                break;
+            case PARTICIPACION_EQUITATIVA:
+                ArrayDeque<TareaPlanificada> propia = porInquilino.get(t.inquilino);
+                if (propia == null) {
+                    propia = new ArrayDeque<>();
+                    porInquilino.put(t.inquilino, propia);
+                }
+                if (propia.isEmpty()) {
+                    // El inquilino vuelve a la ronda al tener algo listo
+                    ronda.addLast(t.inquilino);
+                }
+                propia.addLast(t);
+                break;
+            default:
+                niveles[t.nivel].addLast(t);
+                break;
+        }
+        tamano++;
+    }
+
+    /** @return La siguiente tarea según la política, o null si no hay. */
+    TareaPlanificada extraer() {
+        if (tamano == 0) {
+            return null;
+        }
+        TareaPlanificada t;
+        switch (politica) {
+            case ROUND_ROBIN:
+                t = fifo.pollFirst();
+                break;
+            case PRIORIDADES:
+                t = prioridades.poll();
+                break;
+            case LOTERIA:
+                t = sortear();
+                break;
+            case PARTICIPACION_EQUITATIVA:
+                String inquilino = ronda.pollFirst();
+                ArrayDeque<TareaPlanificada> propia = porInquilino.get(inquilino);
+                t = propia.pollFirst();
+                if (!propia.isEmpty()) {
+                    ronda.addLast(inquilino);
+                }
+                break;
+            default:
+                t = null;
+                for (int i = 0; t == null; i++) {
+                    t = niveles[i].pollFirst();
+                }
+                break;
+        }
+        tamano--;
+        return t;
+    }
+
+    /** Sorteo lineal sobre los boletos; quita al ganador cambiándolo por el último. */
+    private TareaPlanificada sortear() {
+        long ganador = random.nextLong(totalBoletos);
+        int i = 0;
+        for (long acumulado = sorteo.get(0).boletos; acumulado <= ganador; acumulado += sorteo.get(i).boletos) {
+            i++;
+        }
+        TareaPlanificada t = sorteo.get(i);
+        TareaPlanificada ultima = sorteo.remove(sorteo.size() - 1);
+        if (i < sorteo.size()) {
+            sorteo.set(i, ultima);
+        }
+        totalBoletos -= t.boletos;
+        return t;
+    }
+
+    /** Saca todas las tareas (para shutdownNow). */
+    ArrayList<TareaPlanificada> vaciar() {
+        ArrayList<TareaPlanificada> todas = new ArrayList<>(tamano);
+        for (TareaPlanificada t = extraer(); t != null; t = extraer()) {
+            todas.add(t);
+        }
+        return todas;
+    }
+
+    int tamano() {
+        return tamano;
+    }
+}
@@ -0,0 +1,459 @@
+package ejecucion;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ExecutorService que reparte numCpus "CPUs" entre tareas reales siguiendo
+ * una PoliticaTareas (Round Robin, Prioridades, Lotería, Participación
+ * Equitativa por inquilino o Múltiples Colas), para comparar las políticas
+ * del simulador con trabajo de verdad: latencia y rendimiento medidos por
+ * inquilino en lugar de ticks simulados.
+ * <p>
+ * Cada tarea corre en su propio hilo (creado por la ThreadFactory al primer
+ * despacho), pero sólo numCpus de ellos avanzan a la vez; el resto espera su
+ * turno. No hay expropiación forzada: una tarea cede la CPU en los puntos de
+ * control que ella misma marca con puntoDeControl(), que cuentan como fin de
+ * quantum si ya lo agotó, o con ceder() para soltarla antes. Una tarea sin
+ * puntos de control corre hasta terminar (política no apropiativa).
+ * </p>
+ * <p>
+ * Con Java 21 o superior conviene pasar Thread.ofVirtual().factory() como
+ * fábrica para que cada tarea sea un hilo virtual; la fábrica por defecto usa
+ * hilos de plataforma (daemon), que alcanzan para miles de tareas.
+ * </p>
+ */
+public class EjecutorPlanificado extends AbstractExecutorService {
+
+    /** Inquilino de las tareas enviadas con execute()/submit(). */
+    public static final String INQUILINO_POR_DEFECTO = "default";
+
+    /** Tarea que corre en el hilo actual (null fuera del ejecutor). */
+    private static final ThreadLocal<TareaPlanificada> ACTUAL = new ThreadLocal<>();
+
+    private final int numCpus;
+    private final PoliticaTareas politica;
+    private final long quantumNanos;
+    private final ThreadFactory fabrica;
+
+    private final ReentrantLock cerrojo = new ReentrantLock();
+    private final Condition terminado = cerrojo.newCondition();
+
+    // --- Estado protegido por el cerrojo ---
+    private final ColaTareas cola;
+    private final Set<TareaPlanificada> despachadas = new HashSet<>();
+    private final Map<String, EstadisticaInquilino> estadisticas = new TreeMap<>();
+    private int libres;
+    private int pendientes;
+    private boolean cerrado;
+    private long despachos;
+    private long inicio = -1;
+    private long ultimoFin;
+
+    /**
+     * Ejecutor con hilos de plataforma y semilla fija para la lotería.
+     *
+     * @param numCpus      Tareas que pueden avanzar a la vez.
+     * @param politica     Cómo se elige la siguiente tarea.
+     * @param quantumNanos Quantum en nanosegundos (en MULTIPLES_COLAS, el del nivel 0).
+     */
+    public EjecutorPlanificado(int numCpus, PoliticaTareas politica, long quantumNanos) {
+        this(numCpus, politica, quantumNanos, 42, fabricaPorDefecto());
+    }
+
+    /**
+     * @param numCpus      Tareas que pueden avanzar a la vez.
+     * @param politica     Cómo se elige la siguiente tarea.
+     * @param quantumNanos Quantum en nanosegundos (en MULTIPLES_COLAS, el del nivel 0).
+     * @param semilla      Semilla del sorteo de LOTERIA.
+     * @param fabrica      Crea el hilo de cada tarea.
+     */
+    public EjecutorPlanificado(int numCpus, PoliticaTareas politica, long quantumNanos, long semilla,
+            ThreadFactory fabrica) {
+        if (numCpus < 1 || quantumNanos < 1) {
+            throw new IllegalArgumentException("CPUs o quantum fuera de rango");
+        }
+        this.numCpus = numCpus;
+        this.politica = politica;
+        this.quantumNanos = quantumNanos;
+        this.fabrica = fabrica;
+        this.cola = new ColaTareas(politica, semilla);
+        this.libres = numCpus;
+    }
+
+    private static ThreadFactory fabricaPorDefecto() {
+        AtomicInteger contador = new AtomicInteger();
+        return r -> {
+            Thread hilo = new Thread(r, "tarea-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        };
+    }
+
+    // =========================================================================
+    // ENVÍO DE TAREAS
+    // =========================================================================
+
+    @Override
+    public void execute(Runnable tarea) {
+        ejecutar(tarea, INQUILINO_POR_DEFECTO, 0, 1);
+    }
+
+    /**
+     * Encola una tarea con los datos que usan las políticas.
+     *
+     * @param tarea     Trabajo a hacer.
+     * @param inquilino Usuario dueño (PARTICIPACION_EQUITATIVA y métricas).
+     * @param prioridad Mayor número, más prioridad (PRIORIDADES).
+     * @param boletos   Boletos para el sorteo, al menos 1 (LOTERIA).
+     * @throws RejectedExecutionException si el ejecutor ya se cerró.
+     */
+    public void ejecutar(Runnable tarea, String inquilino, int prioridad, int boletos) {
+        if (tarea == null || inquilino == null) {
+            throw new NullPointerException();
+        }
+        if (boletos < 1) {
+            throw new IllegalArgumentException("Una tarea necesita al menos un boleto");
+        }
+        cerrojo.lock();
+        try {
+            if (cerrado) {
+                throw new RejectedExecutionException("El ejecutor está cerrado");
+            }
+            long ahora = System.nanoTime();
+            if (inicio < 0) {
+                inicio = ahora;
+            }
+            TareaPlanificada t = new TareaPlanificada(this, tarea, inquilino, prioridad, boletos, ahora);
+            estadistica(inquilino).envio();
+            pendientes++;
+            cola.agregar(t);
+            despacharLibres(ahora);
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+
+    /**
+     * Como submit(), pero con inquilino, prioridad y boletos.
+     *
+     * @return Future del resultado.
+     */
+    public <T> Future<T> enviar(Callable<T> tarea, String inquilino, int prioridad, int boletos) {
+        FutureTask<T> futuro = new FutureTask<>(tarea);
+        ejecutar(futuro, inquilino, prioridad, boletos);
+        return futuro;
+    }
+
+    /**
+     * Como submit(), pero con inquilino, prioridad y boletos.
+     *
+     * @return Future que se completa (con null) al terminar la tarea.
+     */
+    public Future<?> enviar(Runnable tarea, String inquilino, int prioridad, int boletos) {
+        FutureTask<Void> futuro = new FutureTask<>(tarea, null);
+        ejecutar(futuro, inquilino, prioridad, boletos);
+        return futuro;
+    }
+
+    // =========================================================================
+    // PUNTOS DE CONTROL (llamados desde las tareas)
+    // =========================================================================
+
+    /**
+     * Punto donde la tarea del hilo actual puede perder la CPU: si ya agotó su
+     * quantum y hay otra tarea esperando, vuelve a la cola y este hilo se
+     * detiene hasta el siguiente despacho. Es barato si el quantum no se
+     * agotó (sólo lee el reloj); fuera del ejecutor no hace nada.
+     */
+    public static void puntoDeControl() {
+        TareaPlanificada t = ACTUAL.get();
+        if (t != null && System.nanoTime() - t.inicioTurno >= t.ejecutor.quantum(t)) {
+            t.ejecutor.relevar(t, true);
+        }
+    }
+
+    /**
+     * Suelta la CPU aunque no se haya agotado el quantum (en MULTIPLES_COLAS
+     * la tarea conserva su nivel). Fuera del ejecutor equivale a Thread.yield().
+     */
+    public static void ceder() {
+        TareaPlanificada t = ACTUAL.get();
+        if (t == null) {
+            Thread.yield();
+        } else {
+            t.ejecutor.relevar(t, false);
+        }
+    }
+
+    private long quantum(TareaPlanificada t) {
+        return quantumNanos << t.nivel;
+    }
+
+    /** Devuelve la CPU de t a la cola y espera a que se la vuelvan a dar. */
+    private void relevar(TareaPlanificada t, boolean agotado) {
+        cerrojo.lock();
+        try {
+            long ahora = System.nanoTime();
+            t.nanosCpu += ahora - t.inicioTurno;
+            if (agotado) {
+                estadistica(t.inquilino).expropiacion();
+                if (politica == PoliticaTareas.MULTIPLES_COLAS && t.nivel < ColaTareas.NIVELES - 1) {
+                    t.nivel++;
+                }
+            }
+            cola.agregar(t);
+            TareaPlanificada siguiente = cola.extraer();
+            if (siguiente == t) {
+                // Nadie más (o nadie mejor) esperaba: sigue con un quantum nuevo
+                t.inicioTurno = ahora;
+                return;
+            }
+            asignar(siguiente, ahora);
+        } finally {
+            cerrojo.unlock();
+        }
+        t.turno.acquireUninterruptibly();
+    }
+
+    // =========================================================================
+    // DESPACHO
+    // =========================================================================
+
+    /** Mientras haya CPUs libres y tareas en cola, despacha. Con el cerrojo tomado. */
+    private void despacharLibres(long ahora) {
+        while (libres > 0 && cola.tamano() > 0) {
+            libres--;
+            asignar(cola.extraer(), ahora);
+        }
+    }
+
+    /** Le da una CPU a t: arranca su hilo o lo despierta. Con el cerrojo tomado. */
+    private void asignar(TareaPlanificada t, long ahora) {
+        despachos++;
+        t.inicioTurno = ahora;
+        if (t.hilo != null) {
+            t.turno.release();
+            return;
+        }
+        t.primerDespacho = ahora;
+        estadistica(t.inquilino).primerDespacho(ahora - t.envio);
+        t.hilo = fabrica.newThread(() -> correr(t));
+        despachadas.add(t);
+        t.hilo.start();
+    }
+
+    private void correr(TareaPlanificada t) {
+        ACTUAL.set(t);
+        try {
+            t.accion.run();
+        } finally {
+            ACTUAL.remove();
+            terminar(t);
+        }
+    }
+
+    private void terminar(TareaPlanificada t) {
+        cerrojo.lock();
+        try {
+            long ahora = System.nanoTime();
+            t.nanosCpu += ahora - t.inicioTurno;
+            estadistica(t.inquilino).fin(ahora - t.envio, t.nanosCpu);
+            ultimoFin = ahora;
+            despachadas.remove(t);
+            pendientes--;
+            libres++;
+            despacharLibres(ahora);
+            if (pendientes == 0) {
+                terminado.signalAll();
+            }
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+
+    private EstadisticaInquilino estadistica(String inquilino) {
+        EstadisticaInquilino e = estadisticas.get(inquilino);
+        if (e == null) {
+            e = new EstadisticaInquilino(inquilino);
+            estadisticas.put(inquilino, e);
+        }
+        return e;
+    }
+
+    // =========================================================================
+    // CICLO DE VIDA
+    // =========================================================================
+
+    @Override
+    public void shutdown() {
+        cerrojo.lock();
+        try {
+            cerrado = true;
+            if (pendientes == 0) {
+                terminado.signalAll();
+            }
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+
+    /**
+     * Cierra el ejecutor, descarta las tareas que nunca empezaron y
+     * interrumpe a las que ya tienen hilo. Las que esperaban en un punto de
+     * control siguen en la cola hasta terminar: su hilo ya está a mitad de
+     * camino.
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+        cerrojo.lock();
+        try {
+            cerrado = true;
+            List<Runnable> nuncaCorrieron = new ArrayList<>();
+            for (TareaPlanificada t : cola.vaciar()) {
+                if (t.hilo == null) {
+                    nuncaCorrieron.add(t.accion);
+                    pendientes--;
+                } else {
+                    cola.agregar(t);
+                }
+            }
+            for (TareaPlanificada t : despachadas) {
+                t.hilo.interrupt();
+            }
+            if (pendientes == 0) {
+                terminado.signalAll();
+            }
+            return nuncaCorrieron;
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+
+    @Override
+    public boolean isShutdown() {
+        cerrojo.lock();
+        try {
+            return cerrado;
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+
+    @Override
+    public boolean isTerminated() {
+        cerrojo.lock();
+        try {
+            return cerrado && pendientes == 0;
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+
+    @Override
+    public boolean awaitTermination(long tiempo, TimeUnit unidad) throws InterruptedException {
+        long nanos = unidad.toNanos(tiempo);
+        cerrojo.lock();
+        try {
+            while (!(cerrado && pendientes == 0)) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = terminado.awaitNanos(nanos);
+            }
+            return true;
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+
+    // =========================================================================
+    // RESULTADOS
+    // =========================================================================
+
+    public int getNumCpus() {
+        return numCpus;
+    }
+
+    public PoliticaTareas getPolitica() {
+        return politica;
+    }
+
+    /** @return Veces que se le dio una CPU a una tarea (incluye redespachos). */
+    public long getDespachos() {
+        cerrojo.lock();
+        try {
+            return despachos;
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+
+    /** @return Estadísticas por inquilino, en orden alfabético. */
+    public Map<String, EstadisticaInquilino> getEstadisticas() {
+        cerrojo.lock();
+        try {
+            return Collections.unmodifiableMap(new TreeMap<>(estadisticas));
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+
+    /** @return Nanosegundos entre el primer envío y el último fin. */
+    public long nanosTranscurridos() {
+        cerrojo.lock();
+        try {
+            return inicio < 0 ? 0 : Math.max(0, ultimoFin - inicio);
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+
+    /**
+     * Arma el informe por inquilino (tiempos en microsegundos).
+     *
+     * @return Texto de varias líneas, sin salto final.
+     */
+    public String formatearResumen() {
+        cerrojo.lock();
+        try {
+            double segundos = Math.max(1, ultimoFin - inicio) / 1e9;
+            StringBuilder r = new StringBuilder();
+            r.append("=======================================================\n");
+            r.append(String.format("      EJECUTOR (%d CPUs, %s, quantum %d us)%n",
+                    numCpus, politica, quantumNanos / 1000));
+            r.append("=======================================================\n");
+            r.append(String.format("%-10s %8s %9s %9s %9s %9s %8s%n",
+                    "Inquilino", "Tareas", "Tareas/s", "Lat p50", "Lat p99", "Resp p99", "CPU %"));
+            for (EstadisticaInquilino e : estadisticas.values()) {
+                r.append(String.format("%-10s %8d %9.1f %9d %9d %9d %7.1f%%%n",
+                        e.getInquilino(), e.getTerminadas(), e.getTerminadas() / segundos,
+                        e.getLatencia().percentil(50), e.getLatencia().percentil(99),
+                        e.getRespuesta().percentil(99),
+                        100.0 * e.getNanosCpu() / (segundos * 1e9 * numCpus)));
+            }
+            r.append("-------------------------------------------------------\n");
+            r.append(String.format("Tiempo total                   : %.1f ms%n", segundos * 1000));
+            r.append("Despachos                      : ").append(despachos).append('\n');
+            r.append("=======================================================");
+            return r.toString();
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+}
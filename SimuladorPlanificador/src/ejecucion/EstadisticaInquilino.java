@@ -0,0 +1,78 @@
+package ejecucion;
+
+import clases.HistogramaTiempos;
+
+/**
+ * Lo medido para un inquilino en EjecutorPlanificado. Los tiempos van en
+ * microsegundos de reloj real:
+ * <ul>
+ * <li>Latencia: fin - envío de cada tarea terminada.</li>
+ * <li>Respuesta: primer despacho - envío.</li>
+ * </ul>
+ * Se actualiza con el cerrojo del ejecutor tomado; conviene leerla cuando el
+ * ejecutor ya terminó (awaitTermination).
+ */
+public class EstadisticaInquilino {
+
+    private final String inquilino;
+    private final HistogramaTiempos latencia = new HistogramaTiempos();
+    private final HistogramaTiempos respuesta = new HistogramaTiempos();
+    private long enviadas;
+    private long nanosCpu;
+    private long expropiaciones;
+
+    EstadisticaInquilino(String inquilino) {
+        this.inquilino = inquilino;
+    }
+
+    void envio() {
+        enviadas++;
+    }
+
+    void primerDespacho(long nanosEspera) {
+        respuesta.registrar(micros(nanosEspera));
+    }
+
+    void expropiacion() {
+        expropiaciones++;
+    }
+
+    void fin(long nanosLatencia, long nanosCpuTarea) {
+        latencia.registrar(micros(nanosLatencia));
+        nanosCpu += nanosCpuTarea;
+    }
+
+    private static int micros(long nanos) {
+        return (int) Math.min(Integer.MAX_VALUE, nanos / 1000);
+    }
+
+    public String getInquilino() {
+        return inquilino;
+    }
+
+    public HistogramaTiempos getLatencia() {
+        return latencia;
+    }
+
+    public HistogramaTiempos getRespuesta() {
+        return respuesta;
+    }
+
+    public long getEnviadas() {
+        return enviadas;
+    }
+
+    public long getTerminadas() {
+        return latencia.getCantidad();
+    }
+
+    /** @return Nanosegundos que sus tareas tuvieron una CPU asignada. */
+    public long getNanosCpu() {
+        return nanosCpu;
+    }
+
+    /** @return Veces que una de sus tareas cedió la CPU por agotar el quantum. */
+    public long getExpropiaciones() {
+        return expropiaciones;
+    }
+}
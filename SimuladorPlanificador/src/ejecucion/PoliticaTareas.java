@@ -0,0 +1,27 @@
+package ejecucion;
+
+/**
+ * Cómo elige EjecutorPlanificado a la siguiente tarea que recibe una CPU. Son
+ * las mismas ideas que los algoritmos simulados, aplicadas a tareas reales.
+ */
+public enum PoliticaTareas {
+
+    /** FIFO; al agotar el quantum la tarea vuelve al final. */
+    ROUND_ROBIN,
+
+    /** Mayor prioridad primero; a igual prioridad, la que llegó antes. */
+    PRIORIDADES,
+
+    /** Sorteo proporcional a los boletos de cada tarea. */
+    LOTERIA,
+
+    /** Turnos rotativos entre inquilinos (usuarios); FIFO dentro de cada uno. */
+    PARTICIPACION_EQUITATIVA,
+
+    /**
+     * Colas multinivel con retroalimentación: toda tarea empieza en el nivel
+     * 0, baja un nivel cada vez que agota su quantum y en el nivel n el
+     * quantum es quantum x 2^n.
+     */
+    MULTIPLES_COLAS
+}
@@ -0,0 +1,49 @@
+package ejecucion;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Una tarea enviada a EjecutorPlanificado: el Runnable, los datos que usa la
+ * política (inquilino, prioridad, boletos, nivel) y las marcas de tiempo para
+ * las métricas. Es el equivalente real de un Proceso del simulador.
+ * <p>
+ * Cada tarea corre en su propio hilo, pero sólo avanza mientras tiene una CPU:
+ * el hilo espera en 'turno' hasta que el ejecutor se la asigna.
+ * </p>
+ */
+final class TareaPlanificada {
+
+    final EjecutorPlanificado ejecutor;
+    final Runnable accion;
+    final String inquilino;
+    final int prioridad;
+    final int boletos;
+
+    /** Orden de llegada a la cola, para desempatar (FIFO). */
+    long secuencia;
+
+    /** Nivel actual en MULTIPLES_COLAS. */
+    int nivel;
+
+    /** Hilo que la corre (null hasta el primer despacho). */
+    Thread hilo;
+
+    /** Se libera una vez por cada despacho después del primero. */
+    final Semaphore turno = new Semaphore(0);
+
+    // --- Marcas de tiempo (System.nanoTime) ---
+    final long envio;
+    long primerDespacho = -1;
+    long inicioTurno;
+    long nanosCpu;
+
+    TareaPlanificada(EjecutorPlanificado ejecutor, Runnable accion, String inquilino, int prioridad,
+            int boletos, long envio) {
+        this.ejecutor = ejecutor;
+        this.accion = accion;
+        this.inquilino = inquilino;
+        this.prioridad = prioridad;
+        this.boletos = boletos;
+        this.envio = envio;
+    }
+}
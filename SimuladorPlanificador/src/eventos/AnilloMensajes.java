@@ -0,0 +1,88 @@
+package eventos;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Búfer circular acotado de líneas de texto, sin bloqueos, para un solo
+ * productor (el hilo de la simulación) y un solo consumidor (el hilo que
+ * imprime).
+ * <p>
+ * Cada lado avanza su propio contador con escritura "release" y lee el del
+ * otro con lectura "acquire": el productor escribe la casilla antes de
+ * publicar la nueva cola, así que el consumidor nunca ve una casilla a medio
+ * llenar. La capacidad se redondea a potencia de dos para ubicar la casilla
+ * con una máscara.
+ * </p>
+ */
+public final class AnilloMensajes {
+
+    private final String[] casillas;
+    private final int mascara;
+
+    /** Próxima posición a leer (sólo la avanza el consumidor). */
+    private final AtomicLong cabeza = new AtomicLong();
+
+    /** Próxima posición a escribir (sólo la avanza el productor). */
+    private final AtomicLong cola = new AtomicLong();
+
+    /**
+     * @param capacidad Líneas que caben como mínimo (se redondea a potencia de
+     *                  dos).
+     */
+    public AnilloMensajes(int capacidad) {
+        if (capacidad < 1 || capacidad > (1 << 30)) {
+            throw new IllegalArgumentException("Capacidad fuera de rango: " + capacidad);
+        }
+        int tamano = Integer.highestOneBit(capacidad);
+        if (tamano < capacidad) {
+            tamano <<= 1;
+        }
+        this.casillas = new String[tamano];
+        this.mascara = tamano - 1;
+    }
+
+    /**
+     * Agrega una línea al final (sólo el productor).
+     *
+     * @param linea Texto ya formateado.
+     * @return false si el búfer está lleno (no se agrega).
+     */
+    public boolean ofrecer(String linea) {
+        long c = cola.get();
+        if (c - cabeza.getAcquire() == casillas.length) {
+            return false;
+        }
+        casillas[(int) c & mascara] = linea;
+        cola.setRelease(c + 1);
+        return true;
+    }
+
+    /**
+     * Saca hasta 'maximo' líneas y las agrega a destino, cada una seguida de
+     * un salto de línea (sólo el consumidor).
+     *
+     * @param destino Donde se acumula el lote.
+     * @param maximo  Líneas máximas a sacar.
+     * @return Líneas sacadas.
+     */
+    public int drenar(StringBuilder destino, int maximo) {
+        long h = cabeza.get();
+        int n = (int) Math.min(maximo, cola.getAcquire() - h);
+        for (int i = 0; i < n; i++) {
+            int casilla = (int) (h + i) & mascara;
+            destino.append(casillas[casilla]).append(System.lineSeparator());
+            casillas[casilla] = null;
+        }
+        cabeza.setRelease(h + n);
+        return n;
+    }
+
+    /** @return Líneas en espera (aproximado si se consulta desde otro hilo). */
+    public int tamano() {
+        return (int) (cola.getAcquire() - cabeza.getAcquire());
+    }
+
+    public int capacidad() {
+        return casillas.length;
+    }
+}
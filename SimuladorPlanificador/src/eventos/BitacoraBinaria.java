@@ -0,0 +1,172 @@
+package eventos;
+
+import clases.PCB;
+import clases.Proceso;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Receptor que graba cada decisión de planificación en un archivo binario
+ * compacto, para reconstruir diagramas de Gantt o analizar la corrida después
+ * (ver LectorBitacora).
+ * <p>
+ * Formato (little-endian):
+ * </p>
+ * <ul>
+ * <li>Encabezado de ENCABEZADO bytes: "SPLB" (int MAGIA), versión (short),
+ * tamaño de registro (short) y cantidad de registros (long, se escribe al
+ * cerrar).</li>
+ * <li>Registros de REGISTRO bytes: tick (int), ID del proceso como se
+ * muestra (Proceso.getEtiqueta; int, -1 si no hay) y tipo de evento (int,
+ * ordinal de TipoEvento).</li>
+ * </ul>
+ * <p>
+ * Escribe sobre ventanas mapeadas en memoria del FileChannel (MappedByteBuffer)
+ * que se van mapeando a medida que el archivo crece, así que emitir un evento
+ * son tres putInt sin crear objetos ni hacer llamadas al sistema. Por defecto
+ * sólo registra despachos, expropiaciones, bloqueos, desbloqueos, fines y
+ * muertes; EJECUCION e INACTIVO se pueden pedir aparte. Opcionalmente reenvía
+ * todos los eventos a otro receptor (ej. un ContadorEventos). No es seguro
+ * entre hilos: cada corrida usa su propia bitácora.
+ * </p>
+ */
+public class BitacoraBinaria implements ReceptorEventos, Closeable {
+
+    /** "SPLB" en ASCII. */
+    public static final int MAGIA = 0x53504C42;
+    public static final short VERSION = 1;
+    public static final int ENCABEZADO = 16;
+    public static final int REGISTRO = 12;
+
+    /** Eventos que se registran si no se indica otra cosa. */
+    public static final Set<TipoEvento> DECISIONES = EnumSet.of(TipoEvento.DESPACHO,
+            TipoEvento.EXPROPIACION, TipoEvento.BLOQUEO, TipoEvento.DESBLOQUEO,
+            TipoEvento.FIN, TipoEvento.MUERTE);
+
+    /** Registros por ventana mapeada (48 MB por ventana). */
+    private static final long REGISTROS_POR_VENTANA = 1L << 22;
+
+    private final FileChannel canal;
+    private final boolean[] registrar = new boolean[TipoEvento.values().length];
+    private final ReceptorEventos reenvio;
+
+    private MappedByteBuffer ventana;
+    private long inicioVentana;
+    private long registros;
+    private boolean cerrada;
+
+    /**
+     * Crea (o reemplaza) una bitácora con los eventos de DECISIONES.
+     *
+     * @param archivo Ruta del archivo a escribir.
+     * @throws IOException Si no se puede crear.
+     */
+    public BitacoraBinaria(Path archivo) throws IOException {
+        this(archivo, DECISIONES, ReceptorNulo.INSTANCIA);
+    }
+
+    /**
+     * @param archivo Ruta del archivo a escribir (se reemplaza si existe).
+     * @param tipos   Tipos de evento a registrar.
+     * @param reenvio Receptor al que también se pasan todos los eventos.
+     * @throws IOException Si no se puede crear.
+     */
+    public BitacoraBinaria(Path archivo, Set<TipoEvento> tipos, ReceptorEventos reenvio) throws IOException {
+        this.canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        for (TipoEvento tipo : tipos) {
+            registrar[tipo.ordinal()] = true;
+        }
+        this.reenvio = reenvio;
+        escribirEncabezado();
+        mapear(ENCABEZADO);
+    }
+
+    @Override
+    public void emitir(TipoEvento tipo, int tick, Proceso proceso) {
+        reenvio.emitir(tipo, tick, proceso);
+        if (!registrar[tipo.ordinal()]) {
+            return;
+        }
+        if (!ventana.hasRemaining()) {
+            mapear(inicioVentana + ventana.capacity());
+        }
+        ventana.putInt(tick);
+        ventana.putInt(proceso == null ? -1 : proceso.getEtiqueta());
+        ventana.putInt(tipo.ordinal());
+        registros++;
+    }
+
+    @Override
+    public void mensaje(String texto) {
+        reenvio.mensaje(texto);
+    }
+
+    @Override
+    public void tabla(PCB pcb) {
+        reenvio.tabla(pcb);
+    }
+
+    @Override
+    public void pausa() {
+        reenvio.pausa();
+    }
+
+    /** @return Registros escritos hasta ahora. */
+    public long getRegistros() {
+        return registros;
+    }
+
+    /**
+     * Anota la cantidad de registros en el encabezado, baja los datos a disco y
+     * recorta el archivo a su tamaño real.
+     */
+    @Override
+    public void close() throws IOException {
+        if (cerrada) {
+            return;
+        }
+        cerrada = true;
+        try {
+            ventana.force();
+            ByteBuffer cantidad = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            cantidad.putLong(registros).flip();
+            canal.write(cantidad, 8);
+            ventana = null;
+            try {
+                canal.truncate(ENCABEZADO + registros * REGISTRO);
+            } catch (IOException e) {
+                // Algunos sistemas no dejan recortar un archivo aún mapeado; el
+                // lector se guía por la cantidad del encabezado
+            }
+        } finally {
+            canal.close();
+        }
+    }
+
+    private void escribirEncabezado() throws IOException {
+        ByteBuffer encabezado = ByteBuffer.allocate(ENCABEZADO).order(ByteOrder.LITTLE_ENDIAN);
+        encabezado.putInt(MAGIA).putShort(VERSION).putShort((short) REGISTRO).putLong(0).flip();
+        canal.write(encabezado, 0);
+    }
+
+    /** Mapea la ventana que empieza en la posición dada (el archivo crece solo). */
+    private void mapear(long posicion) {
+        try {
+            ventana = canal.map(FileChannel.MapMode.READ_WRITE, posicion, REGISTROS_POR_VENTANA * REGISTRO);
+            ventana.order(ByteOrder.LITTLE_ENDIAN);
+            inicioVentana = posicion;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo ampliar la bitácora", e);
+        }
+    }
+}
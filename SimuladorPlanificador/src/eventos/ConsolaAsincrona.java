@@ -0,0 +1,142 @@
+package eventos;
+
+import java.io.Closeable;
+import java.io.PrintStream;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Consola interactiva que no frena la simulación esperando a la terminal.
+ * <p>
+ * Formatea cada evento igual que ConsolaEventos, pero en lugar de imprimirlo
+ * lo deja en un AnilloMensajes; un hilo aparte lo vacía por lotes de hasta
+ * LOTE líneas con un solo print. Si el búfer se llena, la PoliticaDesborde
+ * decide si la simulación espera, descarta o muestrea (las líneas perdidas se
+ * informan en la salida). Hay que cerrarla al terminar la corrida para que
+ * imprima lo pendiente antes del reporte final.
+ * </p>
+ */
+public class ConsolaAsincrona extends ConsolaEventos implements Closeable {
+
+    public static final int CAPACIDAD_POR_DEFECTO = 1 << 14;
+
+    /** Con MUESTREAR y el búfer a más de la mitad, se encola 1 de cada FACTOR_MUESTREO líneas. */
+    public static final int FACTOR_MUESTREO = 8;
+
+    /** Líneas máximas por cada print del hilo impresor. */
+    private static final int LOTE = 1024;
+
+    /** Espera del hilo impresor cuando no hay nada que imprimir. */
+    private static final long ESPERA_NS = 1_000_000;
+
+    private final AnilloMensajes anillo;
+    private final PoliticaDesborde politica;
+    private final PrintStream salida;
+    private final Thread impresor;
+
+    private volatile boolean cerrando;
+
+    /** Líneas perdidas (sólo lo escribe el hilo de la simulación). */
+    private volatile long descartados;
+
+    /** Líneas vistas mientras se muestrea. */
+    private long vistasMuestreo;
+
+    /**
+     * Consola asíncrona sobre System.out.
+     *
+     * @param pausaMs   Duración de las pausas entre pasos en milisegundos.
+     * @param capacidad Líneas que caben en el búfer.
+     * @param politica  Qué hacer cuando el búfer se llena.
+     */
+    public ConsolaAsincrona(long pausaMs, int capacidad, PoliticaDesborde politica) {
+        this(pausaMs, capacidad, politica, System.out);
+    }
+
+    /**
+     * @param pausaMs   Duración de las pausas entre pasos en milisegundos.
+     * @param capacidad Líneas que caben en el búfer.
+     * @param politica  Qué hacer cuando el búfer se llena.
+     * @param salida    Destino del texto.
+     */
+    public ConsolaAsincrona(long pausaMs, int capacidad, PoliticaDesborde politica, PrintStream salida) {
+        super(pausaMs);
+        this.anillo = new AnilloMensajes(capacidad);
+        this.politica = politica;
+        this.salida = salida;
+        this.impresor = new Thread(this::imprimir, "consola-asincrona");
+        impresor.setDaemon(true);
+        impresor.start();
+    }
+
+    @Override
+    protected void escribir(String linea) {
+        switch (politica) {
+            case BLOQUEAR:
+                while (!anillo.ofrecer(linea)) {
+                    LockSupport.unpark(impresor);
+                    LockSupport.parkNanos(ESPERA_NS / 10);
+                }
+                break;
+            case DESCARTAR:
+                if (!anillo.ofrecer(linea)) {
+                    descartados++;
+                }
+                break;
+            default:
+                if (anillo.tamano() > anillo.capacidad() / 2 && vistasMuestreo++ % FACTOR_MUESTREO != 0) {
+                    descartados++;
+                } else if (!anillo.ofrecer(linea)) {
+                    descartados++;
+                }
+                break;
+        }
+    }
+
+    /** @return Líneas que no se imprimieron por la política de desborde. */
+    public long getDescartados() {
+        return descartados;
+    }
+
+    /**
+     * Imprime todo lo pendiente y detiene el hilo impresor.
+     */
+    @Override
+    public void close() {
+        if (cerrando) {
+            return;
+        }
+        cerrando = true;
+        LockSupport.unpark(impresor);
+        try {
+            impresor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Cuerpo del hilo impresor. */
+    private void imprimir() {
+        StringBuilder lote = new StringBuilder(1 << 16);
+        long informados = 0;
+        while (true) {
+            // Se lee antes de drenar: lo encolado antes de close() sale igual
+            boolean fin = cerrando;
+            anillo.drenar(lote, LOTE);
+            long perdidos = descartados;
+            if (perdidos != informados) {
+                lote.append("... [").append(perdidos - informados).append(" lineas descartadas]")
+                        .append(System.lineSeparator());
+                informados = perdidos;
+            }
+            if (lote.length() > 0) {
+                salida.print(lote);
+                salida.flush();
+                lote.setLength(0);
+            } else if (fin) {
+                return;
+            } else {
+                LockSupport.parkNanos(ESPERA_NS);
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package eventos;
+
+import clases.PCB;
+import clases.Proceso;
+import clases.RenderizadorTabla;
+
+/**
+ * Receptor interactivo: traduce cada evento a una línea legible en la consola,
+ * redibuja la tabla del PCB cuando el algoritmo lo pide y hace las pausas
+ * para poder seguir la simulación a ojo.
+ * <p>
+ * Todo el texto sale por escribir(), que imprime en el mismo hilo de la
+ * simulación (ver ConsolaAsincrona para no esperar a la terminal). La tabla
+ * la arma un RenderizadorTabla: por defecto completa en cada pedido (salvo que
+ * nada haya cambiado); con setRenderizador() se puede paginar y limitar a
+ * unos cuadros por segundo.
+ * </p>
+ */
+public class ConsolaEventos implements ReceptorEventos {
+
+    /** Milisegundos que dura cada pausa (0 = sin pausas). */
+    private final long pausaMs;
+
+    private RenderizadorTabla renderizador = new RenderizadorTabla();
+
+    /** Tick del último evento, para el resumen de la tabla. */
+    private int ultimoTick = -1;
+
+    /**
+     * Crea un receptor de consola.
+     *
+     * @param pausaMs Duración de las pausas entre pasos en milisegundos.
+     */
+    public ConsolaEventos(long pausaMs) {
+        this.pausaMs = pausaMs;
+    }
+
+    @Override
+    public void emitir(TipoEvento tipo, int tick, Proceso p) {
+        ultimoTick = tick;
+        switch (tipo) {
+            case DESPACHO:
+                escribir("[t=" + tick + "] -> [DESPACHO] P" + p.getEtiqueta()
+                        + " entra a CPU (Restante=" + p.getTiempoRestante()
+                        + ", Prio=" + p.getPrioridad()
+                        + ", Boletos=" + p.getBoletos()
+                        + ", " + p.getUsuario() + ")");
+                break;
+            case EJECUCION:
+                escribir("[t=" + tick + "] -> [EJECUTANDO] P" + p.getEtiqueta()
+                        + " | Restante=" + p.getTiempoRestante()
+                        + " | TiempoUsoCPU=" + p.getTiempoUsoCPU());
+                break;
+            case EXPROPIACION:
+                escribir("[t=" + tick + "] -> [EXPROPIADO] P" + p.getEtiqueta()
+                        + " regresa a la cola de LISTOS (le quedan " + p.getTiempoRestante() + ").");
+                break;
+            case BLOQUEO:
+                escribir("[t=" + tick + "] -> [I/O] P" + p.getEtiqueta() + " pidió I/O y se bloqueó.");
+                break;
+            case DESBLOQUEO:
+                escribir("[t=" + tick + "]  [I/O] P" + p.getEtiqueta()
+                        + " fue desbloqueado, vuelve a la cola de listos.");
+                break;
+            case FIN:
+                escribir("[t=" + tick + "] -> [FIN] P" + p.getEtiqueta() + " terminó.");
+                break;
+            case MUERTE:
+                escribir("[t=" + tick + "]  [INANICION] P" + p.getEtiqueta()
+                        + " no se pudo desbloquear en 3 intentos. El proceso muere.");
+                break;
+            case INACTIVO:
+                escribir("[t=" + tick + "] -> [IDLE] No hay procesos listos.");
+                break;
+            default:
+                escribir("[t=" + tick + "] " + tipo + (p != null ? " P" + p.getEtiqueta() : ""));
+        }
+    }
+
+    @Override
+    public void mensaje(String texto) {
+        escribir(texto);
+    }
+
+    @Override
+    public void tabla(PCB pcb) {
+        CharSequence cuadro = renderizador.armar(pcb, ultimoTick);
+        if (cuadro != null) {
+            escribir(cuadro.toString());
+        }
+    }
+
+    /**
+     * Cambia cómo se dibuja la tabla (debe ser sin ANSI: las líneas de
+     * eventos se intercalan con los cuadros).
+     *
+     * @param renderizador Renderizador de la tabla del PCB.
+     */
+    public void setRenderizador(RenderizadorTabla renderizador) {
+        this.renderizador = renderizador;
+    }
+
+    /**
+     * Salida de cada línea ya formateada. Aquí se imprime directo en la
+     * consola; ConsolaAsincrona la redirige a un búfer que vacía otro hilo.
+     *
+     * @param linea Texto a mostrar (puede tener varias líneas).
+     */
+    protected void escribir(String linea) {
+        System.out.println(linea);
+    }
+
+    /**
+     * El try-catch es necesario porque Thread.sleep puede lanzar
+     * InterruptedException.
+     */
+    @Override
+    public void pausa() {
+        if (pausaMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(pausaMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package eventos;
+
+import clases.Proceso;
+import java.util.Arrays;
+
+/**
+ * Receptor que sólo cuenta eventos por tipo, sin imprimir ni pausar.
+ * Sirve para medir corridas sin consola (benchmarks, lotes): por ejemplo,
+ * cuántas decisiones de despacho tomó un algoritmo.
+ */
+public final class ContadorEventos implements ReceptorEventos {
+
+    private final long[] conteos = new long[TipoEvento.values().length];
+
+    @Override
+    public void emitir(TipoEvento tipo, int tick, Proceso proceso) {
+        conteos[tipo.ordinal()]++;
+    }
+
+    /**
+     * @param tipo Tipo de evento a consultar.
+     * @return Cuántas veces se emitió.
+     */
+    public long conteo(TipoEvento tipo) {
+        return conteos[tipo.ordinal()];
+    }
+
+    /** @return Total de eventos emitidos de cualquier tipo. */
+    public long total() {
+        long total = 0;
+        for (long c : conteos) {
+            total += c;
+        }
+        return total;
+    }
+
+    /** Pone todos los contadores en cero. */
+    public void reiniciar() {
+        Arrays.fill(conteos, 0);
+    }
+}
@@ -0,0 +1,112 @@
+package eventos;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Recorre en orden los registros de una bitácora escrita por BitacoraBinaria.
+ * <p>
+ * Mapea el archivo por ventanas de sólo lectura y deja cada registro en los
+ * campos del lector (siguiente() no crea objetos), así que sirve para
+ * bitácoras de cientos de millones de eventos: diagramas de Gantt, conteos,
+ * análisis fuera de línea.
+ * </p>
+ */
+public class LectorBitacora implements Closeable {
+
+    private static final TipoEvento[] TIPOS = TipoEvento.values();
+
+    /** Registros por ventana mapeada. */
+    private static final long REGISTROS_POR_VENTANA = 1L << 22;
+
+    private final FileChannel canal;
+    private final long registros;
+
+    private MappedByteBuffer ventana;
+    private long leidos;
+
+    // --- Registro actual ---
+    private int tick;
+    private int idProceso;
+    private TipoEvento tipo;
+
+    /**
+     * Abre una bitácora y valida su encabezado.
+     *
+     * @param archivo Ruta de la bitácora.
+     * @throws IOException Si no se puede leer o no es una bitácora válida.
+     */
+    public LectorBitacora(Path archivo) throws IOException {
+        this.canal = FileChannel.open(archivo, StandardOpenOption.READ);
+        ByteBuffer encabezado = ByteBuffer.allocate(BitacoraBinaria.ENCABEZADO).order(ByteOrder.LITTLE_ENDIAN);
+        canal.read(encabezado, 0);
+        encabezado.flip();
+        if (encabezado.remaining() < BitacoraBinaria.ENCABEZADO || encabezado.getInt() != BitacoraBinaria.MAGIA) {
+            canal.close();
+            throw new IOException("No es una bitácora de planificación: " + archivo);
+        }
+        short version = encabezado.getShort();
+        short tamano = encabezado.getShort();
+        if (version != BitacoraBinaria.VERSION || tamano != BitacoraBinaria.REGISTRO) {
+            canal.close();
+            throw new IOException("Versión de bitácora no soportada: " + version);
+        }
+        long anotados = encabezado.getLong();
+        long enArchivo = (canal.size() - BitacoraBinaria.ENCABEZADO) / BitacoraBinaria.REGISTRO;
+        this.registros = Math.min(anotados, enArchivo);
+    }
+
+    /** @return Cantidad de registros de la bitácora. */
+    public long getRegistros() {
+        return registros;
+    }
+
+    /**
+     * Avanza al siguiente registro.
+     *
+     * @return false si ya no quedan.
+     * @throws IOException Si falla el mapeo.
+     */
+    public boolean siguiente() throws IOException {
+        if (leidos == registros) {
+            return false;
+        }
+        if (ventana == null || !ventana.hasRemaining()) {
+            long cantidad = Math.min(REGISTROS_POR_VENTANA, registros - leidos);
+            ventana = canal.map(FileChannel.MapMode.READ_ONLY,
+                    BitacoraBinaria.ENCABEZADO + leidos * BitacoraBinaria.REGISTRO,
+                    cantidad * BitacoraBinaria.REGISTRO);
+            ventana.order(ByteOrder.LITTLE_ENDIAN);
+        }
+        tick = ventana.getInt();
+        idProceso = ventana.getInt();
+        tipo = TIPOS[ventana.getInt()];
+        leidos++;
+        return true;
+    }
+
+    public int getTick() {
+        return tick;
+    }
+
+    /** @return ID del proceso, o -1 si el evento no tiene proceso. */
+    public int getIdProceso() {
+        return idProceso;
+    }
+
+    public TipoEvento getTipo() {
+        return tipo;
+    }
+
+    @Override
+    public void close() throws IOException {
+        ventana = null;
+        canal.close();
+    }
+}
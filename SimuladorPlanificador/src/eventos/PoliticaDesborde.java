@@ -0,0 +1,20 @@
+package eventos;
+
+/**
+ * Qué hace ConsolaAsincrona cuando la simulación produce líneas más rápido de
+ * lo que la terminal las imprime y el búfer se llena.
+ */
+public enum PoliticaDesborde {
+
+    /** La simulación espera a que se libere lugar: no se pierde nada. */
+    BLOQUEAR,
+
+    /** Las líneas que no caben se descartan (se informa cuántas). */
+    DESCARTAR,
+
+    /**
+     * Con el búfer a más de la mitad sólo se encola una de cada
+     * ConsolaAsincrona.FACTOR_MUESTREO líneas; lleno, se descarta.
+     */
+    MUESTREAR
+}
@@ -0,0 +1,47 @@
+package eventos;
+
+import clases.PCB;
+import clases.Proceso;
+
+/**
+ * Destino de los eventos que generan los algoritmos de planificación.
+ * <p>
+ * Cada algoritmo recibe su receptor a través de la Simulacion, de modo que la
+ * misma corrida puede mostrarse en consola (ConsolaEventos) o ejecutarse sin
+ * ninguna salida ni pausas (ReceptorNulo) a la velocidad de la CPU.
+ * </p>
+ */
+public interface ReceptorEventos {
+
+    /**
+     * Notifica un evento de planificación.
+     *
+     * @param tipo    Qué ocurrió.
+     * @param tick    Tiempo de la simulación en el que ocurrió.
+     * @param proceso Proceso involucrado (null en eventos INACTIVO).
+     */
+    void emitir(TipoEvento tipo, int tick, Proceso proceso);
+
+    /**
+     * Texto libre informativo (encabezados, configuración del algoritmo).
+     * Por defecto se descarta.
+     *
+     * @param texto Mensaje a mostrar.
+     */
+    default void mensaje(String texto) {
+    }
+
+    /**
+     * Solicita redibujar la tabla del PCB. Por defecto no hace nada.
+     *
+     * @param pcb Bloque de control con los procesos actuales.
+     */
+    default void tabla(PCB pcb) {
+    }
+
+    /**
+     * Pausa entre pasos para que un humano alcance a leer. Por defecto no espera.
+     */
+    default void pausa() {
+    }
+}
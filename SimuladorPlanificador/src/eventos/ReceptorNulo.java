@@ -0,0 +1,22 @@
+package eventos;
+
+import clases.Proceso;
+
+/**
+ * Receptor que descarta todos los eventos.
+ * Es el que se usa en el modo sin consola (corridas masivas o benchmarks):
+ * sin impresiones, sin tablas y sin pausas.
+ */
+public final class ReceptorNulo implements ReceptorEventos {
+
+    /** Única instancia necesaria, no guarda estado. */
+    public static final ReceptorNulo INSTANCIA = new ReceptorNulo();
+
+    private ReceptorNulo() {
+    }
+
+    @Override
+    public void emitir(TipoEvento tipo, int tick, Proceso proceso) {
+        // Se descarta a propósito.
+    }
+}
@@ -0,0 +1,37 @@
+package eventos;
+
+/**
+ * Catálogo de los eventos estructurados que un algoritmo de planificación
+ * reporta mientras simula.
+ * <p>
+ * Reemplaza a los System.out.println dispersos en cada algoritmo: el algoritmo
+ * sólo dice QUÉ pasó (y a quién), y el receptor configurado decide si lo
+ * imprime, lo guarda o lo ignora por completo (modo sin consola).
+ * </p>
+ */
+public enum TipoEvento {
+
+    /** Un proceso LISTO toma la CPU (cambio de contexto hacia él). */
+    DESPACHO,
+
+    /** El proceso en CPU consumió ráfaga (uno o varios ticks seguidos). */
+    EJECUCION,
+
+    /** El proceso en CPU fue expulsado (quantum agotado) y vuelve a LISTO. */
+    EXPROPIACION,
+
+    /** El proceso pidió I/O y pasó a BLOQUEADO. */
+    BLOQUEO,
+
+    /** El GestorInterrupciones logró regresar al proceso a LISTO. */
+    DESBLOQUEO,
+
+    /** El proceso terminó toda su ráfaga con éxito. */
+    FIN,
+
+    /** El proceso murió por inanición (no pudo desbloquearse). */
+    MUERTE,
+
+    /** No había ningún proceso que despachar en ese instante. */
+    INACTIVO
+}
@@ -0,0 +1,81 @@
+package eventos;
+
+import clases.PCB;
+import clases.Proceso;
+import clases.RenderizadorTabla;
+import java.io.PrintStream;
+
+/**
+ * Receptor para mirar una corrida grande mientras avanza: en lugar de una
+ * línea por evento mantiene en la terminal una tabla del PCB (con ANSI, sólo
+ * se reescriben las filas que cambiaron) y una línea de resumen con el tick y
+ * los conteos por estado.
+ * <p>
+ * El RenderizadorTabla limita los cuadros por segundo, así que la corrida no
+ * espera a la terminal; para no leer el reloj en cada evento sólo se intenta
+ * un cuadro cada CONSULTA eventos y cuando el algoritmo pide la tabla. Los
+ * mensajes de texto se descartan (desarmarían la pantalla). Al terminar hay
+ * que llamar a terminar() para mostrar el estado final.
+ * </p>
+ */
+public class VistaEnVivo implements ReceptorEventos {
+
+    /** Se intenta dibujar una vez cada CONSULTA eventos (potencia de dos). */
+    private static final int CONSULTA = 256;
+
+    private final RenderizadorTabla renderizador;
+    private final PrintStream salida;
+
+    private PCB pcb;
+    private int tick;
+    private int eventos;
+
+    /**
+     * Vista sobre System.out.
+     *
+     * @param cuadrosPorSegundo Máximo de cuadros por segundo.
+     * @param filas             Filas de procesos en pantalla.
+     */
+    public VistaEnVivo(double cuadrosPorSegundo, int filas) {
+        this(new RenderizadorTabla(cuadrosPorSegundo, filas, true), System.out);
+    }
+
+    /**
+     * @param renderizador Renderizador de la tabla (normalmente en modo ANSI).
+     * @param salida       Terminal donde se dibuja.
+     */
+    public VistaEnVivo(RenderizadorTabla renderizador, PrintStream salida) {
+        this.renderizador = renderizador;
+        this.salida = salida;
+    }
+
+    /**
+     * Indica qué PCB mostrar (para algoritmos que nunca piden la tabla).
+     *
+     * @param pcb Bloque de control de la corrida.
+     */
+    public void mirar(PCB pcb) {
+        this.pcb = pcb;
+    }
+
+    @Override
+    public void emitir(TipoEvento tipo, int tick, Proceso proceso) {
+        this.tick = tick;
+        if ((++eventos & (CONSULTA - 1)) == 0 && pcb != null) {
+            renderizador.dibujar(pcb, tick, salida);
+        }
+    }
+
+    @Override
+    public void tabla(PCB pcb) {
+        this.pcb = pcb;
+        renderizador.dibujar(pcb, tick, salida);
+    }
+
+    /** Dibuja el último cuadro sin esperar al intervalo mínimo. */
+    public void terminar() {
+        if (pcb != null) {
+            renderizador.forzar(pcb, tick, salida);
+        }
+    }
+}